@@ -0,0 +1,77 @@
+package com.femcoders.sitme;
+
+import jakarta.servlet.Filter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test for the request threading mode: {@code @Threads} concurrent clients call a public endpoint
+ * while a filter parks each request for {@code latencyMillis}, standing in for JDBC, SMTP or Cloudinary round trips.
+ * With more clients than Tomcat's 200 platform workers, the platform mode queues and its p99 grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(400)
+@Fork(1)
+public class RequestThreadingBenchmark {
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    @Param({"50"})
+    private long latencyMillis;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SitmeApplication.class)
+                .profiles("test")
+                .properties("spring.threads.virtual.enabled=" + virtualThreads)
+                .initializers(applicationContext -> applicationContext.getBeanFactory()
+                        .registerSingleton("simulatedLatency", simulatedLatency(latencyMillis)))
+                .run();
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        LocalDate from = LocalDate.now().plusDays(1);
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                + "/api/spaces/availability?from=" + from + "&to=" + from.plusDays(6))).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int availability() throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static Filter simulatedLatency(long latencyMillis) {
+        return (servletRequest, servletResponse, chain) -> {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            chain.doFilter(servletRequest, servletResponse);
+        };
+    }
+}
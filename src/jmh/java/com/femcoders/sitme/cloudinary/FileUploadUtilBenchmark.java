@@ -0,0 +1,54 @@
+package com.femcoders.sitme.cloudinary;
+
+import com.femcoders.sitme.cloudinary.util.FileUploadUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileUploadUtilBenchmark {
+
+    private MockMultipartFile image;
+    private Path staged;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] content = new byte[64 * 1024];
+        System.arraycopy(new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}, 0, content, 0, 8);
+        image = new MockMultipartFile("file", "meeting-room.png", "image/png", content);
+        staged = Files.createTempFile("benchmark-upload-", ".tmp");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(staged);
+    }
+
+    @Benchmark
+    public void assertAllowed(Blackhole blackhole) {
+        FileUploadUtil.assertAllowed(image, FileUploadUtil.IMAGE_PATTERN);
+        blackhole.consume(image);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void copyImage(Blackhole blackhole) {
+        FileUploadUtil.copyImage(image, staged);
+        blackhole.consume(staged);
+    }
+
+    @Benchmark
+    public String getFileName() {
+        return FileUploadUtil.getFileName("meeting-room");
+    }
+}
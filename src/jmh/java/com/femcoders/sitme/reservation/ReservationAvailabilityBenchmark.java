@@ -0,0 +1,85 @@
+package com.femcoders.sitme.reservation;
+
+import com.femcoders.sitme.reservation.dtos.ReservationRequest;
+import com.femcoders.sitme.reservation.repository.AvailabilityChangeRepository;
+import com.femcoders.sitme.reservation.repository.ReservationRepository;
+import com.femcoders.sitme.reservation.services.OccupancyIndex;
+import com.femcoders.sitme.reservation.services.ReservationMetrics;
+import com.femcoders.sitme.reservation.services.ReservationServiceImpl;
+import com.femcoders.sitme.space.services.AvailabilityStream;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReservationAvailabilityBenchmark {
+
+    private static final int SPACES = 50;
+    private static final LocalDate START = LocalDate.of(2030, 1, 1);
+
+    @Param({"0", "1000", "100000"})
+    private int existingReservations;
+
+    private ReservationServiceImpl reservationService;
+    private ReservationRequest freeSlot;
+    private ReservationRequest takenSlot;
+
+    @Setup
+    public void setUp() {
+        OccupancyIndex occupancyIndex = new OccupancyIndex(Mockito.mock(ReservationRepository.class),
+                Mockito.mock(AvailabilityChangeRepository.class, Mockito.withSettings().stubOnly()),
+                Mockito.mock(AvailabilityStream.class, Mockito.withSettings().stubOnly()));
+
+        TimeSlot[] slots = {TimeSlot.MORNING, TimeSlot.AFTERNOON};
+        for (int i = 0; i < existingReservations; i++) {
+            long spaceId = i % SPACES + 1;
+            LocalDate date = START.plusDays(i / (SPACES * 2));
+            occupancyIndex.occupy(spaceId, date, slots[(i / SPACES) % 2]);
+        }
+
+        reservationService = reservationService(occupancyIndex);
+        freeSlot = new ReservationRequest(START.minusDays(1), TimeSlot.FULL_DAY, 1L);
+        takenSlot = new ReservationRequest(START, TimeSlot.MORNING, 1L);
+    }
+
+    /**
+     * Wires the service in a throwaway context: the index and metrics are real, every other collaborator is a stub,
+     * so the benchmark keeps compiling and running as the constructor gains dependencies.
+     */
+    private static ReservationServiceImpl reservationService(OccupancyIndex occupancyIndex) {
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.registerBean(OccupancyIndex.class, () -> occupancyIndex);
+        context.registerBean(ReservationMetrics.class, () -> new ReservationMetrics(new SimpleMeterRegistry()));
+        for (Class<?> dependency : ReservationServiceImpl.class.getConstructors()[0].getParameterTypes()) {
+            if (dependency != OccupancyIndex.class && dependency != ReservationMetrics.class) {
+                registerStub(context, dependency);
+            }
+        }
+        context.registerBean(ReservationServiceImpl.class);
+        context.refresh();
+        return context.getBean(ReservationServiceImpl.class);
+    }
+
+    private static <T> void registerStub(GenericApplicationContext context, Class<T> type) {
+        context.registerBean(type, () -> Mockito.mock(type, Mockito.withSettings().stubOnly()));
+    }
+
+    @Benchmark
+    public boolean freeSlot() {
+        return reservationService.isReservationAvailable(freeSlot);
+    }
+
+    @Benchmark
+    public boolean takenSlot() {
+        return reservationService.isReservationAvailable(takenSlot);
+    }
+}
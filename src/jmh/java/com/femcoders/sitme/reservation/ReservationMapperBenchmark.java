@@ -0,0 +1,41 @@
+package com.femcoders.sitme.reservation;
+
+import com.femcoders.sitme.reservation.dtos.ReservationMapper;
+import com.femcoders.sitme.reservation.dtos.ReservationResponse;
+import com.femcoders.sitme.space.Space;
+import com.femcoders.sitme.space.SpaceType;
+import com.femcoders.sitme.user.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReservationMapperBenchmark {
+
+    private Reservation reservation;
+
+    @Setup
+    public void setUp() {
+        reservation = Reservation.builder()
+                .id(1L)
+                .reservationDate(LocalDate.of(2030, 1, 1))
+                .timeSlot(TimeSlot.MORNING)
+                .status(Status.ACTIVE)
+                .createdAt(LocalDateTime.now())
+                .user(User.builder().id(100L).username("Ana").build())
+                .space(Space.builder().id(10L).name("R-001").type(SpaceType.ROOM).build())
+                .build();
+    }
+
+    @Benchmark
+    public ReservationResponse entityToDto() {
+        return ReservationMapper.entityToDto(reservation);
+    }
+}
@@ -0,0 +1,46 @@
+package com.femcoders.sitme.security;
+
+import com.femcoders.sitme.security.jwt.JwtService;
+import com.femcoders.sitme.security.userdetails.CustomUserDetails;
+import com.femcoders.sitme.user.Role;
+import com.femcoders.sitme.user.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET_KEY = "12345678901234567890123456789012345678901234567890123456789";
+
+    private JwtService jwtService;
+    private CustomUserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSecretKey", SECRET_KEY);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 1_800_000L);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+
+        userDetails = new CustomUserDetails(User.builder().id(100L).username("Ana").role(Role.USER).build());
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String extractUserId() {
+        return jwtService.extractUserId(token);
+    }
+}
@@ -0,0 +1,34 @@
+package com.femcoders.sitme.space;
+
+import com.femcoders.sitme.space.dto.SpaceMapper;
+import com.femcoders.sitme.space.dto.SpaceResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpaceMapperBenchmark {
+
+    private Space space;
+
+    @Setup
+    public void setUp() {
+        space = Space.builder()
+                .id(10L)
+                .name("R-001")
+                .capacity(6)
+                .type(SpaceType.ROOM)
+                .imageUrl("https://res.cloudinary.com/demo/image/upload/room.jpg")
+                .build();
+    }
+
+    @Benchmark
+    public SpaceResponse entityToDto() {
+        return SpaceMapper.entityToDto(space);
+    }
+}
@@ -2,6 +2,7 @@ package com.femcoders.sitme.cloudinary.config;
 
 import com.cloudinary.Cloudinary;
 import lombok.Data;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,6 +11,7 @@ import java.util.Map;
 
 @Data
 @Configuration
+@ConditionalOnProperty(name = "app.images.store", havingValue = "cloudinary", matchIfMissing = true)
 @ConfigurationProperties(prefix = "cloudinary")
 public class CloudinaryConfig {
     private String cloudName;
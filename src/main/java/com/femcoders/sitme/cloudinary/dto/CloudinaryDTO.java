@@ -1,6 +0,0 @@
-package com.femcoders.sitme.cloudinary.dto;
-
-public record CloudinaryDTO (
-        String publicId,
-        String url
-) {}
@@ -0,0 +1,10 @@
+package com.femcoders.sitme.cloudinary.exception;
+
+/**
+ * An upload rejected for its name, size or content, as opposed to a failure talking to the image store.
+ */
+public class InvalidFileException extends FileUploadException {
+    public InvalidFileException(String message) {
+        super(message);
+    }
+}
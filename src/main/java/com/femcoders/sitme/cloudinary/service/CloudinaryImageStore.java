@@ -0,0 +1,62 @@
+package com.femcoders.sitme.cloudinary.service;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.Transformation;
+import com.femcoders.sitme.cloudinary.exception.FileUploadException;
+import com.femcoders.sitme.image.dto.StoredImage;
+import com.femcoders.sitme.image.service.ImageStore;
+import com.femcoders.sitme.shared.model.ImageVariants;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.images.store", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryImageStore implements ImageStore {
+
+    private final Cloudinary cloudinary;
+
+    @Override
+    public StoredImage store(Path file, String publicId) {
+        try {
+            Map<?,?> result = cloudinary.uploader().upload(
+                    file.toFile(),
+                    Map.of("public_id", publicId));
+            String storedId = (String) result.get("public_id");
+            return new StoredImage(storedId, (String) result.get("url"), variantsOf(storedId));
+        } catch (Exception e) {
+            throw new FileUploadException("Failed to upload file");
+        }
+    }
+
+    @Override
+    public void delete(String publicId) {
+        try {
+            cloudinary.uploader().destroy(publicId, Map.of());
+        } catch (Exception e) {
+            throw new FileUploadException("Failed to delete file");
+        }
+    }
+
+    /**
+     * Delivery URLs for the image at thumbnail, card and full size, letting Cloudinary pick format and quality per client.
+     */
+    ImageVariants variantsOf(String publicId) {
+        return new ImageVariants(
+                deliveryUrl(publicId, new Transformation().width(160).height(160).crop("fill").gravity("auto")),
+                deliveryUrl(publicId, new Transformation().width(640).height(400).crop("fill").gravity("auto")),
+                deliveryUrl(publicId, new Transformation().width(1600).crop("limit")));
+    }
+
+    @SuppressWarnings("rawtypes")
+    private String deliveryUrl(String publicId, Transformation transformation) {
+        return cloudinary.url()
+                .secure(true)
+                .transformation(transformation.quality("auto").fetchFormat("auto"))
+                .generate(publicId);
+    }
+}
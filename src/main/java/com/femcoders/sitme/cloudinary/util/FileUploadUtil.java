@@ -1,32 +1,90 @@
 package com.femcoders.sitme.cloudinary.util;
 
 import com.femcoders.sitme.cloudinary.exception.FileUploadException;
+import com.femcoders.sitme.cloudinary.exception.InvalidFileException;
 import lombok.experimental.UtilityClass;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
 import java.util.regex.Pattern;
 
 @UtilityClass
 public class FileUploadUtil {
+    // keep in step with spring.servlet.multipart.max-file-size, which cuts oversized parts off while Tomcat parses them
     public static final long MAX_FILE_SIZE = 2 * 1024 * 1024;
-    public static final String IMAGE_PATTERN = "([^\\s]+(\\.(?i)(jpg|png|gif|bmp))$)";
-    public static final String DATE_FORMAT = "yyyyMMddHHmmss";
+    public static final Pattern IMAGE_PATTERN = Pattern.compile("([^\\s]+(\\.(jpg|png|gif|bmp))$)", Pattern.CASE_INSENSITIVE);
+    public static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
     public static final String FILE_NAME_FORMAT = "%s_%s";
 
-    public static void assertAllowed(MultipartFile file, String pattern) {
+    private static final int BUFFER_SIZE = 8192;
+
+    // JPEG, PNG, GIF87a/89a and BMP file signatures
+    private static final List<byte[]> IMAGE_SIGNATURES = List.of(
+            new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF},
+            new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'},
+            new byte[] {'G', 'I', 'F', '8', '7', 'a'},
+            new byte[] {'G', 'I', 'F', '8', '9', 'a'},
+            new byte[] {'B', 'M'});
+    private static final int SIGNATURE_LENGTH = 8;
+
+    /**
+     * Checks what is known without reading the content: the file name and the declared size.
+     */
+    public static void assertAllowed(MultipartFile file, Pattern pattern) {
         if (file.getSize() > MAX_FILE_SIZE) {
-            throw new FileUploadException("Max file size is 2MB");
+            throw new InvalidFileException("Max file size is 2MB");
         }
         String fileName = file.getOriginalFilename();
-        if(!Pattern.compile(pattern, Pattern.CASE_INSENSITIVE).matcher(fileName).matches()) {
-            throw new FileUploadException("Only jpg, png, gif or bmp files are allowed");
+        if (fileName == null || !pattern.matcher(fileName).matches()) {
+            throw new InvalidFileException("Only jpg, png, gif or bmp files are allowed");
+        }
+    }
+
+    /**
+     * Validates the upload and copies it to {@code target} in one pass: the first bytes must carry an image
+     * signature, and the copy stops as soon as more than {@link #MAX_FILE_SIZE} bytes have been read.
+     */
+    public static void copyImage(MultipartFile file, Path target) {
+        assertAllowed(file, IMAGE_PATTERN);
+        try (InputStream in = file.getInputStream(); OutputStream out = Files.newOutputStream(target)) {
+            byte[] header = in.readNBytes(SIGNATURE_LENGTH);
+            if (!isImage(header)) {
+                throw new InvalidFileException("File content is not a jpg, png, gif or bmp image");
+            }
+            out.write(header);
+            copyBounded(in, out, MAX_FILE_SIZE - header.length);
+        } catch (IOException e) {
+            throw new FileUploadException("Failed to read uploaded file");
         }
     }
+
     public static String getFileName(final String name) {
-        DateFormat dateFormat = new SimpleDateFormat(DATE_FORMAT);
-        final String date = dateFormat.format(System.currentTimeMillis());
-        return String.format(FILE_NAME_FORMAT, name, date);
+        return String.format(FILE_NAME_FORMAT, name, DATE_FORMAT.format(LocalDateTime.now()));
+    }
+
+    static boolean isImage(byte[] header) {
+        return IMAGE_SIGNATURES.stream().anyMatch(signature -> header.length >= signature.length
+                && Arrays.equals(header, 0, signature.length, signature, 0, signature.length));
+    }
+
+    private static void copyBounded(InputStream in, OutputStream out, long limit) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long remaining = limit;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            remaining -= read;
+            if (remaining < 0) {
+                throw new InvalidFileException("Max file size is 2MB");
+            }
+            out.write(buffer, 0, read);
+        }
     }
 }
@@ -0,0 +1,23 @@
+package com.femcoders.sitme.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USER_DETAILS_BY_ID = "userDetailsById";
+    public static final String USER_DETAILS_BY_IDENTIFIER = "userDetailsByIdentifier";
+
+    // fixed set of caches, so a mistyped name fails instead of silently creating a new one
+    @Bean
+    CacheManagerCustomizer<CaffeineCacheManager> userDetailsCacheNames() {
+        return cacheManager -> cacheManager.setCacheNames(List.of(USER_DETAILS_BY_ID, USER_DETAILS_BY_IDENTIFIER));
+    }
+}
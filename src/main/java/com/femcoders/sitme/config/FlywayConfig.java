@@ -0,0 +1,23 @@
+package com.femcoders.sitme.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FlywayConfig {
+
+    /**
+     * Rebuilds the schema from the migrations on every start, so test contexts sharing one in-memory database
+     * start from the same clean state create-drop used to give them.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.flyway.recreate-on-start", havingValue = "true")
+    public FlywayMigrationStrategy recreateOnStart() {
+        return flyway -> {
+            flyway.clean();
+            flyway.migrate();
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package com.femcoders.sitme.email;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_status_next_attempt", columnList = "status, next_attempt_at")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class EmailOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private EmailType type;
+
+    @Column(name = "recipient_email", nullable = false, length = 60)
+    private String recipientEmail;
+
+    @Column(nullable = false, length = 50)
+    private String username;
+
+    @Column(name = "space_name", length = 60)
+    private String spaceName;
+
+    @Column(name = "reservation_date")
+    private LocalDate reservationDate;
+
+    @Column(name = "time_slot", length = 20)
+    private String timeSlot;
+
+    @Column(name = "reservation_id")
+    private Long reservationId;
+
+    // summary emails cover several reservations: one line per reservation and their ids, comma separated
+    @Column(length = 4000)
+    private String details;
+
+    @Column(name = "reservation_ids", length = 1000)
+    private String reservationIds;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+}
@@ -0,0 +1,37 @@
+package com.femcoders.sitme.email;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.email.outbox.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxService emailOutboxService;
+    private final EmailService emailService;
+
+    @Scheduled(fixedDelayString = "${app.email.outbox.poll-interval:PT5S}")
+    public void dispatch() {
+
+        List<EmailOutbox> batch;
+
+        do {
+            batch = emailOutboxService.claimBatch();
+
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            Map<Long, String> failures = emailService.sendOutboxBatch(batch);
+
+            emailOutboxService.completeBatch(batch, failures);
+
+        } while (batch.size() == emailOutboxService.getBatchSize());
+    }
+}
@@ -0,0 +1,223 @@
+package com.femcoders.sitme.email;
+
+import com.femcoders.sitme.email.repository.EmailOutboxRepository;
+import com.femcoders.sitme.reservation.Reservation;
+import com.femcoders.sitme.reservation.ReservationSeries;
+import com.femcoders.sitme.reservation.repository.ReservationRepository;
+import com.femcoders.sitme.shared.versioning.AggregateVersions;
+import com.femcoders.sitme.user.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class EmailOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final ReservationRepository reservationRepository;
+    private final AggregateVersions aggregateVersions;
+
+    @Value("${app.email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.email.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.email.outbox.lease:PT2M}")
+    private Duration lease;
+
+    @Value("${app.email.outbox.initial-backoff:PT30S}")
+    private Duration initialBackoff;
+
+    @Value("${app.email.outbox.max-backoff:PT30M}")
+    private Duration maxBackoff;
+
+    public void enqueueRegistration(User user) {
+
+        EmailOutbox entry = EmailOutbox.builder()
+                .type(EmailType.REGISTRATION)
+                .recipientEmail(user.getEmail())
+                .username(user.getUsername())
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+
+        emailOutboxRepository.save(entry);
+    }
+
+    public void enqueueReservationConfirmation(Reservation reservation) {
+        enqueue(reservation, EmailType.RESERVATION_CONFIRMATION);
+    }
+
+    /**
+     * Queues a single email listing every reservation of a batch booking.
+     */
+    public void enqueueReservationBatchConfirmation(List<Reservation> reservations) {
+
+        Reservation first = reservations.getFirst();
+
+        EmailOutbox entry = EmailOutbox.builder()
+                .type(EmailType.RESERVATION_BATCH_CONFIRMATION)
+                .recipientEmail(first.getUser().getEmail())
+                .username(first.getUser().getUsername())
+                .details(reservations.stream()
+                        .map(reservation -> reservation.getReservationDate().format(EmailService.DATE_FORMATTER)
+                                + " | " + reservation.getTimeSlot().name()
+                                + " | " + reservation.getSpace().getName())
+                        .collect(Collectors.joining("\n")))
+                .reservationIds(reservations.stream()
+                        .map(reservation -> reservation.getId().toString())
+                        .collect(Collectors.joining(",")))
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+
+        emailOutboxRepository.save(entry);
+    }
+
+    public void enqueueReservationUpdate(Reservation reservation) {
+        enqueue(reservation, EmailType.RESERVATION_UPDATE);
+    }
+
+    public void enqueueReservationCancellation(Reservation reservation) {
+        enqueue(reservation, EmailType.RESERVATION_CANCELLATION);
+    }
+
+    /**
+     * Tells the owner of a series which occurrences could not be stored because the slot was booked meanwhile.
+     */
+    public void enqueueSeriesConflict(ReservationSeries series, List<LocalDate> skippedDates) {
+
+        EmailOutbox entry = EmailOutbox.builder()
+                .type(EmailType.SERIES_OCCURRENCE_SKIPPED)
+                .recipientEmail(series.getUser().getEmail())
+                .username(series.getUser().getUsername())
+                .spaceName(series.getSpace().getName())
+                .timeSlot(series.getTimeSlot().name())
+                .details(skippedDates.stream()
+                        .map(date -> date.format(EmailService.DATE_FORMATTER)
+                                + " | " + series.getTimeSlot().name()
+                                + " | " + series.getSpace().getName())
+                        .collect(Collectors.joining("\n")))
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+
+        emailOutboxRepository.save(entry);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @Transactional
+    public List<EmailOutbox> claimBatch() {
+
+        LocalDateTime now = LocalDateTime.now();
+
+        List<EmailOutbox> batch = emailOutboxRepository.findDispatchable(
+                OutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+
+        for (EmailOutbox entry : batch) {
+            entry.setAttempts(entry.getAttempts() + 1);
+            entry.setNextAttemptAt(now.plus(lease));
+        }
+
+        return batch;
+    }
+
+    @Transactional
+    public void completeBatch(List<EmailOutbox> batch, Map<Long, String> failures) {
+
+        LocalDateTime now = LocalDateTime.now();
+
+        List<EmailOutbox> entries = emailOutboxRepository.findAllById(
+                batch.stream().map(EmailOutbox::getId).toList());
+
+        List<Long> deliveredReservationIds = entries.stream()
+                .filter(entry -> !failures.containsKey(entry.getId()))
+                .flatMap(EmailOutboxService::reservationIds)
+                .distinct()
+                .toList();
+
+        for (EmailOutbox entry : entries) {
+            if (!failures.containsKey(entry.getId())) {
+                entry.setStatus(OutboxStatus.SENT);
+                entry.setSentAt(now);
+                entry.setLastError(null);
+                continue;
+            }
+
+            entry.setLastError(truncate(failures.get(entry.getId())));
+
+            if (entry.getAttempts() >= maxAttempts) {
+                entry.setStatus(OutboxStatus.FAILED);
+            } else {
+                entry.setNextAttemptAt(now.plus(backoff(entry.getAttempts())));
+            }
+        }
+
+        // update and cancellation mails leave emailSent as it was, so only a flipped flag moves the owners' versions
+        List<Long> owners = deliveredReservationIds.isEmpty()
+                ? List.of()
+                : reservationRepository.findUserIdsWithEmailNotSent(deliveredReservationIds);
+        if (!owners.isEmpty()) {
+            reservationRepository.markEmailSent(deliveredReservationIds);
+            aggregateVersions.bumpReservations(owners);
+        }
+    }
+
+    private void enqueue(Reservation reservation, EmailType type) {
+
+        EmailOutbox entry = EmailOutbox.builder()
+                .type(type)
+                .recipientEmail(reservation.getUser().getEmail())
+                .username(reservation.getUser().getUsername())
+                .spaceName(reservation.getSpace().getName())
+                .reservationDate(reservation.getReservationDate())
+                .timeSlot(reservation.getTimeSlot().name())
+                .reservationId(reservation.getId())
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+
+        emailOutboxRepository.save(entry);
+    }
+
+    private static Stream<Long> reservationIds(EmailOutbox entry) {
+        if (entry.getReservationIds() != null) {
+            return Arrays.stream(entry.getReservationIds().split(",")).map(Long::valueOf);
+        }
+        return Stream.ofNullable(entry.getReservationId());
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -1,84 +1,214 @@
 package com.femcoders.sitme.email;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
     private final JavaMailSender mailSender;
     private final TemplateEngine templateEngine;
+    private final MeterRegistry meterRegistry;
 
     @Value("${app.frontend-url}")
     private String frontendUrl;
 
+    @Value("${app.email.smtp.concurrency:4}")
+    private int smtpConcurrency;
+
+    @Value("${app.email.smtp.timeout:PT60S}")
+    private Duration smtpTimeout;
+
+    // Jakarta Mail's SMTPTransport holds its monitor during socket I/O, which would pin a virtual thread's carrier.
+    private ThreadPoolExecutor smtpExecutor;
+
+    @PostConstruct
+    void init() {
+        smtpExecutor = new ThreadPoolExecutor(smtpConcurrency, smtpConcurrency, 0, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                Thread.ofPlatform().name("smtp-sender-", 0).daemon(true).factory());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        smtpExecutor.shutdown();
+    }
+
     public void sendRegistrationEmail(String recipientEmail, String username) {
 
-        sendEmail(recipientEmail, username, null, null, null,
-                "registry-notification",
-                "Successful registration | SitMe App");
+        sendEmail(recipientEmail, username, null, null, null, EmailType.REGISTRATION);
     }
 
     public void sendReservationConfirmationEmail(String recipientEmail, String username, String spaceName, LocalDate reservationDate, String timeSlot) {
 
-        sendEmail(recipientEmail, username, spaceName, reservationDate, timeSlot,
-                "reservation-confirmation",
-                "Reservation confirmed | SitMe App");
+        sendEmail(recipientEmail, username, spaceName, reservationDate, timeSlot, EmailType.RESERVATION_CONFIRMATION);
     }
 
     public void sendReservationUpdateEmail(String recipientEmail, String username, String spaceName, LocalDate reservationDate, String timeSlot) {
 
-        sendEmail(recipientEmail, username, spaceName, reservationDate, timeSlot,
-                "update-notification",
-                "Reservation updated | SitMe App");
+        sendEmail(recipientEmail, username, spaceName, reservationDate, timeSlot, EmailType.RESERVATION_UPDATE);
     }
 
     public void sendReservationCancellationEmail(String recipientEmail, String username, String spaceName, LocalDate reservationDate, String timeSlot) {
 
-        sendEmail(recipientEmail, username, spaceName, reservationDate, timeSlot,
-                "cancellation-notification",
-                "Reservation cancelled | SitMe App");
+        sendEmail(recipientEmail, username, spaceName, reservationDate, timeSlot, EmailType.RESERVATION_CANCELLATION);
 
     }
 
-    private void sendEmail(String recipientEmail, String username, String spaceName, LocalDate reservationDate, String timeSlot, String templateName, String subject) {
+    /**
+     * Sends a batch of outbox entries over a single SMTP connection.
+     * Returns the ids of the entries that could not be delivered, mapped to the failure reason.
+     */
+    public Map<Long, String> sendOutboxBatch(List<EmailOutbox> entries) {
+
+        Map<Long, String> failures = new HashMap<>();
+        Map<MimeMessage, Long> messages = new LinkedHashMap<>();
+
+        for (EmailOutbox entry : entries) {
+            try {
+                messages.put(buildMessage(entry.getRecipientEmail(), entry.getUsername(), entry.getSpaceName(),
+                        entry.getReservationDate(), entry.getTimeSlot(), entry.getDetails(), entry.getType()), entry.getId());
+            } catch (Exception exception) {
+                failures.put(entry.getId(), "Failed to render email: " + exception.getMessage());
+            }
+        }
 
-        try {
-            MimeMessage emailMessage = mailSender.createMimeMessage();
+        if (messages.isEmpty()) {
+            return failures;
+        }
 
-            MimeMessageHelper emailHelper = new MimeMessageHelper(emailMessage, true);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
 
-            emailHelper.setFrom("noreply@sitmeapp.com");
-            emailHelper.setTo(recipientEmail);
-            emailHelper.setSubject(subject);
+        try {
+            MimeMessage[] batch = messages.keySet().toArray(new MimeMessage[0]);
+            send(() -> mailSender.send(batch));
+        } catch (MailSendException exception) {
+            outcome = "failure";
+            if (exception.getFailedMessages().isEmpty()) {
+                messages.values().forEach(id -> failures.put(id, exception.getMessage()));
+            }
+            exception.getFailedMessages().forEach((message, cause) ->
+                    failures.put(messages.get(message), cause.getMessage()));
+        } catch (MailException exception) {
+            outcome = "failure";
+            messages.values().forEach(id -> failures.put(id, exception.getMessage()));
+        } finally {
+            sample.stop(smtpTimer("batch", outcome));
+        }
 
-            Context context = new Context();
-            context.setVariable("username", username);
-            context.setVariable("frontendUrl", frontendUrl);
-            if (spaceName != null) context.setVariable("spaceName", spaceName);
-            if (reservationDate != null) context.setVariable("date", reservationDate.format(DATE_FORMATTER));
-            if (timeSlot != null) context.setVariable("timeSlot", timeSlot);
+        return failures;
+    }
 
-            String emailHtmlContent = templateEngine.process(templateName, context);
+    private void sendEmail(String recipientEmail, String username, String spaceName, LocalDate reservationDate, String timeSlot, EmailType type) {
 
-            emailHelper.setText(emailHtmlContent, true);
+        try {
+            MimeMessage message = buildMessage(recipientEmail, username, spaceName, reservationDate, timeSlot, null, type);
 
-            mailSender.send(emailMessage);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "failure";
+            try {
+                send(() -> mailSender.send(message));
+                outcome = "success";
+            } finally {
+                sample.stop(smtpTimer("single", outcome));
+            }
 
         } catch (Exception exception) {
             throw new RuntimeException("Failed to send email to " + recipientEmail, exception);
         }
     }
+
+    private void send(Runnable smtpCall) {
+
+        if (!Thread.currentThread().isVirtual()) {
+            smtpCall.run();
+            return;
+        }
+
+        Future<?> delivery = smtpExecutor.submit(smtpCall);
+        try {
+            delivery.get(smtpTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException exception) {
+            delivery.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while sending email", exception);
+        } catch (TimeoutException exception) {
+            delivery.cancel(true);
+            throw new MailSendException("Timed out after " + smtpTimeout + " while sending email", exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new MailSendException("Failed to send email", exception.getCause());
+        }
+    }
+
+    private Timer smtpTimer(String mode, String outcome) {
+        return Timer.builder("sitme.email.smtp")
+                .description("Time spent handing messages to the SMTP server")
+                .tag("mode", mode)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private MimeMessage buildMessage(String recipientEmail, String username, String spaceName, LocalDate reservationDate, String timeSlot, String details, EmailType type) throws MessagingException {
+
+        MimeMessage emailMessage = mailSender.createMimeMessage();
+
+        MimeMessageHelper emailHelper = new MimeMessageHelper(emailMessage, true);
+
+        emailHelper.setFrom("noreply@sitmeapp.com");
+        emailHelper.setTo(recipientEmail);
+        emailHelper.setSubject(type.getSubject());
+
+        Context context = new Context();
+        context.setVariable("username", username);
+        context.setVariable("frontendUrl", frontendUrl);
+        if (spaceName != null) context.setVariable("spaceName", spaceName);
+        if (reservationDate != null) context.setVariable("date", reservationDate.format(DATE_FORMATTER));
+        if (timeSlot != null) context.setVariable("timeSlot", timeSlot);
+        if (details != null) context.setVariable("items", details.lines().toList());
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String emailHtmlContent = templateEngine.process(type.getTemplateName(), context);
+        sample.stop(Timer.builder("sitme.email.render")
+                .description("Time spent rendering email templates")
+                .tag("type", type.name())
+                .register(meterRegistry));
+
+        emailHelper.setText(emailHtmlContent, true);
+
+        return emailMessage;
+    }
 }
@@ -0,0 +1,26 @@
+package com.femcoders.sitme.email;
+
+public enum EmailType {
+    REGISTRATION("registry-notification", "Successful registration | SitMe App"),
+    RESERVATION_CONFIRMATION("reservation-confirmation", "Reservation confirmed | SitMe App"),
+    RESERVATION_BATCH_CONFIRMATION("batch-confirmation", "Reservations confirmed | SitMe App"),
+    RESERVATION_UPDATE("update-notification", "Reservation updated | SitMe App"),
+    RESERVATION_CANCELLATION("cancellation-notification", "Reservation cancelled | SitMe App"),
+    SERIES_OCCURRENCE_SKIPPED("series-conflict-notification", "Recurring reservation skipped | SitMe App");
+
+    private final String templateName;
+    private final String subject;
+
+    EmailType(String templateName, String subject) {
+        this.templateName = templateName;
+        this.subject = subject;
+    }
+
+    public String getTemplateName() {
+        return templateName;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+}
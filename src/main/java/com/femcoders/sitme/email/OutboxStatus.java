@@ -0,0 +1,7 @@
+package com.femcoders.sitme.email;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
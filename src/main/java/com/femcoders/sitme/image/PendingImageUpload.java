@@ -0,0 +1,44 @@
+package com.femcoders.sitme.image;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A background upload that has not settled yet. Written in the transaction that marks the entity's image pending
+ * and deleted in the one that settles it, so a row that outlives its instance can be failed by any other.
+ */
+@Entity
+@Table(name = "pending_image_uploads", indexes = {
+        @Index(name = "idx_pending_image_uploads_created_at", columnList = "created_at")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class PendingImageUpload {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "entity_name", nullable = false, length = 60)
+    private String entityName;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "public_id", nullable = false)
+    private String publicId;
+
+    @Column(name = "previous_public_id")
+    private String previousPublicId;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,61 @@
+package com.femcoders.sitme.image.config;
+
+import org.apache.catalina.Lifecycle;
+import org.apache.catalina.WebResourceRoot;
+import org.apache.catalina.servlets.DefaultServlet;
+import org.apache.catalina.webresources.DirResourceSet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Serves the local image directory through Tomcat's {@link DefaultServlet} rather than a Spring MVC handler:
+ * it answers conditional and Range requests with ETag / Last-Modified validation, and hands large files to the
+ * connector's sendfile so their bytes never pass through the JVM.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.images.store", havingValue = "local")
+public class LocalImageServingConfig {
+
+    public static final String MOUNT_PATH = "/images";
+
+    @Value("${app.images.local.directory}")
+    private Path directory;
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> localImageResources() {
+        return factory -> factory.addContextCustomizers(context -> context.addLifecycleListener(event -> {
+            if (Lifecycle.CONFIGURE_START_EVENT.equals(event.getType())) {
+                WebResourceRoot resources = context.getResources();
+                resources.addPreResources(new DirResourceSet(resources, MOUNT_PATH, imageDirectory(), "/"));
+            }
+        }));
+    }
+
+    @Bean
+    public ServletRegistrationBean<DefaultServlet> localImageServlet() {
+        ServletRegistrationBean<DefaultServlet> registration =
+                new ServletRegistrationBean<>(new DefaultServlet(), MOUNT_PATH + "/*");
+        registration.setName("localImages");
+        registration.addInitParameter("listings", "false");
+        registration.addInitParameter("readonly", "true");
+        return registration;
+    }
+
+    private String imageDirectory() {
+        try {
+            return Files.createDirectories(directory.toAbsolutePath().normalize()).toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
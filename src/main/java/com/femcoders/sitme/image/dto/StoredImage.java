@@ -0,0 +1,9 @@
+package com.femcoders.sitme.image.dto;
+
+import com.femcoders.sitme.shared.model.ImageVariants;
+
+public record StoredImage (
+        String publicId,
+        String url,
+        ImageVariants variants
+) {}
@@ -0,0 +1,16 @@
+package com.femcoders.sitme.image.repository;
+
+import com.femcoders.sitme.image.PendingImageUpload;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PendingImageUploadRepository extends JpaRepository<PendingImageUpload, Long> {
+
+    @Query("SELECT p FROM PendingImageUpload p WHERE p.createdAt < :before ORDER BY p.createdAt")
+    List<PendingImageUpload> findCreatedBefore(@Param("before") LocalDateTime before, Pageable pageable);
+}
@@ -0,0 +1,252 @@
+package com.femcoders.sitme.image.service;
+
+import com.femcoders.sitme.cloudinary.exception.FileUploadException;
+import com.femcoders.sitme.cloudinary.util.FileUploadUtil;
+import com.femcoders.sitme.image.dto.StoredImage;
+import com.femcoders.sitme.shared.model.ImageStatus;
+import com.femcoders.sitme.shared.model.ImageUpdatable;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class EntityImageService {
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityImageWriter entityImageWriter;
+
+    @Value("${app.images.upload.concurrency:4}")
+    private int uploadConcurrency;
+
+    @Value("${app.images.upload.queue-capacity:100}")
+    private int uploadQueueCapacity;
+
+    private ThreadPoolExecutor uploadExecutor;
+
+    @PostConstruct
+    void init() {
+        uploadExecutor = new ThreadPoolExecutor(uploadConcurrency, uploadConcurrency, 0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(uploadQueueCapacity),
+                Thread.ofPlatform().name("image-upload-", 0).daemon(true).factory());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        uploadExecutor.shutdown();
+    }
+
+    private StoredImage uploadFile(Path file, String folder, String publicId) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            StoredImage stored = imageStore.store(file, publicId);
+            outcome = "success";
+            DistributionSummary.builder("sitme.images.upload.size")
+                    .description("Size of images handed to the image store")
+                    .baseUnit("bytes")
+                    .tag("folder", folder)
+                    .register(meterRegistry)
+                    .record(Files.size(file));
+            return stored;
+        } catch (IOException e) {
+            throw new FileUploadException("Failed to upload file");
+        } finally {
+            sample.stop(Timer.builder("sitme.images.upload")
+                    .description("Image store upload latency, including variant generation")
+                    .tag("folder", folder)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    public <T extends ImageUpdatable> T uploadEntityImage(T entity, MultipartFile file, String folder) {
+        return uploadEntityImage(entity, file, folder, () -> {});
+    }
+
+    /**
+     * Validates and stages the file on local disk, then marks the entity's image as pending. The upload itself runs in the
+     * background once the surrounding transaction commits; the previous image is only deleted after the new one
+     * is stored. {@code onSettled} runs after the entity row has been updated with the outcome. The pending upload is
+     * also recorded in that transaction, so {@link PendingImageUploadSweeper} can fail it if this instance never does.
+     */
+    public <T extends ImageUpdatable> T uploadEntityImage(T entity, MultipartFile file, String folder, Runnable onSettled) {
+        Path staged = stage(file);
+        String publicId = folder + "/" + FileUploadUtil.getFileName(file.getOriginalFilename());
+
+        PendingUpload upload = new PendingUpload(Hibernate.getClass(entity), entity, folder, publicId,
+                entity.getCloudinaryImageId(), staged, onSettled);
+
+        entity.setCloudinaryImageId(publicId);
+        entity.setImageStatus(ImageStatus.PENDING);
+
+        afterCommit(upload);
+        return entity;
+    }
+
+    /**
+     * Clears the entity's image. The stored files are removed on the upload pool once the surrounding transaction
+     * commits, so a rolled-back request keeps its image and the request thread never waits on the store.
+     */
+    public <T extends ImageUpdatable> T deleteEntityImage(T entity) {
+        String publicId = entity.getCloudinaryImageId();
+
+        if (publicId != null && !publicId.isBlank()) {
+            entity.setImageUrl(null);
+            entity.setCloudinaryImageId(null);
+            entity.setImageStatus(null);
+            entity.setImageVariants(null);
+
+            afterCommit(() -> deleteInBackground(publicId));
+        }
+
+        return entity;
+    }
+
+    private Path stage(MultipartFile file) {
+        Path staged;
+        try {
+            staged = Files.createTempFile("sitme-upload-", ".tmp");
+        } catch (IOException e) {
+            throw new FileUploadException("Failed to read uploaded file");
+        }
+        try {
+            FileUploadUtil.copyImage(file, staged);
+            return staged;
+        } catch (FileUploadException e) {
+            discard(staged);
+            throw e;
+        }
+    }
+
+    private void deleteInBackground(String publicId) {
+        try {
+            uploadExecutor.execute(() -> deleteQuietly(publicId));
+        } catch (RejectedExecutionException ignored) {
+            // the pool is saturated; the stored files stay behind as an orphan
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void afterCommit(PendingUpload upload) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recordPending(upload);
+            submit(upload);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // a new entity only has its id once the caller has saved it
+                recordPending(upload);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    submit(upload);
+                } else {
+                    discard(upload.staged());
+                }
+            }
+        });
+    }
+
+    private void recordPending(PendingUpload upload) {
+        entityImageWriter.recordPending(upload.entityType(), upload.entity().getId(),
+                upload.publicId(), upload.previousPublicId());
+    }
+
+    private void submit(PendingUpload upload) {
+        try {
+            uploadExecutor.execute(() -> upload(upload));
+        } catch (RejectedExecutionException e) {
+            fail(upload);
+            discard(upload.staged());
+        }
+    }
+
+    private void upload(PendingUpload upload) {
+        boolean ready = false;
+        try {
+            StoredImage stored = uploadFile(upload.staged(), upload.folder(), upload.publicId());
+            ready = entityImageWriter.markReady(upload.entityType(), upload.entity().getId(), upload.publicId(),
+                    stored.url(), stored.variants());
+            if (!ready) {
+                deleteQuietly(upload.publicId());
+                return;
+            }
+            upload.onSettled().run();
+            if (upload.previousPublicId() != null && !upload.previousPublicId().isBlank()) {
+                deleteQuietly(upload.previousPublicId());
+            }
+        } catch (RuntimeException e) {
+            // anything short of a stored image, including a decoder or database error, must not leave it pending
+            if (!ready) {
+                fail(upload);
+            }
+        } finally {
+            discard(upload.staged());
+        }
+    }
+
+    private void fail(PendingUpload upload) {
+        if (entityImageWriter.markFailed(upload.entityType(), upload.entity().getId(),
+                upload.publicId(), upload.previousPublicId())) {
+            upload.onSettled().run();
+        }
+    }
+
+    private void deleteQuietly(String publicId) {
+        try {
+            imageStore.delete(publicId);
+        } catch (RuntimeException ignored) {
+            // an orphaned stored image is preferable to failing an upload that already succeeded
+        }
+    }
+
+    private static void discard(Path staged) {
+        try {
+            Files.deleteIfExists(staged);
+        } catch (IOException ignored) {
+            // the temp directory is cleaned up by the OS
+        }
+    }
+
+    private record PendingUpload(Class<?> entityType, ImageUpdatable entity, String folder, String publicId,
+                                 String previousPublicId, Path staged, Runnable onSettled) {
+    }
+}
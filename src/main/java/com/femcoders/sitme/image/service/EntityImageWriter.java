@@ -0,0 +1,89 @@
+package com.femcoders.sitme.image.service;
+
+import com.femcoders.sitme.image.PendingImageUpload;
+import com.femcoders.sitme.shared.model.ImageStatus;
+import com.femcoders.sitme.shared.model.ImageVariants;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Settles a background upload on the entity row. Both updates match on the public id the upload was started for,
+ * so an upload superseded by a newer one, or by an image deletion, changes nothing. They run in their own
+ * transaction because they are reached from upload threads and from after-completion callbacks, where the
+ * request's transaction has already ended.
+ */
+@Service
+@RequiredArgsConstructor
+public class EntityImageWriter {
+
+    private final EntityManager entityManager;
+
+    @Transactional
+    public void recordPending(Class<?> entityType, Long id, String publicId, String previousPublicId) {
+        entityManager.persist(PendingImageUpload.builder()
+                .entityName(entityName(entityType))
+                .entityId(id)
+                .publicId(publicId)
+                .previousPublicId(previousPublicId)
+                .build());
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean markReady(Class<?> entityType, Long id, String publicId, String url, ImageVariants variants) {
+        String entityName = entityName(entityType);
+        clearPending(entityName, id, publicId);
+        return entityManager.createQuery("UPDATE " + entityName + " e " +
+                        "SET e.imageUrl = :url, e.imageStatus = :status, " +
+                        "e.imageVariants.thumbnail = :thumbnail, e.imageVariants.card = :card, e.imageVariants.full = :full " +
+                        "WHERE e.id = :id AND e.cloudinaryImageId = :publicId")
+                .setParameter("url", url)
+                .setParameter("thumbnail", variants.getThumbnail())
+                .setParameter("card", variants.getCard())
+                .setParameter("full", variants.getFull())
+                .setParameter("status", ImageStatus.READY)
+                .setParameter("id", id)
+                .setParameter("publicId", publicId)
+                .executeUpdate() == 1;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean markFailed(Class<?> entityType, Long id, String publicId, String previousPublicId) {
+        return fail(entityName(entityType), id, publicId, previousPublicId);
+    }
+
+    /**
+     * Fails an upload whose instance never settled it, e.g. because it stopped mid-upload.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean markAbandoned(PendingImageUpload upload) {
+        return fail(upload.getEntityName(), upload.getEntityId(), upload.getPublicId(), upload.getPreviousPublicId());
+    }
+
+    private boolean fail(String entityName, Long id, String publicId, String previousPublicId) {
+        clearPending(entityName, id, publicId);
+        return entityManager.createQuery("UPDATE " + entityName + " e " +
+                        "SET e.cloudinaryImageId = :previousPublicId, e.imageStatus = :status " +
+                        "WHERE e.id = :id AND e.cloudinaryImageId = :publicId")
+                .setParameter("previousPublicId", previousPublicId)
+                .setParameter("status", ImageStatus.FAILED)
+                .setParameter("id", id)
+                .setParameter("publicId", publicId)
+                .executeUpdate() == 1;
+    }
+
+    private void clearPending(String entityName, Long id, String publicId) {
+        entityManager.createQuery("DELETE FROM PendingImageUpload p " +
+                        "WHERE p.entityName = :entityName AND p.entityId = :id AND p.publicId = :publicId")
+                .setParameter("entityName", entityName)
+                .setParameter("id", id)
+                .setParameter("publicId", publicId)
+                .executeUpdate();
+    }
+
+    private String entityName(Class<?> entityType) {
+        return entityManager.getMetamodel().entity(entityType).getName();
+    }
+}
@@ -0,0 +1,20 @@
+package com.femcoders.sitme.image.service;
+
+import com.femcoders.sitme.image.dto.StoredImage;
+
+import java.nio.file.Path;
+
+/**
+ * Backend holding the image files. Selected with {@code app.images.store}; both operations are called from the
+ * background upload pool, never from a request thread. Every instance must see the same files, so the local store
+ * needs a shared volume when more than one replica runs.
+ */
+public interface ImageStore {
+
+    /**
+     * Stores the file under {@code publicId} and returns its delivery URLs, including the thumbnail, card and full variants.
+     */
+    StoredImage store(Path file, String publicId);
+
+    void delete(String publicId);
+}
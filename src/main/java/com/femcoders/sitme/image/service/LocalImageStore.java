@@ -0,0 +1,192 @@
+package com.femcoders.sitme.image.service;
+
+import com.femcoders.sitme.cloudinary.exception.FileUploadException;
+import com.femcoders.sitme.image.dto.StoredImage;
+import com.femcoders.sitme.shared.model.ImageVariants;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.UriUtils;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Keeps images on local disk under {@code app.images.local.directory}, served by {@link com.femcoders.sitme.image.config.LocalImageServingConfig}.
+ * The original is stored as {@code <publicId>.<ext>} next to its {@code -thumbnail}, {@code -card} and {@code -full} renditions.
+ * Dimensions are read from the header before decoding, since a small compressed file can expand to gigabytes of pixels.
+ */
+@Service
+@ConditionalOnProperty(name = "app.images.store", havingValue = "local")
+public class LocalImageStore implements ImageStore {
+
+    @Value("${app.images.local.directory}")
+    private Path directory;
+
+    @Value("${app.images.local.base-url:/images}")
+    private String baseUrl;
+
+    @Value("${app.images.local.max-pixels:40000000}")
+    private long maxPixels;
+
+    @PostConstruct
+    void init() throws IOException {
+        directory = directory.toAbsolutePath().normalize();
+        Files.createDirectories(directory);
+    }
+
+    @Override
+    public StoredImage store(Path file, String publicId) {
+        Path target = resolve(publicId);
+        try {
+            Decoded decoded = decode(file);
+            BufferedImage image = decoded.image();
+            Files.createDirectories(target.getParent());
+
+            Path original = sibling(target, "." + decoded.format());
+            copy(file, original);
+
+            String variantFormat = image.getColorModel().hasAlpha() ? "png" : "jpg";
+            ImageVariants variants = new ImageVariants(
+                    url(write(fill(image, 160, 160), sibling(target, "-thumbnail." + variantFormat), variantFormat)),
+                    url(write(fill(image, 640, 400), sibling(target, "-card." + variantFormat), variantFormat)),
+                    url(write(limit(image, 1600), sibling(target, "-full." + variantFormat), variantFormat)));
+
+            return new StoredImage(publicId, url(original), variants);
+        } catch (IOException e) {
+            delete(publicId);
+            throw new FileUploadException("Failed to store file");
+        }
+    }
+
+    @Override
+    public void delete(String publicId) {
+        Path target = resolve(publicId);
+        String name = target.getFileName().toString();
+        if (!Files.isDirectory(target.getParent())) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(target.getParent(), path -> {
+            String fileName = path.getFileName().toString();
+            return fileName.startsWith(name + ".") || fileName.startsWith(name + "-");
+        })) {
+            for (Path stored : files) {
+                Files.deleteIfExists(stored);
+            }
+        } catch (IOException e) {
+            throw new FileUploadException("Failed to delete file");
+        }
+    }
+
+    private Path resolve(String publicId) {
+        Path target = directory.resolve(publicId).normalize();
+        if (!target.startsWith(directory) || target.equals(directory)) {
+            throw new FileUploadException("Invalid image id");
+        }
+        return target;
+    }
+
+    private String url(Path stored) {
+        String path = StreamSupport.stream(directory.relativize(stored).spliterator(), false)
+                .map(segment -> UriUtils.encodePathSegment(segment.toString(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("/"));
+        return baseUrl + "/" + path;
+    }
+
+    private static Path sibling(Path target, String suffix) {
+        return target.resolveSibling(target.getFileName() + suffix);
+    }
+
+    private Decoded decode(Path file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new FileUploadException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxPixels) {
+                    throw new FileUploadException("Image dimensions exceed the allowed size");
+                }
+                String format = reader.getFormatName().toLowerCase();
+                return new Decoded(format.equals("jpeg") ? "jpg" : format, reader.read(0));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Channel-to-channel transfer lets the kernel move the bytes without copying them through the heap.
+    private static void copy(Path source, Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size();
+            long position = 0;
+            while (position < size) {
+                position += in.transferTo(position, size - position, out);
+            }
+        }
+    }
+
+    private static Path write(BufferedImage image, Path target, String format) throws IOException {
+        if (!ImageIO.write(image, format, target.toFile())) {
+            throw new IOException("No writer for " + format);
+        }
+        return target;
+    }
+
+    /**
+     * Scales the image to cover {@code width x height} and crops the overflow around the centre.
+     */
+    private static BufferedImage fill(BufferedImage source, int width, int height) {
+        double scale = Math.max((double) width / source.getWidth(), (double) height / source.getHeight());
+        int scaledWidth = (int) Math.ceil(source.getWidth() * scale);
+        int scaledHeight = (int) Math.ceil(source.getHeight() * scale);
+        return render(source, width, height, (width - scaledWidth) / 2, (height - scaledHeight) / 2, scaledWidth, scaledHeight);
+    }
+
+    /**
+     * Scales the image down to at most {@code maxWidth} wide, keeping its aspect ratio; smaller images keep their size.
+     */
+    private static BufferedImage limit(BufferedImage source, int maxWidth) {
+        if (source.getWidth() <= maxWidth) {
+            return render(source, source.getWidth(), source.getHeight(), 0, 0, source.getWidth(), source.getHeight());
+        }
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * maxWidth / source.getWidth()));
+        return render(source, maxWidth, height, 0, 0, maxWidth, height);
+    }
+
+    private static BufferedImage render(BufferedImage source, int width, int height, int x, int y, int drawWidth, int drawHeight) {
+        BufferedImage target = new BufferedImage(width, height,
+                source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, x, y, drawWidth, drawHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private record Decoded(String format, BufferedImage image) {
+    }
+}
@@ -0,0 +1,70 @@
+package com.femcoders.sitme.image.service;
+
+import com.femcoders.sitme.image.PendingImageUpload;
+import com.femcoders.sitme.image.repository.PendingImageUploadRepository;
+import com.femcoders.sitme.shared.versioning.Aggregate;
+import com.femcoders.sitme.shared.versioning.AggregateVersions;
+import com.femcoders.sitme.space.Space;
+import com.femcoders.sitme.user.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fails background uploads still pending long after any upload should have finished, which happens when the
+ * instance running one stops or loses its database connection. Every instance runs it; a failure matches on the
+ * upload's public id, so an upload that settles meanwhile is left alone.
+ */
+@Component
+@RequiredArgsConstructor
+public class PendingImageUploadSweeper {
+
+    private static final Map<String, Aggregate> AGGREGATES = Map.of(
+            Space.class.getSimpleName(), Aggregate.SPACES,
+            User.class.getSimpleName(), Aggregate.USERS);
+
+    private final PendingImageUploadRepository pendingImageUploadRepository;
+    private final EntityImageWriter entityImageWriter;
+    private final AggregateVersions aggregateVersions;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.images.upload.stale-after:PT15M}")
+    private Duration staleAfter;
+
+    @Value("${app.images.upload.sweep-batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${app.images.upload.sweep-interval:PT5M}")
+    public void failAbandonedUploads() {
+
+        Set<Aggregate> changed = EnumSet.noneOf(Aggregate.class);
+        int failed = 0;
+
+        for (PendingImageUpload upload : pendingImageUploadRepository.findCreatedBefore(
+                LocalDateTime.now().minus(staleAfter), PageRequest.of(0, batchSize))) {
+            if (entityImageWriter.markAbandoned(upload)) {
+                failed++;
+                Aggregate aggregate = AGGREGATES.get(upload.getEntityName());
+                if (aggregate != null) {
+                    changed.add(aggregate);
+                }
+            }
+        }
+
+        changed.forEach(aggregateVersions::bump);
+        Counter.builder("sitme.images.upload.abandoned")
+                .description("Pending image uploads failed because no instance settled them in time")
+                .register(meterRegistry)
+                .increment(failed);
+    }
+}
@@ -0,0 +1,53 @@
+package com.femcoders.sitme.reservation;
+
+import com.femcoders.sitme.space.dto.AvailabilityDelta;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One committed occupancy change, written in the transaction that made it. Every instance reads this table
+ * in id order to keep its {@code OccupancyIndex} current and to feed its availability stream, so the id is
+ * also the event id clients see.
+ */
+@Entity
+@Table(name = "availability_changes", indexes = {
+        @Index(name = "idx_availability_changes_created_at", columnList = "created_at")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class AvailabilityChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "space_id", nullable = false)
+    private Long spaceId;
+
+    @Column(name = "reservation_date", nullable = false)
+    private LocalDate reservationDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "time_slot", nullable = false)
+    private TimeSlot timeSlot;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AvailabilityDelta.State state;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public AvailabilityDelta toDelta() {
+        return new AvailabilityDelta(spaceId, reservationDate, timeSlot, state);
+    }
+}
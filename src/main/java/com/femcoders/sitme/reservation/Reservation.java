@@ -8,19 +8,29 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = {
+        @Index(name = "idx_reservations_date_id", columnList = "reservation_date, id"),
+        @Index(name = "idx_reservations_user_date_id", columnList = "user_id, reservation_date, id"),
+        @Index(name = "idx_reservations_status_date_id", columnList = "status, reservation_date, id"),
+        @Index(name = "idx_reservations_space_date_status", columnList = "space_id, reservation_date, status"),
+        @Index(name = "idx_reservations_series_date", columnList = "series_id, reservation_date")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
 @Builder
 public class Reservation {
+    // a sequence (table-emulated on MySQL) instead of IDENTITY lets Hibernate batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservations_seq")
+    @SequenceGenerator(name = "reservations_seq", sequenceName = "reservations_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "reservation_date", nullable = false)
@@ -41,11 +51,16 @@ public class Reservation {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "space_id", nullable = false)
     private Space space;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    @JoinColumn(name = "series_id")
+    private ReservationSeries series;
 }
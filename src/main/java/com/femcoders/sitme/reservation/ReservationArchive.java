@@ -0,0 +1,61 @@
+package com.femcoders.sitme.reservation;
+
+import com.femcoders.sitme.space.Space;
+import com.femcoders.sitme.user.User;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Finished reservations moved out of {@code reservations}. Rows keep their original id,
+ * so (reservationDate, id) cursors stay valid across both tables.
+ */
+@Entity
+@Table(name = "reservations_archive", indexes = {
+        @Index(name = "idx_reservations_archive_user_date_id", columnList = "user_id, reservation_date, id")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class ReservationArchive {
+    @Id
+    private Long id;
+
+    @Column(name = "reservation_date", nullable = false)
+    private LocalDate reservationDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "time_slot", nullable = false)
+    private TimeSlot timeSlot;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @Column(name = "email_sent", nullable = false)
+    private boolean emailSent;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JoinColumn(name = "space_id", nullable = false)
+    private Space space;
+}
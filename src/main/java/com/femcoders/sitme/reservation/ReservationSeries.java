@@ -0,0 +1,89 @@
+package com.femcoders.sitme.reservation;
+
+import com.femcoders.sitme.space.Space;
+import com.femcoders.sitme.user.User;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A weekly booking rule. Occurrences up to {@code materializedUntil} exist as {@link Reservation} rows;
+ * later ones are derived from the rule on demand. Cancelled occurrences that were never materialized
+ * are kept in {@code skippedDates}.
+ */
+@Entity
+@Table(name = "reservation_series", indexes = {
+        @Index(name = "idx_reservation_series_space_status", columnList = "space_id, status")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class ReservationSeries {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_of_week", nullable = false, length = 10)
+    private DayOfWeek dayOfWeek;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "time_slot", nullable = false)
+    private TimeSlot timeSlot;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Column(name = "materialized_until", nullable = false)
+    private LocalDate materializedUntil;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @Builder.Default
+    @ElementCollection
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @CollectionTable(name = "reservation_series_skipped_dates", joinColumns = @JoinColumn(name = "series_id"))
+    @Column(name = "skipped_date", nullable = false)
+    private Set<LocalDate> skippedDates = new HashSet<>();
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JoinColumn(name = "space_id", nullable = false)
+    private Space space;
+
+    public boolean occursOn(LocalDate date) {
+        return date.getDayOfWeek() == dayOfWeek && !date.isBefore(startDate) && !date.isAfter(endDate);
+    }
+
+    public LocalDate firstOccurrenceFrom(LocalDate date) {
+        LocalDate from = date.isBefore(startDate) ? startDate : date;
+        int shift = (dayOfWeek.getValue() - from.getDayOfWeek().getValue() + 7) % 7;
+        return from.plusDays(shift);
+    }
+}
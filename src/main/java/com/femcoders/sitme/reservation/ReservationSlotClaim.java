@@ -0,0 +1,45 @@
+package com.femcoders.sitme.reservation;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+
+/**
+ * One booked half-day of a space. The unique constraint is what guarantees that two concurrent
+ * bookings can never hold the same (space, date, half-day), whatever instance served them.
+ */
+@Entity
+@Table(name = "reservation_slot_claims", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_slot_claims_space_date_half", columnNames = {"space_id", "reservation_date", "half_day"})
+})
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class ReservationSlotClaim {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservation_slot_claims_seq")
+    @SequenceGenerator(name = "reservation_slot_claims_seq", sequenceName = "reservation_slot_claims_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "space_id", nullable = false)
+    private Long spaceId;
+
+    @Column(name = "reservation_date", nullable = false)
+    private LocalDate reservationDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "half_day", nullable = false, length = 10)
+    private TimeSlot halfDay;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JoinColumn(name = "reservation_id", nullable = false)
+    private Reservation reservation;
+}
@@ -1,7 +1,23 @@
 package com.femcoders.sitme.reservation;
 
+import java.util.List;
+
 public enum TimeSlot {
-    MORNING,
-    AFTERNOON,
-    FULL_DAY
+    MORNING(0b01),
+    AFTERNOON(0b10),
+    FULL_DAY(0b11);
+
+    private final int mask;
+
+    TimeSlot(int mask) {
+        this.mask = mask;
+    }
+
+    public int mask() {
+        return mask;
+    }
+
+    public List<TimeSlot> halves() {
+        return this == FULL_DAY ? List.of(MORNING, AFTERNOON) : List.of(this);
+    }
 }
@@ -1,10 +1,18 @@
 package com.femcoders.sitme.reservation.controller;
 
+import com.femcoders.sitme.reservation.Status;
+import com.femcoders.sitme.reservation.TimeSlot;
+import com.femcoders.sitme.reservation.dtos.BatchReservationRequest;
+import com.femcoders.sitme.reservation.dtos.BatchReservationResponse;
+import com.femcoders.sitme.reservation.dtos.ReservationFilter;
 import com.femcoders.sitme.reservation.dtos.ReservationRequest;
 import com.femcoders.sitme.reservation.dtos.ReservationResponse;
 import com.femcoders.sitme.reservation.services.ReservationServiceImpl;
 import com.femcoders.sitme.security.userdetails.CustomUserDetails;
+import com.femcoders.sitme.shared.responses.CursorPage;
 import com.femcoders.sitme.shared.responses.SuccessResponse;
+import com.femcoders.sitme.shared.versioning.Aggregate;
+import com.femcoders.sitme.shared.versioning.AggregateVersions;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,12 +23,15 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
-import java.util.List;
+import java.time.LocalDate;
 
 @RestController
 @RequiredArgsConstructor
@@ -29,10 +40,12 @@ import java.util.List;
 public class ReservationController {
 
     private final ReservationServiceImpl reservationService;
+    private final AggregateVersions aggregateVersions;
 
     @Operation(
             summary = "Get all reservations",
-            description = "Returns a list of all registered reservations.",
+            description = "Returns a page of reservations ordered by date and id. " +
+                    "Pass the returned nextCursor as cursor to fetch the following page.",
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @ApiResponses({
@@ -42,13 +55,22 @@ public class ReservationController {
                     content = @Content(schema = @Schema(implementation = SuccessResponse.class)
                     )
             ),
+            @ApiResponse(responseCode = "400", description = "Invalid pagination cursor"),
             @ApiResponse(responseCode = "401", description = "Unauthenticated - missing or invalid JWT"),
             @ApiResponse(responseCode = "403", description = "Access denied - insufficient permissions")
     })
     @GetMapping
-    public ResponseEntity<SuccessResponse<List<ReservationResponse>>> getAllReservations() {
+    public ResponseEntity<SuccessResponse<CursorPage<ReservationResponse>>> getAllReservations(
+            @Parameter(description = "Filter by status") @RequestParam(required = false) Status status,
+            @Parameter(description = "Filter by space id") @RequestParam(required = false) Long spaceId,
+            @Parameter(description = "First reservation date (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last reservation date (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Filter by time slot") @RequestParam(required = false) TimeSlot timeSlot,
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max " + ReservationServiceImpl.MAX_PAGE_SIZE + ")") @RequestParam(defaultValue = "" + ReservationServiceImpl.DEFAULT_PAGE_SIZE) int size) {
 
-        List<ReservationResponse> reservations = reservationService.getAllReservations();
+        CursorPage<ReservationResponse> reservations = reservationService.getAllReservations(
+                new ReservationFilter(status, spaceId, from, to, timeSlot), cursor, size);
 
         return ResponseEntity.status(HttpStatus.OK)
                 .body(SuccessResponse.of("Reservations list retrieved successfully", reservations));
@@ -79,7 +101,8 @@ public class ReservationController {
 
     @Operation(
             summary = "Get my reservations",
-            description = "Returns the list of reservations associated with the authenticated user",
+            description = "Returns a page of reservations associated with the authenticated user, ordered by date and id. " +
+                    "Archived reservations are only included when includeHistory is true.",
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @ApiResponses({
@@ -92,12 +115,39 @@ public class ReservationController {
             @ApiResponse(responseCode = "403", description = "Access denied - insufficient permissions")
     })
     @GetMapping("/me")
-    public ResponseEntity<SuccessResponse<List<ReservationResponse>>> getMyReservations(
-            @AuthenticationPrincipal CustomUserDetails userDetails) {
+    public ResponseEntity<SuccessResponse<CursorPage<ReservationResponse>>> getMyReservations(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @Parameter(description = "Filter by status") @RequestParam(required = false) Status status,
+            @Parameter(description = "Filter by space id") @RequestParam(required = false) Long spaceId,
+            @Parameter(description = "First reservation date (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last reservation date (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Filter by time slot") @RequestParam(required = false) TimeSlot timeSlot,
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max " + ReservationServiceImpl.MAX_PAGE_SIZE + ")") @RequestParam(defaultValue = "" + ReservationServiceImpl.DEFAULT_PAGE_SIZE) int size,
+            @Parameter(description = "Also return archived past reservations") @RequestParam(defaultValue = "false") boolean includeHistory,
+            ServletWebRequest webRequest) {
+
+        // responses embed space names and usernames, so those versions are part of the tag too; RESERVATIONS
+        // only moves with bulk jobs, single writes move the user's own version
+        String eTag = aggregateVersions.userETag(
+                userDetails.getId(),
+                userDetails.getId() + "?" + webRequest.getRequest().getQueryString(),
+                Aggregate.RESERVATIONS, Aggregate.SPACES, Aggregate.USERS);
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
 
-        List<ReservationResponse> reservations = reservationService.getMyReservations(userDetails);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        CursorPage<ReservationResponse> reservations = reservationService.getMyReservations(
+                userDetails, new ReservationFilter(status, spaceId, from, to, timeSlot), cursor, size, includeHistory);
 
         return ResponseEntity.status(HttpStatus.OK)
+                .eTag(eTag)
+                .cacheControl(cacheControl)
                 .body(SuccessResponse.of("Reservations list retrieved successfully", reservations));
     }
 
@@ -149,6 +199,51 @@ public class ReservationController {
                 .body(SuccessResponse.of("Reservation created successfully", reservationNew));
     }
 
+    @Operation(
+            summary = "Create several reservations",
+            description = "Books up to 50 slots for the authenticated user in one request and sends a single summary email. " +
+                    "Each item is reported as CREATED or CONFLICT; free items are booked even when others conflict.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "At least one reservation was created",
+                    content = @Content(schema = @Schema(implementation = SuccessResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Validation error - empty batch, past date or missing required fields"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthenticated - missing or invalid JWT"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "User or Space not found"
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Every requested time slot is unavailable"
+            )
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<SuccessResponse<BatchReservationResponse>> createReservations(
+            @Valid @RequestBody BatchReservationRequest batchRequest,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+
+        BatchReservationResponse batch = reservationService.createReservations(batchRequest, userDetails);
+
+        if (batch.created() == 0) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(SuccessResponse.of("None of the requested time slots are available", batch));
+        }
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(SuccessResponse.of("Reservations created successfully", batch));
+    }
+
     @Operation(
             summary = "Update my reservation",
             description = "Updates a reservation belonging to the authenticated user. " +
@@ -0,0 +1,113 @@
+package com.femcoders.sitme.reservation.controller;
+
+import com.femcoders.sitme.reservation.dtos.ReservationSeriesRequest;
+import com.femcoders.sitme.reservation.dtos.ReservationSeriesResponse;
+import com.femcoders.sitme.reservation.services.ReservationSeriesService;
+import com.femcoders.sitme.security.userdetails.CustomUserDetails;
+import com.femcoders.sitme.shared.responses.SuccessResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Reservation Series", description = "Endpoints for managing recurring reservations")
+@RequestMapping("/api/reservations/series")
+public class ReservationSeriesController {
+
+    private final ReservationSeriesService reservationSeriesService;
+
+    @Operation(
+            summary = "Create a reservation series",
+            description = "Books a space every week on the given day and time slot between startDate and endDate (at most 53 weeks). " +
+                    "Occurrences are stored as reservations progressively, a few weeks ahead.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Series created successfully",
+                    content = @Content(schema = @Schema(implementation = SuccessResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Validation error - invalid date range or missing required fields"),
+            @ApiResponse(responseCode = "401", description = "Unauthenticated - missing or invalid JWT"),
+            @ApiResponse(responseCode = "404", description = "User or Space not found"),
+            @ApiResponse(responseCode = "409", description = "An occurrence conflicts with an existing reservation")
+    })
+    @PostMapping
+    public ResponseEntity<SuccessResponse<ReservationSeriesResponse>> createSeries(
+            @Valid @RequestBody ReservationSeriesRequest request,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+
+        ReservationSeriesResponse series = reservationSeriesService.createSeries(request, userDetails);
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(SuccessResponse.of("Reservation series created successfully", series));
+    }
+
+    @Operation(
+            summary = "Cancel a reservation series",
+            description = "Cancels every upcoming occurrence of a series belonging to the authenticated user",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Series cancelled successfully",
+                    content = @Content(schema = @Schema(implementation = SuccessResponse.class))
+            ),
+            @ApiResponse(responseCode = "403", description = "Access denied - series doesn't belong to you"),
+            @ApiResponse(responseCode = "404", description = "Series not found"),
+            @ApiResponse(responseCode = "409", description = "Series already cancelled")
+    })
+    @PatchMapping("/{id}/cancel")
+    public ResponseEntity<SuccessResponse<ReservationSeriesResponse>> cancelSeries(
+            @Parameter(description = "Series ID", required = true) @PathVariable Long id,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+
+        ReservationSeriesResponse series = reservationSeriesService.cancelSeries(id, userDetails);
+
+        return ResponseEntity.ok(SuccessResponse.of("Reservation series cancelled successfully", series));
+    }
+
+    @Operation(
+            summary = "Cancel one occurrence of a series",
+            description = "Cancels the occurrence of a series on the given date, leaving the rest of the series untouched",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Occurrence cancelled successfully",
+                    content = @Content(schema = @Schema(implementation = SuccessResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "The date is not an upcoming occurrence of the series"),
+            @ApiResponse(responseCode = "403", description = "Access denied - series doesn't belong to you"),
+            @ApiResponse(responseCode = "404", description = "Series not found"),
+            @ApiResponse(responseCode = "409", description = "Occurrence or series already cancelled")
+    })
+    @PatchMapping("/{id}/occurrences/{date}/cancel")
+    public ResponseEntity<SuccessResponse<ReservationSeriesResponse>> cancelOccurrence(
+            @Parameter(description = "Series ID", required = true) @PathVariable Long id,
+            @Parameter(description = "Occurrence date", required = true) @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+
+        ReservationSeriesResponse series = reservationSeriesService.cancelOccurrence(id, date, userDetails);
+
+        return ResponseEntity.ok(SuccessResponse.of("Occurrence cancelled successfully", series));
+    }
+}
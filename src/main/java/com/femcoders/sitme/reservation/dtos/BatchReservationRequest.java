@@ -0,0 +1,15 @@
+package com.femcoders.sitme.reservation.dtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchReservationRequest(
+
+        @NotEmpty(message = "At least one reservation is required")
+        @Size(max = 50, message = "A batch cannot contain more than 50 reservations")
+        List<@Valid ReservationRequest> reservations
+) {
+}
@@ -0,0 +1,16 @@
+package com.femcoders.sitme.reservation.dtos;
+
+import java.util.List;
+
+public record BatchReservationResponse(
+        int created,
+        int conflicts,
+        List<BatchReservationResult> results
+) {
+    public static BatchReservationResponse of(List<BatchReservationResult> results) {
+        int created = (int) results.stream()
+                .filter(result -> result.outcome() == BatchReservationResult.Outcome.CREATED)
+                .count();
+        return new BatchReservationResponse(created, results.size() - created, results);
+    }
+}
@@ -0,0 +1,21 @@
+package com.femcoders.sitme.reservation.dtos;
+
+public record BatchReservationResult(
+        int index,
+        Outcome outcome,
+        ReservationResponse reservation,
+        String message
+) {
+    public enum Outcome {
+        CREATED,
+        CONFLICT
+    }
+
+    public static BatchReservationResult created(int index, ReservationResponse reservation) {
+        return new BatchReservationResult(index, Outcome.CREATED, reservation, null);
+    }
+
+    public static BatchReservationResult conflict(int index, String message) {
+        return new BatchReservationResult(index, Outcome.CONFLICT, null, message);
+    }
+}
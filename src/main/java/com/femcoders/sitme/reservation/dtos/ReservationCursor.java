@@ -0,0 +1,37 @@
+package com.femcoders.sitme.reservation.dtos;
+
+import com.femcoders.sitme.shared.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a page in (reservationDate, id) order, encoded as an opaque URL-safe token.
+ */
+public record ReservationCursor(
+        LocalDate reservationDate,
+        Long id
+) {
+    private static final String SEPARATOR = ":";
+
+    public String encode() {
+        String raw = reservationDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ReservationCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new ReservationCursor(
+                    LocalDate.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException exception) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.femcoders.sitme.reservation.dtos;
+
+import com.femcoders.sitme.reservation.Status;
+import com.femcoders.sitme.reservation.TimeSlot;
+
+import java.time.LocalDate;
+
+public record ReservationFilter(
+        Status status,
+        Long spaceId,
+        LocalDate from,
+        LocalDate to,
+        TimeSlot timeSlot
+) {
+    public static ReservationFilter none() {
+        return new ReservationFilter(null, null, null, null, null);
+    }
+}
@@ -0,0 +1,37 @@
+package com.femcoders.sitme.reservation.dtos;
+
+import com.femcoders.sitme.reservation.ReservationSeries;
+import com.femcoders.sitme.reservation.Status;
+import com.femcoders.sitme.space.Space;
+import com.femcoders.sitme.user.User;
+
+public class ReservationSeriesMapper {
+
+    public static ReservationSeries dtoToEntity(ReservationSeriesRequest request, User user, Space space) {
+        return ReservationSeries.builder()
+                .dayOfWeek(request.dayOfWeek())
+                .timeSlot(request.timeSlot())
+                .startDate(request.startDate())
+                .endDate(request.endDate())
+                .materializedUntil(request.startDate().minusDays(1))
+                .status(Status.ACTIVE)
+                .user(user)
+                .space(space)
+                .build();
+    }
+
+    public static ReservationSeriesResponse entityToDto(ReservationSeries series) {
+        return new ReservationSeriesResponse(
+                series.getId(),
+                series.getDayOfWeek(),
+                series.getTimeSlot(),
+                series.getStartDate(),
+                series.getEndDate(),
+                series.getMaterializedUntil(),
+                series.getStatus(),
+                series.getUser().getId(),
+                series.getSpace().getId(),
+                series.getSpace().getName()
+        );
+    }
+}
@@ -0,0 +1,28 @@
+package com.femcoders.sitme.reservation.dtos;
+
+import com.femcoders.sitme.reservation.TimeSlot;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+public record ReservationSeriesRequest(
+
+        @NotNull(message = "Space id is required")
+        Long spaceId,
+
+        @NotNull(message = "Day of week is required")
+        DayOfWeek dayOfWeek,
+
+        @NotNull(message = "Time slot is required")
+        TimeSlot timeSlot,
+
+        @NotNull(message = "Start date is required")
+        @FutureOrPresent(message = "Start date cannot be in the past")
+        LocalDate startDate,
+
+        @NotNull(message = "End date is required")
+        LocalDate endDate
+) {
+}
@@ -0,0 +1,22 @@
+package com.femcoders.sitme.reservation.dtos;
+
+import com.femcoders.sitme.reservation.Status;
+import com.femcoders.sitme.reservation.TimeSlot;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+public record ReservationSeriesResponse(
+        Long id,
+        DayOfWeek dayOfWeek,
+        TimeSlot timeSlot,
+        LocalDate startDate,
+        LocalDate endDate,
+        LocalDate materializedUntil,
+        Status status,
+
+        Long userId,
+        Long spaceId,
+        String spaceName
+) {
+}
@@ -0,0 +1,12 @@
+package com.femcoders.sitme.reservation.dtos;
+
+import com.femcoders.sitme.reservation.TimeSlot;
+
+import java.time.LocalDate;
+
+public record ReservationSlot(
+        Long spaceId,
+        LocalDate reservationDate,
+        TimeSlot timeSlot
+) {
+}
@@ -0,0 +1,26 @@
+package com.femcoders.sitme.reservation.repository;
+
+import com.femcoders.sitme.reservation.AvailabilityChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AvailabilityChangeRepository extends JpaRepository<AvailabilityChange, Long>, AvailabilityChangeRepositoryCustom {
+
+    @Query("SELECT c FROM AvailabilityChange c WHERE c.id > :after ORDER BY c.id")
+    List<AvailabilityChange> findAfter(@Param("after") long after, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM AvailabilityChange c")
+    long findLastId();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM AvailabilityChange c WHERE c.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
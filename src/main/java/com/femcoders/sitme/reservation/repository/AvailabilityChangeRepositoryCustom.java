@@ -0,0 +1,12 @@
+package com.femcoders.sitme.reservation.repository;
+
+import com.femcoders.sitme.reservation.AvailabilityChange;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface AvailabilityChangeRepositoryCustom {
+
+    @Transactional
+    void insertAll(List<AvailabilityChange> changes);
+}
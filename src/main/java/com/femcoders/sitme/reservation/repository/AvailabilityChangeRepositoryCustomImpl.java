@@ -0,0 +1,49 @@
+package com.femcoders.sitme.reservation.repository;
+
+import com.femcoders.sitme.reservation.AvailabilityChange;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class AvailabilityChangeRepositoryCustomImpl implements AvailabilityChangeRepositoryCustom {
+
+    private static final int ROWS_PER_STATEMENT = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Writes the changes with one multi-row insert per {@value #ROWS_PER_STATEMENT} rows. The ids stay database
+     * generated, since the feed relies on them following allocation order, which rules out JDBC batching.
+     */
+    @Override
+    public void insertAll(List<AvailabilityChange> changes) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < changes.size(); from += ROWS_PER_STATEMENT) {
+            List<AvailabilityChange> rows = changes.subList(from, Math.min(from + ROWS_PER_STATEMENT, changes.size()));
+
+            StringBuilder sql = new StringBuilder(
+                    "INSERT INTO availability_changes (space_id, reservation_date, time_slot, state, created_at) VALUES ");
+            for (int i = 0; i < rows.size(); i++) {
+                sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, ?)");
+            }
+
+            // declaring the table keeps Hibernate from invalidating every second-level cache region
+            NativeQuery<?> insert = entityManager.createNativeQuery(sql.toString())
+                    .unwrap(NativeQuery.class)
+                    .addSynchronizedEntityClass(AvailabilityChange.class);
+            int position = 1;
+            for (AvailabilityChange change : rows) {
+                insert.setParameter(position++, change.getSpaceId());
+                insert.setParameter(position++, change.getReservationDate());
+                insert.setParameter(position++, change.getTimeSlot().name());
+                insert.setParameter(position++, change.getState().name());
+                insert.setParameter(position++, now);
+            }
+            insert.executeUpdate();
+        }
+    }
+}
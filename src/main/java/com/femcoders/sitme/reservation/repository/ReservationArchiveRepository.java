@@ -0,0 +1,24 @@
+package com.femcoders.sitme.reservation.repository;
+
+import com.femcoders.sitme.reservation.ReservationArchive;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+
+public interface ReservationArchiveRepository extends JpaRepository<ReservationArchive, Long> {
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reservations_archive"))
+    @Query(value = "INSERT INTO reservations_archive " +
+            "(id, reservation_date, time_slot, status, email_sent, created_at, archived_at, user_id, space_id) " +
+            "SELECT r.id, r.reservation_date, r.time_slot, r.status, r.email_sent, r.created_at, CURRENT_TIMESTAMP, r.user_id, r.space_id " +
+            "FROM reservations r WHERE r.id IN (:ids) " +
+            "AND NOT EXISTS (SELECT 1 FROM reservations_archive a WHERE a.id = r.id)", nativeQuery = true)
+    int copyFromReservations(@Param("ids") Collection<Long> ids);
+}
@@ -2,12 +2,21 @@ package com.femcoders.sitme.reservation.repository;
 
 import com.femcoders.sitme.reservation.Reservation;
 import com.femcoders.sitme.reservation.Status;
+import com.femcoders.sitme.reservation.dtos.ReservationSlot;
+import com.femcoders.sitme.space.SpaceType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+public interface ReservationRepository extends JpaRepository<Reservation, Long>, ReservationRepositoryCustom {
 
     List<Reservation> findByUserId(Long userId);
     List<Reservation> findByReservationDateAndSpaceIdAndStatus(
@@ -15,4 +24,63 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
             Long spaceId,
             Status status
     );
+
+    Optional<Reservation> findBySeriesIdAndReservationDate(Long seriesId, LocalDate reservationDate);
+
+    @Query("SELECT new com.femcoders.sitme.reservation.dtos.ReservationSlot(r.space.id, r.reservationDate, r.timeSlot) " +
+            "FROM Reservation r WHERE r.status = :status AND r.reservationDate >= :fromDate")
+    List<ReservationSlot> findSlotsByStatusFrom(@Param("status") Status status, @Param("fromDate") LocalDate fromDate);
+
+    @Query("SELECT new com.femcoders.sitme.reservation.dtos.ReservationSlot(r.space.id, r.reservationDate, r.timeSlot) " +
+            "FROM Reservation r WHERE r.status = :status AND r.reservationDate BETWEEN :fromDate AND :toDate " +
+            "AND (:type IS NULL OR r.space.type = :type) " +
+            "GROUP BY r.space.id, r.reservationDate, r.timeSlot")
+    List<ReservationSlot> findOccupiedSlots(@Param("status") Status status,
+                                            @Param("fromDate") LocalDate fromDate,
+                                            @Param("toDate") LocalDate toDate,
+                                            @Param("type") SpaceType type);
+
+    @Query("SELECT new com.femcoders.sitme.reservation.dtos.ReservationSlot(r.space.id, r.reservationDate, r.timeSlot) " +
+            "FROM Reservation r WHERE r.status = :status AND r.space.id IN :spaceIds " +
+            "AND r.reservationDate BETWEEN :fromDate AND :toDate")
+    List<ReservationSlot> findSlotsBySpacesBetween(@Param("status") Status status,
+                                                   @Param("spaceIds") Collection<Long> spaceIds,
+                                                   @Param("fromDate") LocalDate fromDate,
+                                                   @Param("toDate") LocalDate toDate);
+
+    @Query("SELECT DISTINCT r.user.id FROM Reservation r WHERE r.id IN :ids AND r.emailSent = false")
+    List<Long> findUserIdsWithEmailNotSent(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Reservation r SET r.emailSent = true WHERE r.id IN :ids AND r.emailSent = false")
+    int markEmailSent(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT r.id FROM Reservation r WHERE r.status = :status AND r.reservationDate < :before ORDER BY r.id")
+    List<Long> findIdsByStatusBefore(@Param("status") Status status, @Param("before") LocalDate before, Pageable pageable);
+
+    @Query("SELECT r.id FROM Reservation r WHERE r.status IN :statuses AND r.reservationDate < :before ORDER BY r.id")
+    List<Long> findIdsByStatusInBefore(@Param("statuses") Collection<Status> statuses, @Param("before") LocalDate before, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Reservation r WHERE r.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT r.reservationDate FROM Reservation r " +
+            "WHERE r.series.id = :seriesId AND r.reservationDate >= :fromDate AND r.status = :status")
+    List<LocalDate> findDatesBySeriesFrom(@Param("seriesId") Long seriesId,
+                                          @Param("fromDate") LocalDate fromDate,
+                                          @Param("status") Status status);
+
+    @Modifying
+    @Query("UPDATE Reservation r SET r.status = :target " +
+            "WHERE r.series.id = :seriesId AND r.reservationDate >= :fromDate AND r.status = :current")
+    int transitionSeriesFrom(@Param("seriesId") Long seriesId,
+                             @Param("fromDate") LocalDate fromDate,
+                             @Param("current") Status current,
+                             @Param("target") Status target);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Reservation r SET r.status = :target WHERE r.id IN :ids AND r.status = :current")
+    int transitionStatus(@Param("ids") Collection<Long> ids, @Param("current") Status current, @Param("target") Status target);
 }
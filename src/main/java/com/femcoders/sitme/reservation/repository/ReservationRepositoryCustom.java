@@ -0,0 +1,14 @@
+package com.femcoders.sitme.reservation.repository;
+
+import com.femcoders.sitme.reservation.dtos.ReservationCursor;
+import com.femcoders.sitme.reservation.dtos.ReservationFilter;
+import com.femcoders.sitme.reservation.dtos.ReservationResponse;
+
+import java.util.List;
+
+public interface ReservationRepositoryCustom {
+
+    List<ReservationResponse> findPage(Long userId, ReservationFilter filter, ReservationCursor after, int limit);
+
+    List<ReservationResponse> findArchivedPage(Long userId, ReservationFilter filter, ReservationCursor after, int limit);
+}
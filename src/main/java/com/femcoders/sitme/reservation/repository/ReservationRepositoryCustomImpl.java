@@ -0,0 +1,93 @@
+package com.femcoders.sitme.reservation.repository;
+
+import com.femcoders.sitme.reservation.Reservation;
+import com.femcoders.sitme.reservation.ReservationArchive;
+import com.femcoders.sitme.reservation.dtos.ReservationCursor;
+import com.femcoders.sitme.reservation.dtos.ReservationFilter;
+import com.femcoders.sitme.reservation.dtos.ReservationResponse;
+import com.femcoders.sitme.space.Space;
+import com.femcoders.sitme.user.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ReservationRepositoryCustomImpl implements ReservationRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ReservationResponse> findPage(Long userId, ReservationFilter filter, ReservationCursor after, int limit) {
+
+        return findPage(Reservation.class, userId, filter, after, limit);
+    }
+
+    @Override
+    public List<ReservationResponse> findArchivedPage(Long userId, ReservationFilter filter, ReservationCursor after, int limit) {
+
+        return findPage(ReservationArchive.class, userId, filter, after, limit);
+    }
+
+    private <T> List<ReservationResponse> findPage(Class<T> table, Long userId, ReservationFilter filter, ReservationCursor after, int limit) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ReservationResponse> query = cb.createQuery(ReservationResponse.class);
+        Root<T> reservation = query.from(table);
+        Join<T, User> user = reservation.join("user");
+        Join<T, Space> space = reservation.join("space");
+
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (userId != null) {
+            predicates.add(cb.equal(user.get("id"), userId));
+        }
+        if (filter.status() != null) {
+            predicates.add(cb.equal(reservation.get("status"), filter.status()));
+        }
+        if (filter.spaceId() != null) {
+            predicates.add(cb.equal(space.get("id"), filter.spaceId()));
+        }
+        if (filter.timeSlot() != null) {
+            predicates.add(cb.equal(reservation.get("timeSlot"), filter.timeSlot()));
+        }
+        if (filter.from() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(reservation.<LocalDate>get("reservationDate"), filter.from()));
+        }
+        if (filter.to() != null) {
+            predicates.add(cb.lessThanOrEqualTo(reservation.<LocalDate>get("reservationDate"), filter.to()));
+        }
+        if (after != null) {
+            predicates.add(cb.or(
+                    cb.greaterThan(reservation.<LocalDate>get("reservationDate"), after.reservationDate()),
+                    cb.and(
+                            cb.equal(reservation.get("reservationDate"), after.reservationDate()),
+                            cb.greaterThan(reservation.<Long>get("id"), after.id()))));
+        }
+
+        query.select(cb.construct(ReservationResponse.class,
+                        reservation.get("id"),
+                        reservation.get("reservationDate"),
+                        reservation.get("timeSlot"),
+                        reservation.get("status"),
+                        reservation.get("emailSent"),
+                        reservation.get("createdAt"),
+                        user.get("id"),
+                        user.get("username"),
+                        space.get("id"),
+                        space.get("name")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(reservation.get("reservationDate")), cb.asc(reservation.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,26 @@
+package com.femcoders.sitme.reservation.repository;
+
+import com.femcoders.sitme.reservation.ReservationSeries;
+import com.femcoders.sitme.reservation.Status;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface ReservationSeriesRepository extends JpaRepository<ReservationSeries, Long> {
+
+    @Query("SELECT DISTINCT s FROM ReservationSeries s LEFT JOIN FETCH s.skippedDates " +
+            "WHERE s.status = :status AND s.space.id IN :spaceIds " +
+            "AND s.startDate <= :toDate AND s.endDate >= :fromDate AND s.materializedUntil < :toDate")
+    List<ReservationSeries> findUnmaterializedInWindow(@Param("status") Status status,
+                                                       @Param("spaceIds") Collection<Long> spaceIds,
+                                                       @Param("fromDate") LocalDate fromDate,
+                                                       @Param("toDate") LocalDate toDate);
+
+    @Query("SELECT s.id FROM ReservationSeries s WHERE s.status = :status " +
+            "AND s.materializedUntil < s.endDate AND s.materializedUntil < :until ORDER BY s.id")
+    List<Long> findIdsToMaterialize(@Param("status") Status status, @Param("until") LocalDate until);
+}
@@ -0,0 +1,21 @@
+package com.femcoders.sitme.reservation.repository;
+
+import com.femcoders.sitme.reservation.ReservationSlotClaim;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+
+public interface ReservationSlotClaimRepository extends JpaRepository<ReservationSlotClaim, Long> {
+
+    @Modifying
+    @Query("DELETE FROM ReservationSlotClaim c WHERE c.reservation.id = :reservationId")
+    int deleteByReservationId(@Param("reservationId") Long reservationId);
+
+    @Modifying
+    @Query("DELETE FROM ReservationSlotClaim c WHERE c.reservation.id IN " +
+            "(SELECT r.id FROM Reservation r WHERE r.series.id = :seriesId AND r.reservationDate >= :fromDate)")
+    int deleteBySeriesFrom(@Param("seriesId") Long seriesId, @Param("fromDate") LocalDate fromDate);
+}
@@ -0,0 +1,27 @@
+package com.femcoders.sitme.reservation.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Follows the shared availability change table on every instance and prunes rows no poller still needs.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.availability.feed.enabled", havingValue = "true", matchIfMissing = true)
+public class AvailabilityFeedJob {
+
+    private final OccupancyIndex occupancyIndex;
+
+    @Scheduled(fixedDelayString = "${app.availability.feed.poll-interval:PT1S}")
+    public void pollChanges() {
+        occupancyIndex.pollChanges();
+    }
+
+    @Scheduled(fixedDelayString = "${app.availability.feed.prune-interval:PT10M}")
+    public void pruneChanges() {
+        occupancyIndex.pruneChanges();
+    }
+}
@@ -0,0 +1,209 @@
+package com.femcoders.sitme.reservation.services;
+
+import com.femcoders.sitme.reservation.AvailabilityChange;
+import com.femcoders.sitme.reservation.Status;
+import com.femcoders.sitme.reservation.TimeSlot;
+import com.femcoders.sitme.reservation.dtos.ReservationSlot;
+import com.femcoders.sitme.reservation.repository.AvailabilityChangeRepository;
+import com.femcoders.sitme.reservation.repository.ReservationRepository;
+import com.femcoders.sitme.space.dto.AvailabilityDelta;
+import com.femcoders.sitme.space.services.AvailabilityStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Occupied half-days of ACTIVE reservations keyed by (spaceId, date).
+ * Each entry is a {@link TimeSlot#mask()} union, so a conflict check is a single lookup and a bitwise AND.
+ * <p>
+ * Every change is also written to {@code availability_changes} in the caller's transaction, all of a transaction's
+ * changes in one statement just before it commits. This instance applies
+ * its own changes once they commit; changes made by any instance, its own included, are read back from that table
+ * by {@link #pollChanges()}, applied, and published to the {@link AvailabilityStream} under their row id; the
+ * {@link AvailabilityFeedJob} drives the polling.
+ */
+@Component
+@RequiredArgsConstructor
+public class OccupancyIndex {
+
+    private final ReservationRepository reservationRepository;
+    private final AvailabilityChangeRepository availabilityChangeRepository;
+    private final AvailabilityStream availabilityStream;
+
+    private final ConcurrentHashMap<Long, Integer> occupied = new ConcurrentHashMap<>();
+
+    // guards the feed position; a lock rather than synchronized, since it is held across queries on virtual threads
+    private final ReentrantLock feedLock = new ReentrantLock();
+
+    // every change up to the watermark has been applied; ids above it were applied past a gap that may still fill
+    private long watermark = -1;
+    private final Set<Long> appliedAbove = new HashSet<>();
+    private long gapSince;
+
+    @Value("${app.availability.feed.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.availability.feed.gap-timeout:PT10S}")
+    private Duration gapTimeout;
+
+    @Value("${app.availability.feed.retention:PT1H}")
+    private Duration retention;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        feedLock.lock();
+        try {
+            watermark = availabilityChangeRepository.findLastId();
+            appliedAbove.clear();
+            occupied.clear();
+            for (ReservationSlot slot : reservationRepository.findSlotsByStatusFrom(Status.ACTIVE, LocalDate.now())) {
+                apply(slot.spaceId(), slot.reservationDate(), slot.timeSlot().mask(), true);
+            }
+        } finally {
+            feedLock.unlock();
+        }
+    }
+
+    public boolean isAvailable(Long spaceId, LocalDate date, TimeSlot timeSlot) {
+        return (occupiedMask(spaceId, date) & timeSlot.mask()) == 0;
+    }
+
+    public int occupiedMask(Long spaceId, LocalDate date) {
+        Integer mask = occupied.get(key(spaceId, date));
+        return mask == null ? 0 : mask;
+    }
+
+    public void occupy(Long spaceId, LocalDate date, TimeSlot timeSlot) {
+        record(spaceId, date, timeSlot, AvailabilityDelta.State.BOOKED);
+        afterCommit(() -> apply(spaceId, date, timeSlot.mask(), true));
+    }
+
+    public void release(Long spaceId, LocalDate date, TimeSlot timeSlot) {
+        record(spaceId, date, timeSlot, AvailabilityDelta.State.FREED);
+        afterCommit(() -> apply(spaceId, date, timeSlot.mask(), false));
+    }
+
+    /**
+     * Applies and publishes the changes committed since the last poll. Ids are allocated before commit, so a
+     * lower id can become visible after a higher one; ids past such a gap are remembered until it fills, or
+     * until {@code gap-timeout} passes and the missing id is taken to belong to a rolled-back transaction.
+     */
+    public void pollChanges() {
+        feedLock.lock();
+        try {
+            if (watermark < 0) {
+                return;
+            }
+            for (AvailabilityChange change : availabilityChangeRepository.findAfter(watermark, PageRequest.of(0, batchSize))) {
+                if (appliedAbove.add(change.getId())) {
+                    apply(change.getSpaceId(), change.getReservationDate(), change.getTimeSlot().mask(),
+                            change.getState() == AvailabilityDelta.State.BOOKED);
+                    availabilityStream.publish(change.getId(), change.toDelta());
+                }
+            }
+            advanceWatermark();
+        } finally {
+            feedLock.unlock();
+        }
+    }
+
+    public void pruneChanges() {
+        availabilityChangeRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+    }
+
+    private void advanceWatermark() {
+        while (appliedAbove.remove(watermark + 1)) {
+            watermark++;
+        }
+        if (appliedAbove.isEmpty()) {
+            gapSince = 0;
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (gapSince == 0) {
+            gapSince = now;
+        } else if (now - gapSince >= gapTimeout.toMillis()) {
+            watermark = Collections.min(appliedAbove) - 1;
+            gapSince = 0;
+            advanceWatermark();
+        }
+    }
+
+    private void record(Long spaceId, LocalDate date, TimeSlot timeSlot, AvailabilityDelta.State state) {
+        AvailabilityChange change = AvailabilityChange.builder()
+                .spaceId(spaceId)
+                .reservationDate(date)
+                .timeSlot(timeSlot)
+                .state(state)
+                .build();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            availabilityChangeRepository.insertAll(List.of(change));
+            return;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingChanges pending) {
+                pending.changes.add(change);
+                return;
+            }
+        }
+        PendingChanges pending = new PendingChanges();
+        pending.changes.add(change);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+    }
+
+    private void apply(Long spaceId, LocalDate date, int mask, boolean set) {
+        long key = key(spaceId, date);
+        if (set) {
+            occupied.merge(key, mask, (current, added) -> current | added);
+        } else {
+            occupied.computeIfPresent(key, (k, current) -> {
+                int remaining = current & ~mask;
+                return remaining == 0 ? null : remaining;
+            });
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static long key(Long spaceId, LocalDate date) {
+        return (spaceId << 32) | (date.toEpochDay() & 0xFFFFFFFFL);
+    }
+
+    // one insert per transaction, however many slots it changes
+    private class PendingChanges implements TransactionSynchronization {
+
+        private final List<AvailabilityChange> changes = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            availabilityChangeRepository.insertAll(changes);
+        }
+    }
+}
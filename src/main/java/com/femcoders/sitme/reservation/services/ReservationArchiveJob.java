@@ -0,0 +1,77 @@
+package com.femcoders.sitme.reservation.services;
+
+import com.femcoders.sitme.shared.lease.JobLeaseService;
+import com.femcoders.sitme.shared.versioning.Aggregate;
+import com.femcoders.sitme.shared.versioning.AggregateVersions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+
+/**
+ * Moves COMPLETED and CANCELLED reservations older than the configured horizon to {@code reservations_archive}.
+ * Every chunk commits on its own, so locks on the hot table last one chunk and a crashed run resumes where it stopped.
+ * The job lease is renewed between chunks; if another replica has taken it over, this run stops.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.reservations.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class ReservationArchiveJob {
+
+    static final String LEASE_NAME = "reservation-archive";
+
+    private final ReservationArchiveService reservationArchiveService;
+    private final JobLeaseService jobLeaseService;
+    private final AggregateVersions aggregateVersions;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.reservations.archive.horizon:P90D}")
+    private Period horizon;
+
+    @Value("${app.reservations.archive.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.reservations.archive.lease:PT30M}")
+    private Duration lease;
+
+    @Scheduled(cron = "${app.reservations.archive.cron:0 30 3 * * *}")
+    public void archiveFinishedReservations() {
+
+        if (!jobLeaseService.tryAcquire(LEASE_NAME, lease)) {
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        LocalDate before = LocalDate.now().minus(horizon);
+        long archived = 0;
+
+        try {
+            int moved;
+            do {
+                moved = reservationArchiveService.archiveChunk(before, chunkSize);
+                archived += moved;
+            } while (moved == chunkSize && jobLeaseService.renew(LEASE_NAME, lease));
+
+        } finally {
+            jobLeaseService.release(LEASE_NAME);
+
+            sample.stop(meterRegistry.timer("sitme.reservations.archive.duration"));
+            Counter.builder("sitme.reservations.archive.rows")
+                    .description("Reservations moved to the archive table")
+                    .register(meterRegistry)
+                    .increment(archived);
+
+            if (archived > 0) {
+                aggregateVersions.bump(Aggregate.RESERVATIONS);
+            }
+        }
+    }
+}
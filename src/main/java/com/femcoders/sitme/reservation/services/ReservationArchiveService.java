@@ -0,0 +1,42 @@
+package com.femcoders.sitme.reservation.services;
+
+import com.femcoders.sitme.reservation.Status;
+import com.femcoders.sitme.reservation.repository.ReservationArchiveRepository;
+import com.femcoders.sitme.reservation.repository.ReservationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class ReservationArchiveService {
+
+    static final Set<Status> ARCHIVABLE = EnumSet.of(Status.COMPLETED, Status.CANCELLED);
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationArchiveRepository reservationArchiveRepository;
+
+    /**
+     * Moves up to {@code limit} finished reservations dated before {@code before} in one short transaction.
+     * The copy skips ids already archived, so a chunk interrupted by a crash is simply redone on the next run.
+     */
+    @Transactional
+    public int archiveChunk(LocalDate before, int limit) {
+
+        List<Long> ids = reservationRepository.findIdsByStatusInBefore(ARCHIVABLE, before, PageRequest.of(0, limit));
+
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        reservationArchiveRepository.copyFromReservations(ids);
+
+        return reservationRepository.deleteByIds(ids);
+    }
+}
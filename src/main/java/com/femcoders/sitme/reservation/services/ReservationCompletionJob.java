@@ -0,0 +1,81 @@
+package com.femcoders.sitme.reservation.services;
+
+import com.femcoders.sitme.reservation.Status;
+import com.femcoders.sitme.reservation.repository.ReservationRepository;
+import com.femcoders.sitme.shared.lease.JobLeaseService;
+import com.femcoders.sitme.shared.versioning.Aggregate;
+import com.femcoders.sitme.shared.versioning.AggregateVersions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Marks ACTIVE reservations dated before today as COMPLETED.
+ * Each chunk is a single id-bounded UPDATE in its own transaction, and only rows still ACTIVE
+ * are touched, so an interrupted or repeated run is harmless. A job lease keeps it to one replica; it is renewed
+ * after every chunk, and the run stops if another replica has taken it over.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.reservations.completion.enabled", havingValue = "true", matchIfMissing = true)
+public class ReservationCompletionJob {
+
+    static final String LEASE_NAME = "reservation-completion";
+
+    private final ReservationRepository reservationRepository;
+    private final JobLeaseService jobLeaseService;
+    private final AggregateVersions aggregateVersions;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.reservations.completion.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.reservations.completion.lease:PT10M}")
+    private Duration lease;
+
+    @Scheduled(cron = "${app.reservations.completion.cron:0 5 * * * *}")
+    public void completePastReservations() {
+
+        if (!jobLeaseService.tryAcquire(LEASE_NAME, lease)) {
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        LocalDate today = LocalDate.now();
+        long completed = 0;
+
+        try {
+            List<Long> ids;
+            do {
+                ids = reservationRepository.findIdsByStatusBefore(Status.ACTIVE, today, PageRequest.of(0, chunkSize));
+
+                if (!ids.isEmpty()) {
+                    completed += reservationRepository.transitionStatus(ids, Status.ACTIVE, Status.COMPLETED);
+                }
+            } while (ids.size() == chunkSize && jobLeaseService.renew(LEASE_NAME, lease));
+
+        } finally {
+            jobLeaseService.release(LEASE_NAME);
+
+            sample.stop(meterRegistry.timer("sitme.reservations.completion.duration"));
+            Counter.builder("sitme.reservations.completion.rows")
+                    .description("Reservations moved from ACTIVE to COMPLETED")
+                    .register(meterRegistry)
+                    .increment(completed);
+
+            if (completed > 0) {
+                aggregateVersions.bump(Aggregate.RESERVATIONS);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.femcoders.sitme.reservation.services;
+
+import com.femcoders.sitme.reservation.TimeSlot;
+import com.femcoders.sitme.space.Space;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reservation meters, tagged by space type and time slot.
+ * Percentiles are configured under {@code management.metrics.distribution.*.sitme}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReservationMetrics {
+
+    public static final String REQUESTS = "sitme.reservations.requests";
+    public static final String AVAILABILITY_CHECKS = "sitme.reservations.availability.checks";
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_CONFLICT = "conflict";
+    public static final String OUTCOME_ERROR = "error";
+
+    private static final String UNKNOWN = "unknown";
+
+    private final MeterRegistry meterRegistry;
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void record(Timer.Sample sample, String operation, Space space, TimeSlot timeSlot, String outcome) {
+        sample.stop(Timer.builder(REQUESTS)
+                .description("Reservation write requests")
+                .tag("operation", operation)
+                .tag("space.type", space == null || space.getType() == null ? UNKNOWN : space.getType().name())
+                .tag("time.slot", timeSlot == null ? UNKNOWN : timeSlot.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    public void availabilityChecked(TimeSlot timeSlot, boolean available) {
+        Counter.builder(AVAILABILITY_CHECKS)
+                .description("Availability checks by result")
+                .tag("time.slot", timeSlot == null ? UNKNOWN : timeSlot.name())
+                .tag("outcome", available ? "available" : "unavailable")
+                .register(meterRegistry)
+                .increment();
+    }
+}
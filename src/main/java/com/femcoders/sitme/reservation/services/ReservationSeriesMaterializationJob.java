@@ -0,0 +1,68 @@
+package com.femcoders.sitme.reservation.services;
+
+import com.femcoders.sitme.reservation.Status;
+import com.femcoders.sitme.reservation.repository.ReservationSeriesRepository;
+import com.femcoders.sitme.shared.lease.JobLeaseService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Rolls the materialization horizon of every active series forward, one series per transaction.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.reservations.series.enabled", havingValue = "true", matchIfMissing = true)
+public class ReservationSeriesMaterializationJob {
+
+    static final String LEASE_NAME = "reservation-series-materialization";
+
+    private final ReservationSeriesRepository seriesRepository;
+    private final ReservationSeriesService reservationSeriesService;
+    private final JobLeaseService jobLeaseService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.reservations.series.lease:PT10M}")
+    private Duration lease;
+
+    @Scheduled(cron = "${app.reservations.series.cron:0 15 2 * * *}")
+    public void materializeSeries() {
+
+        if (!jobLeaseService.tryAcquire(LEASE_NAME, lease)) {
+            return;
+        }
+
+        LocalDate until = reservationSeriesService.horizonEnd();
+        long created = 0;
+        long failed = 0;
+
+        try {
+            for (Long seriesId : seriesRepository.findIdsToMaterialize(Status.ACTIVE, until)) {
+                try {
+                    created += reservationSeriesService.materialize(seriesId, until);
+                } catch (IllegalStateException exception) {
+                    // a booking claimed one of the slots concurrently; the series is retried on the next run
+                    failed++;
+                }
+            }
+        } finally {
+            jobLeaseService.release(LEASE_NAME);
+
+            Counter.builder("sitme.reservations.series.materialized")
+                    .description("Reservations created from recurring series")
+                    .register(meterRegistry)
+                    .increment(created);
+            Counter.builder("sitme.reservations.series.materialization.failures")
+                    .description("Series whose materialization was rolled back and left for the next run")
+                    .register(meterRegistry)
+                    .increment(failed);
+        }
+    }
+}
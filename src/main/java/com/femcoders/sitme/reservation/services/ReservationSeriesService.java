@@ -0,0 +1,289 @@
+package com.femcoders.sitme.reservation.services;
+
+import com.femcoders.sitme.email.EmailOutboxService;
+import com.femcoders.sitme.reservation.Reservation;
+import com.femcoders.sitme.reservation.ReservationSeries;
+import com.femcoders.sitme.reservation.Status;
+import com.femcoders.sitme.reservation.TimeSlot;
+import com.femcoders.sitme.reservation.dtos.ReservationSeriesMapper;
+import com.femcoders.sitme.reservation.dtos.ReservationSeriesRequest;
+import com.femcoders.sitme.reservation.dtos.ReservationSeriesResponse;
+import com.femcoders.sitme.reservation.dtos.ReservationSlot;
+import com.femcoders.sitme.reservation.repository.ReservationRepository;
+import com.femcoders.sitme.reservation.repository.ReservationSeriesRepository;
+import com.femcoders.sitme.reservation.repository.ReservationSlotClaimRepository;
+import com.femcoders.sitme.security.userdetails.CustomUserDetails;
+import com.femcoders.sitme.shared.exceptions.EntityNotFoundException;
+import com.femcoders.sitme.shared.versioning.AggregateVersions;
+import com.femcoders.sitme.space.Space;
+import com.femcoders.sitme.space.exceptions.InvalidDateRangeException;
+import com.femcoders.sitme.space.repository.SpaceRepository;
+import com.femcoders.sitme.user.User;
+import com.femcoders.sitme.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Weekly reservation series. Only occurrences inside the rolling horizon are stored as reservations;
+ * any later occurrence is expanded from the rule, and only for the date window a caller asks about.
+ * Later occurrences hold no slot claims, so creating and materializing a series lock the space row first;
+ * a single booking can still take one of those dates, and materialization then skips it and tells the owner.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReservationSeriesService {
+
+    public static final int MAX_WEEKS = 53;
+
+    private final ReservationSeriesRepository seriesRepository;
+    private final ReservationRepository reservationRepository;
+    private final ReservationSlotClaimRepository slotClaimRepository;
+    private final UserRepository userRepository;
+    private final SpaceRepository spaceRepository;
+    private final SlotClaimService slotClaimService;
+    private final OccupancyIndex occupancyIndex;
+    private final AggregateVersions aggregateVersions;
+    private final EmailOutboxService emailOutboxService;
+
+    @Value("${app.reservations.series.horizon:P28D}")
+    private Period horizon;
+
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    @Transactional
+    public ReservationSeriesResponse createSeries(ReservationSeriesRequest request, CustomUserDetails userDetails) {
+
+        if (request.endDate().isBefore(request.startDate())) {
+            throw new InvalidDateRangeException("'endDate' must not be before 'startDate'");
+        }
+        if (request.endDate().isAfter(request.startDate().plusWeeks(MAX_WEEKS))) {
+            throw new InvalidDateRangeException("A series can span at most " + MAX_WEEKS + " weeks");
+        }
+
+        User user = userRepository.findById(userDetails.getId())
+                .orElseThrow(() -> new EntityNotFoundException(User.class.getSimpleName(), userDetails.getId()));
+
+        Space space = spaceRepository.findByIdForUpdate(request.spaceId())
+                .orElseThrow(() -> new EntityNotFoundException(Space.class.getSimpleName(), request.spaceId()));
+
+        ReservationSeries series = ReservationSeriesMapper.dtoToEntity(request, user, space);
+
+        LocalDate first = series.firstOccurrenceFrom(series.getStartDate());
+        if (first.isAfter(series.getEndDate())) {
+            throw new InvalidDateRangeException("The series has no occurrence between 'startDate' and 'endDate'");
+        }
+
+        Map<LocalDate, Integer> occupied = occupiedMasks(space.getId(), first, series.getEndDate());
+        for (LocalDate date = first; !date.isAfter(series.getEndDate()); date = date.plusWeeks(1)) {
+            if ((occupied.getOrDefault(date, 0) & series.getTimeSlot().mask()) != 0) {
+                throw new IllegalStateException("The series conflicts with an existing reservation on " + date);
+            }
+        }
+
+        ReservationSeries savedSeries = seriesRepository.save(series);
+        materialize(savedSeries, LocalDate.now().plus(horizon));
+        aggregateVersions.bumpReservations(savedSeries.getUser().getId());
+
+        return ReservationSeriesMapper.entityToDto(savedSeries);
+    }
+
+    /**
+     * Cancels every upcoming occurrence with two bulk statements, however many were materialized.
+     */
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    @Transactional
+    public ReservationSeriesResponse cancelSeries(Long id, CustomUserDetails userDetails) {
+
+        ReservationSeries series = findOwnedSeries(id, userDetails);
+        LocalDate today = LocalDate.now();
+
+        List<LocalDate> releasedDates = reservationRepository.findDatesBySeriesFrom(id, today, Status.ACTIVE);
+
+        series.setStatus(Status.CANCELLED);
+        slotClaimRepository.deleteBySeriesFrom(id, today);
+        reservationRepository.transitionSeriesFrom(id, today, Status.ACTIVE, Status.CANCELLED);
+
+        for (LocalDate date : releasedDates) {
+            occupancyIndex.release(series.getSpace().getId(), date, series.getTimeSlot());
+        }
+        aggregateVersions.bumpReservations(series.getUser().getId());
+
+        return ReservationSeriesMapper.entityToDto(series);
+    }
+
+    /**
+     * Cancels one occurrence: a materialized one is a single reservation update, a later one a single skipped date.
+     */
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    @Transactional
+    public ReservationSeriesResponse cancelOccurrence(Long id, LocalDate date, CustomUserDetails userDetails) {
+
+        ReservationSeries series = findOwnedSeries(id, userDetails);
+
+        if (!series.occursOn(date) || date.isBefore(LocalDate.now())) {
+            throw new InvalidDateRangeException(date + " is not an upcoming occurrence of this series");
+        }
+
+        Reservation reservation = reservationRepository.findBySeriesIdAndReservationDate(id, date).orElse(null);
+
+        if (reservation != null && reservation.getStatus() == Status.ACTIVE) {
+            reservation.setStatus(Status.CANCELLED);
+            slotClaimService.release(reservation);
+            occupancyIndex.release(series.getSpace().getId(), date, series.getTimeSlot());
+        } else if (reservation != null || !series.getSkippedDates().add(date)) {
+            throw new IllegalStateException("This occurrence is already cancelled");
+        }
+
+        aggregateVersions.bumpReservations(series.getUser().getId());
+
+        return ReservationSeriesMapper.entityToDto(series);
+    }
+
+    /**
+     * Occurrences of active series that are not stored as reservations yet, expanded within [from, to] only.
+     */
+    public List<ReservationSlot> findPendingOccurrences(Collection<Long> spaceIds, LocalDate from, LocalDate to) {
+
+        if (spaceIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<ReservationSlot> slots = new ArrayList<>();
+        for (ReservationSeries series : seriesRepository.findUnmaterializedInWindow(Status.ACTIVE, spaceIds, from, to)) {
+            LocalDate after = series.getMaterializedUntil();
+            LocalDate start = from.isAfter(after) ? from : after.plusDays(1);
+            LocalDate end = to.isBefore(series.getEndDate()) ? to : series.getEndDate();
+
+            for (LocalDate date = series.firstOccurrenceFrom(start); !date.isAfter(end); date = date.plusWeeks(1)) {
+                if (!series.getSkippedDates().contains(date)) {
+                    slots.add(new ReservationSlot(series.getSpace().getId(), date, series.getTimeSlot()));
+                }
+            }
+        }
+        return slots;
+    }
+
+    public boolean hasPendingOccurrence(Long spaceId, LocalDate date, TimeSlot timeSlot) {
+
+        return findPendingOccurrences(List.of(spaceId), date, date).stream()
+                .anyMatch(slot -> (slot.timeSlot().mask() & timeSlot.mask()) != 0);
+    }
+
+    @Transactional
+    public int materialize(Long seriesId, LocalDate until) {
+
+        ReservationSeries series = seriesRepository.findById(seriesId).orElse(null);
+
+        if (series == null || series.getStatus() != Status.ACTIVE) {
+            return 0;
+        }
+
+        spaceRepository.findByIdForUpdate(series.getSpace().getId());
+        int created = materialize(series, until);
+        if (created > 0) {
+            aggregateVersions.bumpReservations(series.getUser().getId());
+        }
+        return created;
+    }
+
+    public LocalDate horizonEnd() {
+        return LocalDate.now().plus(horizon);
+    }
+
+    private int materialize(ReservationSeries series, LocalDate until) {
+
+        LocalDate today = LocalDate.now();
+        LocalDate after = series.getMaterializedUntil();
+        LocalDate from = after.isBefore(today) ? today : after.plusDays(1);
+        LocalDate to = until.isBefore(series.getEndDate()) ? until : series.getEndDate();
+
+        if (!to.isAfter(after)) {
+            return 0;
+        }
+
+        Map<LocalDate, Integer> occupied = new HashMap<>();
+        for (ReservationSlot slot : reservationRepository.findSlotsBySpacesBetween(Status.ACTIVE, List.of(series.getSpace().getId()), from, to)) {
+            occupied.merge(slot.reservationDate(), slot.timeSlot().mask(), (a, b) -> a | b);
+        }
+
+        List<Reservation> occurrences = new ArrayList<>();
+        List<LocalDate> clashes = new ArrayList<>();
+        for (LocalDate date = series.firstOccurrenceFrom(from); !date.isAfter(to); date = date.plusWeeks(1)) {
+            if (series.getSkippedDates().contains(date)) {
+                continue;
+            }
+            // booked by someone else after the series was created (only possible beyond the old horizon)
+            if ((occupied.getOrDefault(date, 0) & series.getTimeSlot().mask()) != 0) {
+                series.getSkippedDates().add(date);
+                clashes.add(date);
+                continue;
+            }
+            occurrences.add(Reservation.builder()
+                    .reservationDate(date)
+                    .timeSlot(series.getTimeSlot())
+                    .status(Status.ACTIVE)
+                    .emailSent(false)
+                    .user(series.getUser())
+                    .space(series.getSpace())
+                    .series(series)
+                    .build());
+        }
+
+        series.setMaterializedUntil(to);
+
+        if (!clashes.isEmpty()) {
+            emailOutboxService.enqueueSeriesConflict(series, clashes);
+        }
+
+        if (occurrences.isEmpty()) {
+            return 0;
+        }
+
+        List<Reservation> saved = reservationRepository.saveAll(occurrences);
+        slotClaimService.claimAll(saved);
+
+        for (Reservation reservation : saved) {
+            occupancyIndex.occupy(reservation.getSpace().getId(), reservation.getReservationDate(), reservation.getTimeSlot());
+        }
+        return saved.size();
+    }
+
+    private Map<LocalDate, Integer> occupiedMasks(Long spaceId, LocalDate from, LocalDate to) {
+
+        Map<LocalDate, Integer> occupied = new HashMap<>();
+        List<ReservationSlot> slots = new ArrayList<>(reservationRepository.findSlotsBySpacesBetween(Status.ACTIVE, List.of(spaceId), from, to));
+        slots.addAll(findPendingOccurrences(List.of(spaceId), from, to));
+
+        for (ReservationSlot slot : slots) {
+            occupied.merge(slot.reservationDate(), slot.timeSlot().mask(), (a, b) -> a | b);
+        }
+        return occupied;
+    }
+
+    private ReservationSeries findOwnedSeries(Long id, CustomUserDetails userDetails) {
+
+        ReservationSeries series = seriesRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException(ReservationSeries.class.getSimpleName(), id));
+
+        if (!series.getUser().getId().equals(userDetails.getId())) {
+            throw new AccessDeniedException("You cannot change a reservation series that doesn't belong to you");
+        }
+
+        if (series.getStatus() == Status.CANCELLED) {
+            throw new IllegalStateException("This reservation series is already cancelled");
+        }
+
+        return series;
+    }
+}
@@ -1,16 +1,19 @@
 package com.femcoders.sitme.reservation.services;
 
+import com.femcoders.sitme.reservation.dtos.BatchReservationRequest;
+import com.femcoders.sitme.reservation.dtos.BatchReservationResponse;
+import com.femcoders.sitme.reservation.dtos.ReservationFilter;
 import com.femcoders.sitme.reservation.dtos.ReservationRequest;
 import com.femcoders.sitme.reservation.dtos.ReservationResponse;
 import com.femcoders.sitme.security.userdetails.CustomUserDetails;
-
-import java.util.List;
+import com.femcoders.sitme.shared.responses.CursorPage;
 
 public interface ReservationService {
-    List<ReservationResponse> getAllReservations();
+    CursorPage<ReservationResponse> getAllReservations(ReservationFilter filter, String cursor, int size);
     ReservationResponse getReservationById(Long id);
-    List<ReservationResponse> getMyReservations(CustomUserDetails userDetails);
+    CursorPage<ReservationResponse> getMyReservations(CustomUserDetails userDetails, ReservationFilter filter, String cursor, int size, boolean includeHistory);
     ReservationResponse createReservation(ReservationRequest reservationRequest, CustomUserDetails userDetails);
+    BatchReservationResponse createReservations(BatchReservationRequest batchRequest, CustomUserDetails userDetails);
     ReservationResponse updateMyReservation(Long id, ReservationRequest reservationRequest, CustomUserDetails userDetails);
     ReservationResponse cancelMyReservation(Long id, CustomUserDetails userDetails);
     void deleteReservation(Long id);
@@ -1,45 +1,71 @@
 package com.femcoders.sitme.reservation.services;
 
-import com.femcoders.sitme.email.EmailService;
+import com.femcoders.sitme.email.EmailOutboxService;
 import com.femcoders.sitme.reservation.Reservation;
 import com.femcoders.sitme.reservation.Status;
 import com.femcoders.sitme.reservation.TimeSlot;
+import com.femcoders.sitme.reservation.dtos.BatchReservationRequest;
+import com.femcoders.sitme.reservation.dtos.BatchReservationResponse;
+import com.femcoders.sitme.reservation.dtos.BatchReservationResult;
+import com.femcoders.sitme.reservation.dtos.ReservationCursor;
+import com.femcoders.sitme.reservation.dtos.ReservationFilter;
 import com.femcoders.sitme.reservation.dtos.ReservationMapper;
 import com.femcoders.sitme.reservation.dtos.ReservationRequest;
 import com.femcoders.sitme.reservation.dtos.ReservationResponse;
+import com.femcoders.sitme.reservation.dtos.ReservationSlot;
 import com.femcoders.sitme.reservation.repository.ReservationRepository;
 import com.femcoders.sitme.security.userdetails.CustomUserDetails;
 import com.femcoders.sitme.shared.exceptions.EntityNotFoundException;
+import com.femcoders.sitme.shared.responses.CursorPage;
+import com.femcoders.sitme.shared.versioning.AggregateVersions;
 import com.femcoders.sitme.space.Space;
 import com.femcoders.sitme.space.repository.SpaceRepository;
 import com.femcoders.sitme.user.User;
 import com.femcoders.sitme.user.repository.UserRepository;
+import io.micrometer.core.instrument.Timer;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class ReservationServiceImpl implements ReservationService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final Comparator<ReservationResponse> PAGE_ORDER =
+            Comparator.comparing(ReservationResponse::reservationDate).thenComparing(ReservationResponse::id);
+
     private final ReservationRepository reservationsRepository;
     private final UserRepository userRepository;
     private final SpaceRepository spaceRepository;
-    private final EmailService emailService;
+    private final EmailOutboxService emailOutboxService;
+    private final OccupancyIndex occupancyIndex;
+    private final SlotClaimService slotClaimService;
+    private final ReservationMetrics reservationMetrics;
+    private final AggregateVersions aggregateVersions;
+    private final ReservationSeriesService reservationSeriesService;
 
     @PreAuthorize("hasRole('ADMIN')")
     @Override
-    public List<ReservationResponse> getAllReservations() {
+    public CursorPage<ReservationResponse> getAllReservations(ReservationFilter filter, String cursor, int size) {
 
-        return reservationsRepository.findAll()
-                .stream()
-                .map(ReservationMapper::entityToDto)
-                .toList();
+        return findPage(null, filter, cursor, size, false);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -54,111 +80,245 @@ public class ReservationServiceImpl implements ReservationService {
 
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
     @Override
-    public List<ReservationResponse> getMyReservations(CustomUserDetails userDetails) {
+    public CursorPage<ReservationResponse> getMyReservations(CustomUserDetails userDetails, ReservationFilter filter, String cursor, int size, boolean includeHistory) {
 
-        return reservationsRepository.findByUserId(userDetails.getId())
-                .stream()
-                .map(ReservationMapper::entityToDto)
-                .toList();
+        return findPage(userDetails.getId(), filter, cursor, size, includeHistory);
     }
 
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
     @Override
     public ReservationResponse createReservation(ReservationRequest reservationRequest, CustomUserDetails userDetails) {
 
-        User user = userRepository.findById(userDetails.getId())
-                .orElseThrow(()->new EntityNotFoundException(User.class.getSimpleName(), userDetails.getId()));
+        Timer.Sample sample = reservationMetrics.start();
+        Space space = null;
+        String outcome = ReservationMetrics.OUTCOME_ERROR;
+
+        try {
+            User user = userRepository.findById(userDetails.getId())
+                    .orElseThrow(()->new EntityNotFoundException(User.class.getSimpleName(), userDetails.getId()));
+
+            space = spaceRepository.findById(reservationRequest.spaceId())
+                    .orElseThrow(()->new EntityNotFoundException(Space.class.getSimpleName(), reservationRequest.spaceId()));
+
+            if (!isReservationAvailable(reservationRequest)) {
+                throw new IllegalStateException("The selected time slot is not available");
+            }
 
-        Space space = spaceRepository.findById(reservationRequest.spaceId())
-                .orElseThrow(()->new EntityNotFoundException(Space.class.getSimpleName(), reservationRequest.spaceId()));
+            Reservation reservationNew = ReservationMapper.dtoToEntity(reservationRequest, user, space);
 
-        Reservation reservationNew = ReservationMapper.dtoToEntity(reservationRequest, user, space);
+            Reservation reservationSaved = reservationsRepository.save(reservationNew);
 
-        emailService.sendReservationConfirmationEmail(
-                reservationNew.getUser().getEmail(),
-                reservationNew.getUser().getUsername(),
-                reservationNew.getSpace().getName(),
-                reservationNew.getReservationDate(),
-                reservationNew.getTimeSlot().name());
+            slotClaimService.claim(reservationSaved);
 
-        reservationNew.setEmailSent(true);
+            emailOutboxService.enqueueReservationConfirmation(reservationSaved);
 
-        Reservation reservationSaved = reservationsRepository.save(reservationNew);
+            occupancyIndex.occupy(space.getId(), reservationSaved.getReservationDate(), reservationSaved.getTimeSlot());
+            aggregateVersions.bumpReservations(user.getId());
 
-        return ReservationMapper.entityToDto(reservationSaved);
+            outcome = ReservationMetrics.OUTCOME_SUCCESS;
+            return ReservationMapper.entityToDto(reservationSaved);
+
+        } catch (IllegalStateException exception) {
+            outcome = ReservationMetrics.OUTCOME_CONFLICT;
+            throw exception;
+        } finally {
+            reservationMetrics.record(sample, "create", space, reservationRequest.timeSlot(), outcome);
+        }
     }
 
+    /**
+     * Books every free item of the batch in one transaction. Conflicts with existing reservations are found
+     * with a single query, conflicts inside the batch in memory, and the accepted rows are inserted in JDBC batches.
+     */
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
     @Override
-    public ReservationResponse updateMyReservation(Long id, ReservationRequest reservationRequest, CustomUserDetails userDetails) {
+    public BatchReservationResponse createReservations(BatchReservationRequest batchRequest, CustomUserDetails userDetails) {
 
-        Reservation reservation = reservationsRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(Reservation.class.getSimpleName(), id));
+        Timer.Sample sample = reservationMetrics.start();
+        String outcome = ReservationMetrics.OUTCOME_ERROR;
 
-        if (!reservation.getUser().getId().equals(userDetails.getId())) {
-            throw new AccessDeniedException("You cannot update a reservation that doesn't belong to you");
-        }
+        try {
+            List<ReservationRequest> requests = batchRequest.reservations();
 
-        if (reservation.getStatus() == Status.CANCELLED) {
-            throw new IllegalStateException("You cannot update a cancelled reservation");
-        }
+            User user = userRepository.findById(userDetails.getId())
+                    .orElseThrow(() -> new EntityNotFoundException(User.class.getSimpleName(), userDetails.getId()));
+
+            Set<Long> spaceIds = requests.stream().map(ReservationRequest::spaceId).collect(Collectors.toSet());
+            Map<Long, Space> spaces = spaceRepository.findAllById(spaceIds).stream()
+                    .collect(Collectors.toMap(Space::getId, Function.identity()));
+
+            for (Long spaceId : spaceIds) {
+                if (!spaces.containsKey(spaceId)) {
+                    throw new EntityNotFoundException(Space.class.getSimpleName(), spaceId);
+                }
+            }
+
+            LocalDate fromDate = requests.stream().map(ReservationRequest::reservationDate).min(LocalDate::compareTo).orElseThrow();
+            LocalDate toDate = requests.stream().map(ReservationRequest::reservationDate).max(LocalDate::compareTo).orElseThrow();
+
+            List<ReservationSlot> occupiedSlots = new ArrayList<>(
+                    reservationsRepository.findSlotsBySpacesBetween(Status.ACTIVE, spaceIds, fromDate, toDate));
+            occupiedSlots.addAll(reservationSeriesService.findPendingOccurrences(spaceIds, fromDate, toDate));
+
+            Map<SpaceDay, Integer> occupied = new HashMap<>();
+            for (ReservationSlot slot : occupiedSlots) {
+                occupied.merge(new SpaceDay(slot.spaceId(), slot.reservationDate()), slot.timeSlot().mask(), (a, b) -> a | b);
+            }
+
+            List<BatchReservationResult> results = new ArrayList<>();
+            List<Reservation> accepted = new ArrayList<>();
+            List<Integer> acceptedIndexes = new ArrayList<>();
+
+            for (int index = 0; index < requests.size(); index++) {
+                ReservationRequest request = requests.get(index);
+                SpaceDay spaceDay = new SpaceDay(request.spaceId(), request.reservationDate());
+                int mask = occupied.getOrDefault(spaceDay, 0);
 
-        Space space = spaceRepository.findById(reservationRequest.spaceId())
-                .orElseThrow(() -> new EntityNotFoundException(Space.class.getSimpleName(), reservationRequest.spaceId()));
+                if ((mask & request.timeSlot().mask()) != 0) {
+                    results.add(BatchReservationResult.conflict(index, "The selected time slot is not available"));
+                    continue;
+                }
 
-        boolean availabilityCheck = !reservation.getReservationDate().equals(reservationRequest.reservationDate())
-                || !reservation.getTimeSlot().equals(reservationRequest.timeSlot())
-                || !reservation.getSpace().getId().equals(reservationRequest.spaceId());
+                occupied.put(spaceDay, mask | request.timeSlot().mask());
+                accepted.add(ReservationMapper.dtoToEntity(request, user, spaces.get(request.spaceId())));
+                acceptedIndexes.add(index);
+                results.add(null);
+            }
+
+            if (!accepted.isEmpty()) {
+                List<Reservation> saved = reservationsRepository.saveAll(accepted);
+
+                slotClaimService.claimAll(saved);
+
+                emailOutboxService.enqueueReservationBatchConfirmation(saved);
+
+                for (int i = 0; i < saved.size(); i++) {
+                    Reservation reservation = saved.get(i);
+                    occupancyIndex.occupy(reservation.getSpace().getId(), reservation.getReservationDate(), reservation.getTimeSlot());
+                    results.set(acceptedIndexes.get(i), BatchReservationResult.created(acceptedIndexes.get(i), ReservationMapper.entityToDto(reservation)));
+                }
+                aggregateVersions.bumpReservations(user.getId());
+            }
 
-        if (availabilityCheck && !isReservationAvailableForUpdate(reservationRequest, id)) {
-            throw new IllegalStateException("The selected time slot is not available");
+            outcome = accepted.size() == requests.size() ? ReservationMetrics.OUTCOME_SUCCESS : ReservationMetrics.OUTCOME_CONFLICT;
+            return BatchReservationResponse.of(results);
+
+        } catch (IllegalStateException exception) {
+            outcome = ReservationMetrics.OUTCOME_CONFLICT;
+            throw exception;
+        } finally {
+            reservationMetrics.record(sample, "create_batch", null, null, outcome);
         }
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    @Override
+    public ReservationResponse updateMyReservation(Long id, ReservationRequest reservationRequest, CustomUserDetails userDetails) {
 
-        reservation.setReservationDate(reservationRequest.reservationDate());
-        reservation.setTimeSlot(reservationRequest.timeSlot());
-        reservation.setSpace(space);
+        Timer.Sample sample = reservationMetrics.start();
+        Space space = null;
+        String outcome = ReservationMetrics.OUTCOME_ERROR;
 
-        Reservation updatedReservation = reservationsRepository.save(reservation);
+        try {
+            Reservation reservation = reservationsRepository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException(Reservation.class.getSimpleName(), id));
 
-        emailService.sendReservationUpdateEmail(
-                updatedReservation.getUser().getEmail(),
-                updatedReservation.getUser().getUsername(),
-                updatedReservation.getSpace().getName(),
-                updatedReservation.getReservationDate(),
-                updatedReservation.getTimeSlot().toString()
-        );
+            if (!reservation.getUser().getId().equals(userDetails.getId())) {
+                throw new AccessDeniedException("You cannot update a reservation that doesn't belong to you");
+            }
+
+            if (reservation.getStatus() == Status.CANCELLED) {
+                throw new IllegalStateException("You cannot update a cancelled reservation");
+            }
+
+            space = spaceRepository.findById(reservationRequest.spaceId())
+                    .orElseThrow(() -> new EntityNotFoundException(Space.class.getSimpleName(), reservationRequest.spaceId()));
+
+            boolean availabilityCheck = !reservation.getReservationDate().equals(reservationRequest.reservationDate())
+                    || !reservation.getTimeSlot().equals(reservationRequest.timeSlot())
+                    || !reservation.getSpace().getId().equals(reservationRequest.spaceId());
+
+            if (availabilityCheck && !isReservationAvailableForUpdate(reservationRequest, reservation)) {
+                throw new IllegalStateException("The selected time slot is not available");
+            }
+
+            Long previousSpaceId = reservation.getSpace().getId();
+            LocalDate previousDate = reservation.getReservationDate();
+            TimeSlot previousTimeSlot = reservation.getTimeSlot();
+
+            reservation.setReservationDate(reservationRequest.reservationDate());
+            reservation.setTimeSlot(reservationRequest.timeSlot());
+            reservation.setSpace(space);
 
-        return ReservationMapper.entityToDto(updatedReservation);
+            Reservation updatedReservation = reservationsRepository.save(reservation);
+
+            if (availabilityCheck && updatedReservation.getStatus() == Status.ACTIVE) {
+                slotClaimService.release(updatedReservation);
+                slotClaimService.claim(updatedReservation);
+            }
+
+            if (updatedReservation.getStatus() == Status.ACTIVE) {
+                occupancyIndex.release(previousSpaceId, previousDate, previousTimeSlot);
+                occupancyIndex.occupy(space.getId(), updatedReservation.getReservationDate(), updatedReservation.getTimeSlot());
+            }
+
+            emailOutboxService.enqueueReservationUpdate(updatedReservation);
+            aggregateVersions.bumpReservations(updatedReservation.getUser().getId());
+
+            outcome = ReservationMetrics.OUTCOME_SUCCESS;
+            return ReservationMapper.entityToDto(updatedReservation);
+
+        } catch (IllegalStateException exception) {
+            outcome = ReservationMetrics.OUTCOME_CONFLICT;
+            throw exception;
+        } finally {
+            reservationMetrics.record(sample, "update", space, reservationRequest.timeSlot(), outcome);
+        }
     }
 
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
     @Override
     public ReservationResponse cancelMyReservation(Long id, CustomUserDetails userDetails) {
 
-        Reservation reservation = reservationsRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(Reservation.class.getSimpleName(), id));
+        Timer.Sample sample = reservationMetrics.start();
+        Reservation reservation = null;
+        String outcome = ReservationMetrics.OUTCOME_ERROR;
 
-        if (!reservation.getUser().getId().equals(userDetails.getId())) {
-            throw new AccessDeniedException("You cannot cancel a reservation that doesn't belong to you");
-        }
+        try {
+            reservation = reservationsRepository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException(Reservation.class.getSimpleName(), id));
 
-        if (reservation.getStatus() == Status.CANCELLED) {
-            throw new IllegalStateException("This reservation is already cancelled");
-        }
+            if (!reservation.getUser().getId().equals(userDetails.getId())) {
+                throw new AccessDeniedException("You cannot cancel a reservation that doesn't belong to you");
+            }
+
+            if (reservation.getStatus() == Status.CANCELLED) {
+                throw new IllegalStateException("This reservation is already cancelled");
+            }
 
-        reservation.setStatus(Status.CANCELLED);
+            reservation.setStatus(Status.CANCELLED);
 
-        emailService.sendReservationCancellationEmail(
-                reservation.getUser().getEmail(),
-                reservation.getUser().getUsername(),
-                reservation.getSpace().getName(),
-                reservation.getReservationDate(),
-                reservation.getTimeSlot().toString()
-        );
+            Reservation cancelledReservation = reservationsRepository.save(reservation);
+
+            slotClaimService.release(cancelledReservation);
 
-        Reservation cancelledReservation = reservationsRepository.save(reservation);
+            emailOutboxService.enqueueReservationCancellation(cancelledReservation);
 
-        return ReservationMapper.entityToDto(cancelledReservation);
+            occupancyIndex.release(reservation.getSpace().getId(), reservation.getReservationDate(), reservation.getTimeSlot());
+            aggregateVersions.bumpReservations(reservation.getUser().getId());
+
+            outcome = ReservationMetrics.OUTCOME_SUCCESS;
+            return ReservationMapper.entityToDto(cancelledReservation);
+
+        } catch (IllegalStateException exception) {
+            outcome = ReservationMetrics.OUTCOME_CONFLICT;
+            throw exception;
+        } finally {
+            reservationMetrics.record(sample, "cancel",
+                    reservation == null ? null : reservation.getSpace(),
+                    reservation == null ? null : reservation.getTimeSlot(),
+                    outcome);
+        }
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -169,80 +329,78 @@ public class ReservationServiceImpl implements ReservationService {
                 .orElseThrow(() -> new EntityNotFoundException(Reservation.class.getSimpleName(), id));
 
         reservationsRepository.delete(reservation);
+        aggregateVersions.bumpReservations(reservation.getUser().getId());
+
+        if (reservation.getStatus() == Status.ACTIVE) {
+            occupancyIndex.release(reservation.getSpace().getId(), reservation.getReservationDate(), reservation.getTimeSlot());
+        }
     }
 
     @Override
     public boolean isReservationAvailable(ReservationRequest reservationRequest){
 
-        List<Reservation> existingReservations = reservationsRepository.findByReservationDateAndSpaceIdAndStatus(
+        boolean available = occupancyIndex.isAvailable(
+                reservationRequest.spaceId(),
                 reservationRequest.reservationDate(),
+                reservationRequest.timeSlot()
+        ) && !reservationSeriesService.hasPendingOccurrence(
                 reservationRequest.spaceId(),
-                Status.ACTIVE
+                reservationRequest.reservationDate(),
+                reservationRequest.timeSlot()
         );
 
-        if (existingReservations.isEmpty()) {
-            return true;
-        }
+        reservationMetrics.availabilityChecked(reservationRequest.timeSlot(), available);
 
-        for (Reservation existingReservation : existingReservations) {
+        return available;
+    }
 
-            if (reservationRequest.timeSlot() == TimeSlot.FULL_DAY &&
-                    (existingReservation.getTimeSlot() == TimeSlot.MORNING || existingReservation.getTimeSlot() == TimeSlot.AFTERNOON)) {
-                return false;
-            }
+    private boolean isReservationAvailableForUpdate(ReservationRequest reservationRequest, Reservation currentReservation) {
 
-            if ((reservationRequest.timeSlot() == TimeSlot.MORNING || reservationRequest.timeSlot() == TimeSlot.AFTERNOON)
-                    && existingReservation.getTimeSlot() == TimeSlot.FULL_DAY) {
-                return false;
-            }
+        int occupiedMask = occupancyIndex.occupiedMask(reservationRequest.spaceId(), reservationRequest.reservationDate());
 
-            if (existingReservation.getTimeSlot() == TimeSlot.FULL_DAY) {
-                return false;
-            }
-
-            if (reservationRequest.timeSlot() == existingReservation.getTimeSlot()) {
-                return false;
-            }
+        if (currentReservation.getStatus() == Status.ACTIVE
+                && currentReservation.getSpace().getId().equals(reservationRequest.spaceId())
+                && currentReservation.getReservationDate().equals(reservationRequest.reservationDate())) {
+            occupiedMask &= ~currentReservation.getTimeSlot().mask();
         }
 
-        return true;
+        boolean available = (occupiedMask & reservationRequest.timeSlot().mask()) == 0
+                && !reservationSeriesService.hasPendingOccurrence(
+                        reservationRequest.spaceId(), reservationRequest.reservationDate(), reservationRequest.timeSlot());
+
+        reservationMetrics.availabilityChecked(reservationRequest.timeSlot(), available);
+
+        return available;
     }
 
-    private boolean isReservationAvailableForUpdate(ReservationRequest reservationRequest, Long currentReservationId) {
-        List<Reservation> existingReservations = reservationsRepository.findByReservationDateAndSpaceIdAndStatus(
-                reservationRequest.reservationDate(),
-                reservationRequest.spaceId(),
-                Status.ACTIVE
-        );
+    private record SpaceDay(Long spaceId, LocalDate date) {
+    }
 
-        existingReservations = existingReservations.stream()
-                .filter(reservation -> !reservation.getId().equals(currentReservationId))
-                .toList();
+    private CursorPage<ReservationResponse> findPage(Long userId, ReservationFilter filter, String cursor, int size, boolean includeHistory) {
 
-        if (existingReservations.isEmpty()) {
-            return true;
-        }
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        ReservationFilter criteria = filter == null ? ReservationFilter.none() : filter;
+        ReservationCursor after = ReservationCursor.decode(cursor);
 
-        for (Reservation existingReservation : existingReservations) {
-            if (reservationRequest.timeSlot() == TimeSlot.FULL_DAY &&
-                    (existingReservation.getTimeSlot() == TimeSlot.MORNING || existingReservation.getTimeSlot() == TimeSlot.AFTERNOON)) {
-                return false;
-            }
+        List<ReservationResponse> rows = reservationsRepository.findPage(userId, criteria, after, limit + 1);
 
-            if ((reservationRequest.timeSlot() == TimeSlot.MORNING || reservationRequest.timeSlot() == TimeSlot.AFTERNOON)
-                    && existingReservation.getTimeSlot() == TimeSlot.FULL_DAY) {
-                return false;
-            }
+        if (includeHistory) {
+            // both sides are already sorted and bounded by the same cursor, so merging them keeps keyset paging intact
+            rows = Stream.concat(rows.stream(), reservationsRepository.findArchivedPage(userId, criteria, after, limit + 1).stream())
+                    .sorted(PAGE_ORDER)
+                    .limit(limit + 1)
+                    .toList();
+        }
 
-            if (existingReservation.getTimeSlot() == TimeSlot.FULL_DAY) {
-                return false;
-            }
+        boolean hasMore = rows.size() > limit;
+        List<ReservationResponse> page = hasMore ? rows.subList(0, limit) : rows;
 
-            if (reservationRequest.timeSlot() == existingReservation.getTimeSlot()) {
-                return false;
-            }
+        String nextCursor = null;
+        if (hasMore) {
+            ReservationResponse last = page.getLast();
+            nextCursor = new ReservationCursor(last.reservationDate(), last.id()).encode();
         }
 
-        return true;
+        return new CursorPage<>(List.copyOf(page), nextCursor);
     }
 }
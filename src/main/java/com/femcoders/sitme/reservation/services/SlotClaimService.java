@@ -0,0 +1,51 @@
+package com.femcoders.sitme.reservation.services;
+
+import com.femcoders.sitme.reservation.Reservation;
+import com.femcoders.sitme.reservation.ReservationSlotClaim;
+import com.femcoders.sitme.reservation.TimeSlot;
+import com.femcoders.sitme.reservation.repository.ReservationSlotClaimRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Inserts one claim row per booked half-day so the database rejects overlapping reservations.
+ * Only bookings of the same (space, date, half-day) contend with each other.
+ */
+@Service
+@RequiredArgsConstructor
+public class SlotClaimService {
+
+    private final ReservationSlotClaimRepository slotClaimRepository;
+
+    public void claim(Reservation reservation) {
+
+        claimAll(List.of(reservation));
+    }
+
+    public void claimAll(List<Reservation> reservations) {
+
+        List<ReservationSlotClaim> claims = reservations.stream()
+                .flatMap(reservation -> reservation.getTimeSlot().halves().stream()
+                        .map(halfDay -> ReservationSlotClaim.builder()
+                                .spaceId(reservation.getSpace().getId())
+                                .reservationDate(reservation.getReservationDate())
+                                .halfDay(halfDay)
+                                .reservation(reservation)
+                                .build()))
+                .toList();
+
+        try {
+            slotClaimRepository.saveAllAndFlush(claims);
+        } catch (DataIntegrityViolationException exception) {
+            throw new IllegalStateException("The selected time slot is not available");
+        }
+    }
+
+    public void release(Reservation reservation) {
+
+        slotClaimRepository.deleteByReservationId(reservation.getId());
+    }
+}
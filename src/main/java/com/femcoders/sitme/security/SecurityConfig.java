@@ -44,7 +44,10 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.PUT, "/api/users/{id}").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/users/{id}").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/spaces").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/spaces/availability").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/spaces/availability/stream").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/spaces/{id}").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/images/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/reservations/me").hasAnyRole("USER","ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/reservations/{id}").hasAnyRole("USER","ADMIN")
                         .requestMatchers(HttpMethod.PATCH, "/api/reservations/{id}/cancel").hasAnyRole("USER","ADMIN")
@@ -53,10 +56,14 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/spaces/filter/**").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/spaces").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/api/reservations").hasRole("USER")
+                        .requestMatchers(HttpMethod.POST, "/api/reservations/batch").hasRole("USER")
+                        .requestMatchers(HttpMethod.POST, "/api/reservations/series").hasRole("USER")
+                        .requestMatchers(HttpMethod.PATCH, "/api/reservations/series/**").hasAnyRole("USER","ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/spaces/{id}").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/reservations/{id}").hasRole("ADMIN")
                         .requestMatchers("/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**").permitAll()
-                        .requestMatchers("/actuator/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/test/**").permitAll()
                         .anyRequest().authenticated()
                 )
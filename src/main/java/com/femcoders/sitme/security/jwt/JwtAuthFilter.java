@@ -2,14 +2,21 @@ package com.femcoders.sitme.security.jwt;
 
 import com.femcoders.sitme.security.exceptions.ExpiredTokenException;
 import com.femcoders.sitme.security.exceptions.InvalidTokenException;
+import com.femcoders.sitme.security.revocation.TokenRevocationService;
+import com.femcoders.sitme.security.userdetails.CustomUserDetails;
 import com.femcoders.sitme.security.userdetails.CustomUserDetailsService;
+import com.femcoders.sitme.user.Role;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -25,6 +32,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final CustomUserDetailsService customUserDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -37,25 +49,43 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
 
         String token = header.replace("Bearer ", "");
-        String userId;
+        Claims claims;
+        Timer.Sample parseSample = Timer.start(meterRegistry);
 
         try {
-            userId = jwtService.extractUserId(token);
+            claims = jwtService.parseClaims(token);
+            parseSample.stop(jwtTimer("parse", "valid"));
         } catch (ExpiredJwtException exception) {
+            parseSample.stop(jwtTimer("parse", "expired"));
             throw new ExpiredTokenException("The token has expired: " + exception.getMessage());
         } catch (MalformedJwtException exception) {
+            parseSample.stop(jwtTimer("parse", "malformed"));
             throw new InvalidTokenException("The token is malformed: " + exception.getMessage());
         } catch (Exception exception) {
+            parseSample.stop(jwtTimer("parse", "invalid"));
             throw new InvalidTokenException("Error extracting user from token: " + exception.getMessage());
         }
 
+        String userId = claims.getSubject();
+
         if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            UserDetails userDetails = customUserDetailsService.loadUserById(Long.parseLong(userId));
+            Timer.Sample validateSample = Timer.start(meterRegistry);
+            String outcome = "invalid";
+            UserDetails userDetails;
 
-            if (!jwtService.isValidToken(token, userDetails)) {
+            try {
+                userDetails = stateless
+                        ? loadUserFromClaims(claims)
+                        : customUserDetailsService.loadUserById(Long.parseLong(userId));
 
-                throw new InvalidTokenException("Invalid token for userId: " + userId);
+                if (!jwtService.isValidToken(claims, userDetails)) {
+
+                    throw new InvalidTokenException("Invalid token for userId: " + userId);
+                }
+                outcome = "valid";
+            } finally {
+                validateSample.stop(jwtTimer("validate", outcome));
             }
 
             UsernamePasswordAuthenticationToken authenticationToken =
@@ -68,4 +98,30 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private Timer jwtTimer(String stage, String outcome) {
+        return Timer.builder("sitme.auth.jwt")
+                .description("JWT parsing and user validation in the authentication filter")
+                .tag("stage", stage)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private UserDetails loadUserFromClaims(Claims claims) {
+
+        Long userId = Long.parseLong(claims.getSubject());
+
+        if (tokenRevocationService.isRevoked(userId, claims.getIssuedAt())) {
+            throw new InvalidTokenException("The token has been revoked for userId: " + userId);
+        }
+
+        String username = jwtService.extractUsername(claims);
+        Role role = jwtService.extractRole(claims);
+
+        if (username == null || role == null) {
+            return customUserDetailsService.loadUserById(userId);
+        }
+
+        return CustomUserDetails.fromClaims(userId, username, role);
+    }
+}
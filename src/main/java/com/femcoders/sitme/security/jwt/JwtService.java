@@ -1,10 +1,13 @@
 package com.femcoders.sitme.security.jwt;
 
 import com.femcoders.sitme.security.userdetails.CustomUserDetails;
+import com.femcoders.sitme.user.Role;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -15,59 +18,93 @@ import java.util.Date;
 @Service
 public class JwtService {
 
+    private static final String ROLE_CLAIM = "role";
+    private static final String USERNAME_CLAIM = "username";
+    private static final String ROLE_PREFIX = "ROLE_";
+
     @Value("${jwt.secret.key}")
     private String jwtSecretKey;
 
     @Value("${jwt.expiration:1800000}")
     private Long jwtExpiration;
 
+    private SecretKey signKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
+        byte[] bytes = Decoders.BASE64.decode(jwtSecretKey);
+        signKey = Keys.hmacShaKeyFor(bytes);
+        jwtParser = Jwts.parser()
+                .verifyWith(signKey)
+                .build();
+    }
+
     public String generateToken(CustomUserDetails userDetails) {
         return buildToken(userDetails, jwtExpiration);
     }
 
     private String buildToken(CustomUserDetails userDetails, Long jwtExpiration) {
+        long now = System.currentTimeMillis();
         return Jwts
                 .builder()
-                .claim("role", userDetails.getAuthorities().toString())
+                .claim(ROLE_CLAIM, userDetails.getAuthorities().toString())
+                .claim(USERNAME_CLAIM, userDetails.getUsername())
                 .subject(userDetails.getId().toString())
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSignKey())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + jwtExpiration))
+                .signWith(signKey)
                 .compact();
     }
 
+    /**
+     * Verifies the signature and expiry of the token once and returns its claims,
+     * so callers can read subject, expiration and role without parsing again.
+     */
+    public Claims parseClaims(String token) {
+        return jwtParser
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
     public String extractUserId(String token) {
-        return extractAllClaims(token).getSubject();
+        return parseClaims(token).getSubject();
     }
 
     public Date extractExpiration(String token) {
-        return extractAllClaims(token).getExpiration();
+        return parseClaims(token).getExpiration();
+    }
+
+    public String extractUsername(Claims claims) {
+        return claims.get(USERNAME_CLAIM, String.class);
+    }
+
+    public Role extractRole(Claims claims) {
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (role == null) {
+            return null;
+        }
+        role = role.replace("[", "").replace("]", "").trim();
+        if (role.startsWith(ROLE_PREFIX)) {
+            role = role.substring(ROLE_PREFIX.length());
+        }
+        return Role.valueOf(role);
     }
 
     public boolean isValidToken(String token, UserDetails userDetails) {
         try {
-            final String userIdFromToken = extractUserId(token);
-            CustomUserDetails customUser = (CustomUserDetails) userDetails;
-            return userIdFromToken.equals(customUser.getId().toString()) && !isTokenExpired(token);
+            return isValidToken(parseClaims(token), userDetails);
         } catch (Exception exception) {
             return false;
         }
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isValidToken(Claims claims, UserDetails userDetails) {
+        CustomUserDetails customUser = (CustomUserDetails) userDetails;
+        return claims.getSubject().equals(customUser.getId().toString()) && !isTokenExpired(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private SecretKey getSignKey() {
-        byte[] bytes = Decoders.BASE64.decode(jwtSecretKey);
-        return Keys.hmacShaKeyFor(bytes);
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,27 @@
+package com.femcoders.sitme.security.revocation;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "token_revocations")
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class TokenRevocation {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "revoked_before", nullable = false)
+    private Instant revokedBefore;
+}
@@ -0,0 +1,18 @@
+package com.femcoders.sitme.security.revocation;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    List<TokenRevocation> findByRevokedBeforeAfter(Instant since);
+
+    @Modifying
+    @Query("DELETE FROM TokenRevocation t WHERE t.revokedBefore <= :since")
+    int deleteExpired(@Param("since") Instant since);
+}
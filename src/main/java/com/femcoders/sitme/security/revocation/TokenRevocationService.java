@@ -0,0 +1,77 @@
+package com.femcoders.sitme.security.revocation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user cut-off instant: tokens issued before it are rejected in stateless mode.
+ * Rows outlive a token's lifetime only, so the in-memory copy stays as small as the set of recently changed users.
+ * Token iat claims only carry whole seconds, so a token issued in the same second as the cut-off is rejected too.
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+
+    @Value("${jwt.expiration:1800000}")
+    private Long jwtExpiration;
+
+    private volatile Map<Long, Instant> revokedBefore = new ConcurrentHashMap<>();
+
+    @Transactional
+    public void revokeTokens(Long userId) {
+
+        Instant cutoff = Instant.now();
+
+        tokenRevocationRepository.save(new TokenRevocation(userId, cutoff));
+        afterCommit(() -> revokedBefore.put(userId, cutoff));
+    }
+
+    public boolean isRevoked(Long userId, Date issuedAt) {
+
+        Instant cutoff = revokedBefore.get(userId);
+
+        return cutoff != null && (issuedAt == null || !issuedAt.toInstant().isAfter(cutoff));
+    }
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval:PT30S}")
+    public void refresh() {
+
+        Instant since = Instant.now().minusMillis(jwtExpiration);
+
+        tokenRevocationRepository.deleteExpired(since);
+
+        revokedBefore = tokenRevocationRepository.findByRevokedBeforeAfter(since)
+                .stream()
+                .collect(Collectors.toConcurrentMap(TokenRevocation::getUserId, TokenRevocation::getRevokedBefore));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,5 +1,6 @@
 package com.femcoders.sitme.security.userdetails;
 
+import com.femcoders.sitme.user.Role;
 import com.femcoders.sitme.user.User;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
@@ -14,6 +15,14 @@ public class CustomUserDetails implements UserDetails {
 
     private final User user;
 
+    public static CustomUserDetails fromClaims(Long id, String username, Role role) {
+        return new CustomUserDetails(User.builder()
+                .id(id)
+                .username(username)
+                .role(role)
+                .build());
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().toString()));
@@ -1,14 +1,16 @@
 package com.femcoders.sitme.security.userdetails;
 
+import com.femcoders.sitme.config.CacheConfig;
 import com.femcoders.sitme.user.User;
 import com.femcoders.sitme.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -17,18 +19,20 @@ public class CustomUserDetailsService implements UserDetailsService {
     private final UserRepository userRepository;
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.USER_DETAILS_BY_IDENTIFIER, key = "#identifier")
     public UserDetails loadUserByUsername(String identifier) throws UsernameNotFoundException {
 
-        Optional<User> user = userRepository.findByUsername(identifier);
+        List<User> users = userRepository.findByUsernameOrEmail(identifier, identifier);
 
-        if (user.isEmpty()) {
-            user = userRepository.findByEmail(identifier);
-        }
-
-        return user.map(userEntity -> new CustomUserDetails(userEntity))
+        return users.stream()
+                .filter(userEntity -> identifier.equals(userEntity.getUsername()))
+                .findFirst()
+                .or(() -> users.stream().findFirst())
+                .map(CustomUserDetails::new)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + identifier));
     }
 
+    @Cacheable(cacheNames = CacheConfig.USER_DETAILS_BY_ID, key = "#id")
     public UserDetails loadUserById(Long id) throws UsernameNotFoundException {
         return userRepository.findById(id)
                 .map(CustomUserDetails::new)
@@ -0,0 +1,45 @@
+package com.femcoders.sitme.security.userdetails;
+
+import com.femcoders.sitme.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Drops a user's cached details once the transaction that changed them has committed. Evicting any earlier lets a
+ * concurrent request reload the old row and cache it again for the full TTL; a rolled-back write evicts nothing.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserDetailsCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    public void evictAfterCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(userId);
+            }
+        });
+    }
+
+    // the identifier cache is keyed by username or email, which may have just changed, so it is cleared whole
+    private void evict(Long userId) {
+        Cache byId = cacheManager.getCache(CacheConfig.USER_DETAILS_BY_ID);
+        if (byId != null) {
+            byId.evict(userId);
+        }
+        Cache byIdentifier = cacheManager.getCache(CacheConfig.USER_DETAILS_BY_IDENTIFIER);
+        if (byIdentifier != null) {
+            byIdentifier.clear();
+        }
+    }
+}
@@ -15,6 +15,8 @@ public enum ErrorCode {
 
     SPACE_01, // Space already exists
 
+    UPLOAD_01, // Invalid or oversized file upload
+
     RESERVATION_01, // Invalid reservation request
     RESERVATION_02, // Reservation request not found
     RESERVATION_03, // Unauthorized reservation request access
@@ -1,6 +1,8 @@
 package com.femcoders.sitme.shared.exceptions;
 
+import com.femcoders.sitme.cloudinary.exception.InvalidFileException;
 import com.femcoders.sitme.user.exceptions.IdentifierAlreadyExistsException;
+import com.femcoders.sitme.space.exceptions.InvalidDateRangeException;
 import com.femcoders.sitme.space.exceptions.InvalidSpaceNameException;
 import com.femcoders.sitme.space.exceptions.SpaceAlreadyExistsException;
 import com.femcoders.sitme.user.exceptions.InvalidCredentialsException;
@@ -13,6 +15,7 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -147,4 +150,48 @@ public class GlobalExceptionHandler {
         );
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler(InvalidDateRangeException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidDateRange(InvalidDateRangeException exception, HttpServletRequest request) {
+        ErrorResponse errorResponse = buildErrorResponse(
+                exception.getErrorCode(),
+                exception.getMessage(),
+                HttpStatus.BAD_REQUEST,
+                request.getRequestURI()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursor(InvalidCursorException exception, HttpServletRequest request) {
+        ErrorResponse errorResponse = buildErrorResponse(
+                exception.getErrorCode(),
+                exception.getMessage(),
+                HttpStatus.BAD_REQUEST,
+                request.getRequestURI()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidFileException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidFile(InvalidFileException exception, HttpServletRequest request) {
+        ErrorResponse errorResponse = buildErrorResponse(
+                ErrorCode.UPLOAD_01,
+                exception.getMessage(),
+                HttpStatus.BAD_REQUEST,
+                request.getRequestURI()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<ErrorResponse> handleMaxUploadSize(MaxUploadSizeExceededException exception, HttpServletRequest request) {
+        ErrorResponse errorResponse = buildErrorResponse(
+                ErrorCode.UPLOAD_01,
+                "Max file size is 2MB",
+                HttpStatus.PAYLOAD_TOO_LARGE,
+                request.getRequestURI()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.PAYLOAD_TOO_LARGE);
+    }
 }
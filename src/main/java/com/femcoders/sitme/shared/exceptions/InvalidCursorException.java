@@ -0,0 +1,11 @@
+package com.femcoders.sitme.shared.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String cursor) {
+        super("Invalid pagination cursor: " + cursor);
+    }
+
+    public ErrorCode getErrorCode() {
+        return ErrorCode.VALIDATION_ERROR;
+    }
+}
@@ -0,0 +1,30 @@
+package com.femcoders.sitme.shared.lease;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "job_leases")
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class JobLease {
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil;
+
+    @Column(name = "locked_by", nullable = false, length = 100)
+    private String lockedBy;
+}
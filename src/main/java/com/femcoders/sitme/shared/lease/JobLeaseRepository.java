@@ -0,0 +1,40 @@
+package com.femcoders.sitme.shared.lease;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLease l SET l.lockedUntil = :until, l.lockedBy = :owner " +
+            "WHERE l.name = :name AND (l.lockedUntil <= :now OR l.lockedBy = :owner)")
+    int takeOver(@Param("name") String name, @Param("owner") String owner,
+                 @Param("now") Instant now, @Param("until") Instant until);
+
+    // plain insert: save() would merge over a lease somebody else already holds. The declared query space keeps
+    // this native write from evicting every second-level cache region.
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "job_leases"))
+    @Query(value = "INSERT INTO job_leases (name, locked_until, locked_by) VALUES (:name, :until, :owner)", nativeQuery = true)
+    int insert(@Param("name") String name, @Param("owner") String owner, @Param("until") Instant until);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLease l SET l.lockedUntil = :until WHERE l.name = :name AND l.lockedBy = :owner")
+    int renew(@Param("name") String name, @Param("owner") String owner, @Param("until") Instant until);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLease l SET l.lockedUntil = :now WHERE l.name = :name AND l.lockedBy = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") Instant now);
+}
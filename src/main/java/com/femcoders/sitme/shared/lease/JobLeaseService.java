@@ -0,0 +1,54 @@
+package com.femcoders.sitme.shared.lease;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Time-bounded lock row per job name, so a scheduled job runs on one replica at a time.
+ * A crashed holder blocks others only until its lease expires; a long run renews it between chunks.
+ */
+@Service
+@RequiredArgsConstructor
+public class JobLeaseService {
+
+    private final JobLeaseRepository jobLeaseRepository;
+
+    private final String owner = UUID.randomUUID().toString();
+
+    public boolean tryAcquire(String name, Duration lease) {
+
+        Instant now = Instant.now();
+        Instant until = now.plus(lease);
+
+        if (jobLeaseRepository.takeOver(name, owner, now, until) == 1) {
+            return true;
+        }
+
+        if (jobLeaseRepository.existsById(name)) {
+            return false;
+        }
+
+        try {
+            return jobLeaseRepository.insert(name, owner, until) == 1;
+        } catch (DataIntegrityViolationException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Extends a lease this instance holds. Returns false once another replica has taken it over,
+     * in which case the caller should stop.
+     */
+    public boolean renew(String name, Duration lease) {
+        return jobLeaseRepository.renew(name, owner, Instant.now().plus(lease)) == 1;
+    }
+
+    public void release(String name) {
+        jobLeaseRepository.release(name, owner, Instant.now());
+    }
+}
@@ -0,0 +1,7 @@
+package com.femcoders.sitme.shared.model;
+
+public enum ImageStatus {
+    PENDING,
+    READY,
+    FAILED
+}
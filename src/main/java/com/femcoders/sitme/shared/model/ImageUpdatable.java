@@ -1,7 +1,10 @@
 package com.femcoders.sitme.shared.model;
 
 public interface ImageUpdatable {
+    Long getId();
     void setImageUrl(String url);
     void setCloudinaryImageId(String publicId);
     String getCloudinaryImageId();
+    void setImageStatus(ImageStatus status);
+    void setImageVariants(ImageVariants variants);
 }
@@ -0,0 +1,28 @@
+package com.femcoders.sitme.shared.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Delivery URLs of an uploaded image resized for each place it is shown, computed once when the upload completes.
+ */
+@Embeddable
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageVariants {
+
+    @Column(name = "image_thumbnail_url", length = 500)
+    private String thumbnail;
+
+    @Column(name = "image_card_url", length = 500)
+    private String card;
+
+    @Column(name = "image_full_url", length = 500)
+    private String full;
+}
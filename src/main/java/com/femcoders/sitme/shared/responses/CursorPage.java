@@ -0,0 +1,9 @@
+package com.femcoders.sitme.shared.responses;
+
+import java.util.List;
+
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor
+) {
+}
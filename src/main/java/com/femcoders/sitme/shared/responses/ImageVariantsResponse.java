@@ -0,0 +1,16 @@
+package com.femcoders.sitme.shared.responses;
+
+import com.femcoders.sitme.shared.model.ImageVariants;
+
+public record ImageVariantsResponse(
+        String thumbnail,
+        String card,
+        String full
+) {
+
+    public static ImageVariantsResponse of(ImageVariants variants) {
+        if (variants == null) return null;
+
+        return new ImageVariantsResponse(variants.getThumbnail(), variants.getCard(), variants.getFull());
+    }
+}
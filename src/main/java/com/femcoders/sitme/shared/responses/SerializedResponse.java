@@ -0,0 +1,8 @@
+package com.femcoders.sitme.shared.responses;
+
+/**
+ * A response value together with its JSON encoding, so cached reads can be written
+ * to the wire without running Jackson again.
+ */
+public record SerializedResponse<T>(T value, byte[] json) {
+}
@@ -0,0 +1,73 @@
+package com.femcoders.sitme.shared.threads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Records JFR {@code jdk.VirtualThreadPinned} events as the {@code sitme.threads.virtual.pinned} timer,
+ * tagged with the first non-JDK frame so the code holding the monitor can be found from the metrics alone.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.threads.pinned-threshold:20ms}")
+    private Duration threshold;
+
+    private RecordingStream recording;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::record);
+        recording.startAsync();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    private void record(RecordedEvent event) {
+        Timer.builder("sitme.threads.virtual.pinned")
+                .description("Time virtual threads spent pinned to their carrier")
+                .tag("site", site(event.getStackTrace()))
+                .register(meterRegistry)
+                .record(event.getDuration());
+    }
+
+    private static String site(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type;
+            }
+        }
+        return "jdk";
+    }
+}
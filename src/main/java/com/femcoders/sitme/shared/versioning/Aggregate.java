@@ -0,0 +1,7 @@
+package com.femcoders.sitme.shared.versioning;
+
+public enum Aggregate {
+    SPACES,
+    RESERVATIONS,
+    USERS
+}
@@ -0,0 +1,28 @@
+package com.femcoders.sitme.shared.versioning;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "aggregate_versions")
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class AggregateVersion {
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private Aggregate aggregate;
+
+    @Column(nullable = false)
+    private long version;
+}
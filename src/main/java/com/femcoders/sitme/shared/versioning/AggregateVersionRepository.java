@@ -0,0 +1,23 @@
+package com.femcoders.sitme.shared.versioning;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface AggregateVersionRepository extends JpaRepository<AggregateVersion, Aggregate> {
+
+    // a projection, so the values are read fresh even when an open persistence context already holds the rows
+    @Query("SELECT new com.femcoders.sitme.shared.versioning.AggregateVersionView(v.aggregate, v.version) " +
+            "FROM AggregateVersion v")
+    List<AggregateVersionView> findAllVersions();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE AggregateVersion v SET v.version = v.version + 1 WHERE v.aggregate IN :aggregates")
+    int increment(@Param("aggregates") Collection<Aggregate> aggregates);
+}
@@ -0,0 +1,4 @@
+package com.femcoders.sitme.shared.versioning;
+
+public record AggregateVersionView(Aggregate aggregate, long version) {
+}
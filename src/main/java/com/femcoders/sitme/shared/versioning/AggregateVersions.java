@@ -0,0 +1,144 @@
+package com.femcoders.sitme.shared.versioning;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Version counter per aggregate, kept in the aggregate_versions table so every instance sees the same values.
+ * ETags are built from these counters instead of hashing response bodies, so a matching If-None-Match can be
+ * answered after one primary-key read and before any other query runs. Inside a transaction the increment is
+ * issued just before commit, so the row lock is held only briefly and a rolled-back write never bumps a version.
+ * <p>
+ * Reservations written on behalf of a user are versioned per user in user_reservation_versions, so concurrent
+ * bookings by different users never queue on the same row; the shared {@link Aggregate#RESERVATIONS} row is
+ * left to bulk jobs that touch everybody's reservations at once.
+ */
+@Component
+@RequiredArgsConstructor
+public class AggregateVersions {
+
+    private final AggregateVersionRepository aggregateVersionRepository;
+    private final UserReservationVersionRepository userReservationVersionRepository;
+
+    public Map<Aggregate, Long> current() {
+        Map<Aggregate, Long> versions = new EnumMap<>(Aggregate.class);
+        for (AggregateVersionView view : aggregateVersionRepository.findAllVersions()) {
+            versions.put(view.aggregate(), view.version());
+        }
+        return versions;
+    }
+
+    public long current(Aggregate aggregate) {
+        return current().getOrDefault(aggregate, 0L);
+    }
+
+    public void bump(Aggregate aggregate) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            aggregateVersionRepository.increment(Set.of(aggregate));
+            return;
+        }
+        pendingBump().aggregates.add(aggregate);
+    }
+
+    public void bumpReservations(Long userId) {
+        bumpReservations(List.of(userId));
+    }
+
+    public void bumpReservations(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            incrementReservations(Set.copyOf(userIds));
+            return;
+        }
+        pendingBump().reservationOwners.addAll(userIds);
+    }
+
+    /**
+     * Strong ETag for a view over the given aggregates. {@code scope} distinguishes views of the
+     * same data, e.g. the requesting user and query string.
+     */
+    public String eTag(String scope, Aggregate... aggregates) {
+        return eTag(scope, current(), aggregates);
+    }
+
+    /**
+     * As {@link #eTag(String, Aggregate...)}, from versions the caller has already read.
+     */
+    public String eTag(String scope, Map<Aggregate, Long> versions, Aggregate... aggregates) {
+        StringBuilder tag = new StringBuilder("v");
+        for (Aggregate aggregate : aggregates) {
+            tag.append('-').append(versions.getOrDefault(aggregate, 0L));
+        }
+        if (scope != null && !scope.isEmpty()) {
+            tag.append('-').append(DigestUtils.md5DigestAsHex(scope.getBytes(StandardCharsets.UTF_8)), 0, 12);
+        }
+        return "\"" + tag + "\"";
+    }
+
+    /**
+     * As {@link #eTag(String, Aggregate...)} for a view of one user's reservations, so it also moves with that
+     * user's own reservation version.
+     */
+    public String userETag(Long userId, String scope, Aggregate... aggregates) {
+        long userVersion = userReservationVersionRepository.findVersion(userId).orElse(0L);
+        return eTag(userVersion + ":" + scope, current(), aggregates);
+    }
+
+    private PendingBump pendingBump() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingBump pending) {
+                return pending;
+            }
+        }
+        PendingBump pending = new PendingBump();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    // users created after the migration get their row on their first write
+    private void incrementReservations(Set<Long> userIds) {
+        if (userReservationVersionRepository.increment(userIds) == userIds.size()) {
+            return;
+        }
+        Set<Long> missing = new HashSet<>(userIds);
+        userReservationVersionRepository.findExistingUserIds(userIds).forEach(missing::remove);
+
+        List<UserReservationVersion> rows = new ArrayList<>();
+        for (Long userId : missing) {
+            rows.add(UserReservationVersion.builder().userId(userId).version(1).build());
+        }
+        userReservationVersionRepository.saveAll(rows);
+    }
+
+    // one increment per transaction, however many writes it makes
+    private class PendingBump implements TransactionSynchronization {
+
+        private final Set<Aggregate> aggregates = EnumSet.noneOf(Aggregate.class);
+        private final Set<Long> reservationOwners = new HashSet<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!aggregates.isEmpty()) {
+                aggregateVersionRepository.increment(aggregates);
+            }
+            if (!reservationOwners.isEmpty()) {
+                incrementReservations(reservationOwners);
+            }
+        }
+    }
+}
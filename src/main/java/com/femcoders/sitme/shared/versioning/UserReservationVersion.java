@@ -0,0 +1,25 @@
+package com.femcoders.sitme.shared.versioning;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "user_reservation_versions")
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class UserReservationVersion {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long version;
+}
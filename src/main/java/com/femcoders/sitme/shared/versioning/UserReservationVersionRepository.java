@@ -0,0 +1,25 @@
+package com.femcoders.sitme.shared.versioning;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface UserReservationVersionRepository extends JpaRepository<UserReservationVersion, Long> {
+
+    @Query("SELECT v.version FROM UserReservationVersion v WHERE v.userId = :userId")
+    Optional<Long> findVersion(@Param("userId") Long userId);
+
+    @Query("SELECT v.userId FROM UserReservationVersion v WHERE v.userId IN :userIds")
+    List<Long> findExistingUserIds(@Param("userIds") Collection<Long> userIds);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserReservationVersion v SET v.version = v.version + 1 WHERE v.userId IN :userIds")
+    int increment(@Param("userIds") Collection<Long> userIds);
+}
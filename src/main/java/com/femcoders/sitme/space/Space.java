@@ -1,16 +1,21 @@
 package com.femcoders.sitme.space;
 
 import com.femcoders.sitme.reservation.Reservation;
+import com.femcoders.sitme.shared.model.ImageStatus;
 import com.femcoders.sitme.shared.model.ImageUpdatable;
+import com.femcoders.sitme.shared.model.ImageVariants;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "spaces")
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "spaces")
+@Table(name = "spaces", indexes = @Index(name = "idx_spaces_type", columnList = "type"))
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
@@ -34,6 +39,13 @@ public class Space implements ImageUpdatable {
     private String imageUrl;
     private String cloudinaryImageId;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "image_status", length = 20)
+    private ImageStatus imageStatus;
+
+    @Embedded
+    private ImageVariants imageVariants;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -2,10 +2,17 @@ package com.femcoders.sitme.space.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.femcoders.sitme.shared.responses.SerializedResponse;
 import com.femcoders.sitme.shared.responses.SuccessResponse;
+import com.femcoders.sitme.shared.versioning.Aggregate;
+import com.femcoders.sitme.shared.versioning.AggregateVersions;
 import com.femcoders.sitme.space.SpaceType;
+import com.femcoders.sitme.space.dto.AvailabilityCalendarResponse;
 import com.femcoders.sitme.space.dto.SpaceRequest;
 import com.femcoders.sitme.space.dto.SpaceResponse;
+import com.femcoders.sitme.space.services.AvailabilityStream;
+import com.femcoders.sitme.space.services.SpaceCatalogCache;
+import com.femcoders.sitme.space.services.SpaceAvailabilityService;
 import com.femcoders.sitme.space.services.SpaceServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -16,13 +23,23 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.function.Supplier;
 
-import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
@@ -31,6 +48,13 @@ import java.util.List;
 public class SpaceController {
 
     private final SpaceServiceImpl spaceService;
+    private final AggregateVersions aggregateVersions;
+    private final SpaceAvailabilityService spaceAvailabilityService;
+    private final AvailabilityStream availabilityStream;
+    private final SpaceCatalogCache spaceCatalogCache;
+
+    @Value("${app.http.cache.spaces-max-age:PT60S}")
+    private Duration spacesMaxAge;
 
     @Operation(
             summary = "Get all spaces",
@@ -41,8 +65,8 @@ public class SpaceController {
                     content = @Content(array = @ArraySchema(schema = @Schema(implementation = SpaceResponse.class))))
     })
     @GetMapping
-    public ResponseEntity<List<SpaceResponse>> getAllSpaces() {
-        return ResponseEntity.ok(spaceService.getAllSpaces());
+    public ResponseEntity<byte[]> getAllSpaces(WebRequest webRequest) {
+        return conditionalJson(webRequest, "all", spaceService::getAllSpacesSerialized);
     }
     @Operation(
             summary = "Filter spaces by type",
@@ -53,8 +77,41 @@ public class SpaceController {
                     content = @Content(array = @ArraySchema(schema = @Schema(implementation = SpaceResponse.class))))
     })
     @GetMapping("/filter/type")
-    public ResponseEntity<List<SpaceResponse>> getSpacesByType(@RequestParam SpaceType type) {
-        return ResponseEntity.ok(spaceService.getSpacesByType(type));
+    public ResponseEntity<byte[]> getSpacesByType(@RequestParam SpaceType type, WebRequest webRequest) {
+        return conditionalJson(webRequest, "type:" + type, () -> spaceService.getSpacesByTypeSerialized(type));
+    }
+
+    @Operation(
+            summary = "Get the availability calendar",
+            description = "Returns, for every space (optionally filtered by type), one digit per day between from and to " +
+                    "with the free half-days: 1 = morning, 2 = afternoon, 3 = both, 0 = fully booked. At most 92 days."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Availability retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = AvailabilityCalendarResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid date range", content = @Content)
+    })
+    @GetMapping("/availability")
+    public ResponseEntity<AvailabilityCalendarResponse> getAvailability(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) SpaceType type) {
+        return ResponseEntity.ok(spaceAvailabilityService.getAvailability(from, to, type));
+    }
+
+    @Operation(
+            summary = "Stream availability changes",
+            description = "Server-Sent Events stream with one 'availability' event (spaceId, date, timeSlot, state) " +
+                    "shortly after a reservation change commits on any instance. Event ids are shared by all instances. " +
+                    "Missed events are not replayed: clients that fall behind are disconnected and should reconnect " +
+                    "and reload availability."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Stream opened", content = @Content)
+    })
+    @GetMapping(value = "/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability() {
+        return availabilityStream.subscribe();
     }
 
     @Operation(
@@ -67,9 +124,8 @@ public class SpaceController {
             @ApiResponse(responseCode = "404", description = "Space not found", content = @Content)
     })
     @GetMapping("/{id}")
-    public ResponseEntity<SpaceResponse> getSpaceById(@PathVariable Long id) {
-        SpaceResponse space = spaceService.getSpaceById(id);
-        return ResponseEntity.ok(space);
+    public ResponseEntity<byte[]> getSpaceById(@PathVariable Long id, WebRequest webRequest) {
+        return conditionalJson(webRequest, "id:" + id, () -> spaceService.getSpaceByIdSerialized(id));
     }
 
     @Operation(
@@ -142,4 +198,24 @@ public class SpaceController {
         spaceService.deleteSpace(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    // the ETag comes from the catalog version the cache itself holds, so a matching If-None-Match is answered
+    // before any lookup and a cache hit costs no query
+    private ResponseEntity<byte[]> conditionalJson(WebRequest webRequest, String view, Supplier<SerializedResponse<?>> loader) {
+        String eTag = aggregateVersions.eTag(view, Map.of(Aggregate.SPACES, spaceCatalogCache.version()), Aggregate.SPACES);
+        CacheControl cacheControl = CacheControl.maxAge(spacesMaxAge).cachePublic();
+
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(loader.get().json());
+    }
+}
@@ -0,0 +1,11 @@
+package com.femcoders.sitme.space.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record AvailabilityCalendarResponse(
+        LocalDate from,
+        LocalDate to,
+        List<SpaceAvailabilityResponse> spaces
+) {
+}
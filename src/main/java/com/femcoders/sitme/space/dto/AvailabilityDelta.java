@@ -0,0 +1,18 @@
+package com.femcoders.sitme.space.dto;
+
+import com.femcoders.sitme.reservation.TimeSlot;
+
+import java.time.LocalDate;
+
+public record AvailabilityDelta(
+        Long spaceId,
+        LocalDate date,
+        TimeSlot timeSlot,
+        State state
+) {
+
+    public enum State {
+        BOOKED,
+        FREED
+    }
+}
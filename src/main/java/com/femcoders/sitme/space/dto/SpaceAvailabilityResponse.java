@@ -0,0 +1,13 @@
+package com.femcoders.sitme.space.dto;
+
+/**
+ * {@code freeSlots} holds one digit per day of the requested range: the bitmask of free half-days,
+ * where 1 = morning, 2 = afternoon, 3 = both and 0 = fully booked.
+ */
+public record SpaceAvailabilityResponse(
+        Long spaceId,
+        String name,
+        String type,
+        String freeSlots
+) {
+}
@@ -1,5 +1,6 @@
 package com.femcoders.sitme.space.dto;
 
+import com.femcoders.sitme.shared.responses.ImageVariantsResponse;
 import com.femcoders.sitme.space.Space;
 
 public class SpaceMapper {
@@ -22,7 +23,9 @@ public class SpaceMapper {
                 space.getName(),
                 space.getCapacity(),
                 space.getType().name(),
-                space.getImageUrl()
+                space.getImageUrl(),
+                space.getImageStatus() == null ? null : space.getImageStatus().name(),
+                ImageVariantsResponse.of(space.getImageVariants())
         );
     }
 }
\ No newline at end of file
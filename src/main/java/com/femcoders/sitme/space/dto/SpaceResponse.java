@@ -1,11 +1,15 @@
 package com.femcoders.sitme.space.dto;
 
+import com.femcoders.sitme.shared.responses.ImageVariantsResponse;
+
 public record SpaceResponse(
         Long id,
         String name,
         Integer capacity,
         String type,
-        String imageUrl
+        String imageUrl,
+        String imageStatus,
+        ImageVariantsResponse images
 ) {
 }
 
@@ -0,0 +1,13 @@
+package com.femcoders.sitme.space.exceptions;
+
+import com.femcoders.sitme.shared.exceptions.ErrorCode;
+
+public class InvalidDateRangeException extends RuntimeException {
+    public InvalidDateRangeException(String message) {
+        super(message);
+    }
+
+    public ErrorCode getErrorCode() {
+        return ErrorCode.VALIDATION_ERROR;
+    }
+}
@@ -2,11 +2,25 @@ package com.femcoders.sitme.space.repository;
 
 import com.femcoders.sitme.space.Space;
 import com.femcoders.sitme.space.SpaceType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface SpaceRepository extends JpaRepository<Space, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Space> findByType(SpaceType type);
     boolean existsByName(String name);
+
+    // row lock that serializes series writes per space, since occurrences beyond the horizon hold no slot claims
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Space s WHERE s.id = :id")
+    Optional<Space> findByIdForUpdate(@Param("id") Long id);
 }
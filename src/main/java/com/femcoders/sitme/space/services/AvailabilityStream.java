@@ -0,0 +1,138 @@
+package com.femcoders.sitme.space.services;
+
+import com.femcoders.sitme.space.dto.AvailabilityDelta;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans availability deltas out to Server-Sent Events subscribers.
+ * Idle subscribers hold no thread: each one is an async response plus a bounded queue that is drained on a
+ * virtual thread only while it has events. A subscriber whose queue overflows is closed and expected to reconnect.
+ * Event ids are the ids of the shared {@code availability_changes} rows, so they mean the same on every instance;
+ * nothing is replayed on reconnect, and a client that reconnects should reload availability before applying events.
+ */
+@Component
+public class AvailabilityStream {
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter dropped;
+
+    @Value("${app.availability.stream.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${app.availability.stream.timeout:PT1H}")
+    private Duration timeout;
+
+    public AvailabilityStream(MeterRegistry meterRegistry) {
+        Gauge.builder("sitme.availability.stream.subscribers", subscribers, Set::size)
+                .description("Open availability stream connections")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("sitme.availability.stream.dropped")
+                .description("Availability stream subscribers closed because their buffer overflowed")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = newEmitter();
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        enqueue(subscriber, SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    public void publish(long id, AvailabilityDelta delta) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, SseEmitter.event()
+                    .id(Long.toString(id))
+                    .name("availability")
+                    .data(delta, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.availability.stream.heartbeat:PT30S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    protected SseEmitter newEmitter() {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    private void enqueue(Subscriber subscriber, SseEventBuilder event) {
+        if (!subscriber.queue.offer(event)) {
+            dropped.increment();
+            close(subscriber);
+            return;
+        }
+        drain(subscriber);
+    }
+
+    private void drain(Subscriber subscriber) {
+        if (!subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        senders.execute(() -> {
+            try {
+                SseEventBuilder event;
+                while ((event = subscriber.queue.poll()) != null) {
+                    subscriber.emitter.send(event);
+                }
+            } catch (Exception exception) {
+                close(subscriber);
+            } finally {
+                subscriber.draining.set(false);
+                if (!subscriber.queue.isEmpty() && subscribers.contains(subscriber)) {
+                    drain(subscriber);
+                }
+            }
+        });
+    }
+
+    private void close(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.queue.clear();
+            subscriber.emitter.complete();
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, BlockingQueue<SseEventBuilder> queue) {
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.femcoders.sitme.space.services;
+
+import com.femcoders.sitme.reservation.Status;
+import com.femcoders.sitme.reservation.TimeSlot;
+import com.femcoders.sitme.reservation.dtos.ReservationSlot;
+import com.femcoders.sitme.reservation.repository.ReservationRepository;
+import com.femcoders.sitme.reservation.services.ReservationSeriesService;
+import com.femcoders.sitme.space.SpaceType;
+import com.femcoders.sitme.space.dto.AvailabilityCalendarResponse;
+import com.femcoders.sitme.space.dto.SpaceAvailabilityResponse;
+import com.femcoders.sitme.space.dto.SpaceResponse;
+import com.femcoders.sitme.space.exceptions.InvalidDateRangeException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Free half-days per space and day, built from a single grouped query over ACTIVE reservations
+ * plus the not yet materialized occurrences of reservation series inside the requested window.
+ * The space list comes from the cached catalog.
+ */
+@Service
+@RequiredArgsConstructor
+public class SpaceAvailabilityService {
+
+    public static final int MAX_DAYS = 92;
+
+    private final ReservationRepository reservationRepository;
+    private final SpaceService spaceService;
+    private final ReservationSeriesService reservationSeriesService;
+
+    public AvailabilityCalendarResponse getAvailability(LocalDate from, LocalDate to, SpaceType type) {
+
+        if (to.isBefore(from)) {
+            throw new InvalidDateRangeException("'to' must not be before 'from'");
+        }
+
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > MAX_DAYS) {
+            throw new InvalidDateRangeException("Availability can be requested for at most " + MAX_DAYS + " days");
+        }
+
+        List<SpaceResponse> spaces = type == null ? spaceService.getAllSpaces() : spaceService.getSpacesByType(type);
+
+        List<ReservationSlot> occupiedSlots = new ArrayList<>(reservationRepository.findOccupiedSlots(Status.ACTIVE, from, to, type));
+        occupiedSlots.addAll(reservationSeriesService.findPendingOccurrences(
+                spaces.stream().map(SpaceResponse::id).toList(), from, to));
+
+        Map<Long, int[]> occupied = new HashMap<>();
+        for (ReservationSlot slot : occupiedSlots) {
+            int day = (int) ChronoUnit.DAYS.between(from, slot.reservationDate());
+            occupied.computeIfAbsent(slot.spaceId(), id -> new int[days])[day] |= slot.timeSlot().mask();
+        }
+
+        List<SpaceAvailabilityResponse> calendar = new ArrayList<>(spaces.size());
+        for (SpaceResponse space : spaces) {
+            calendar.add(new SpaceAvailabilityResponse(
+                    space.id(), space.name(), space.type(), encode(occupied.get(space.id()), days)));
+        }
+
+        return new AvailabilityCalendarResponse(from, to, calendar);
+    }
+
+    private static String encode(int[] occupiedMasks, int days) {
+        char[] freeSlots = new char[days];
+        for (int day = 0; day < days; day++) {
+            int occupiedMask = occupiedMasks == null ? 0 : occupiedMasks[day];
+            freeSlots[day] = (char) ('0' + (TimeSlot.FULL_DAY.mask() & ~occupiedMask));
+        }
+        return new String(freeSlots);
+    }
+}
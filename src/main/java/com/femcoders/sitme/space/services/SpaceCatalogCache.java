@@ -0,0 +1,141 @@
+package com.femcoders.sitme.space.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.femcoders.sitme.shared.responses.SerializedResponse;
+import com.femcoders.sitme.shared.versioning.Aggregate;
+import com.femcoders.sitme.shared.versioning.AggregateVersions;
+import com.femcoders.sitme.space.SpaceType;
+import com.femcoders.sitme.space.dto.SpaceResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the space catalog: the full list, one list per {@link SpaceType} and one entry per id.
+ * Entries live in a single generation map that {@link #invalidate()} swaps out in one step, so a write
+ * drops every view at once and a load racing with it lands in the discarded generation. Inside a transaction
+ * the swap waits for the commit, so a load cannot re-cache rows the write has not yet published.
+ * A generation also belongs to one shared {@link Aggregate#SPACES} version and lives at most as long as the HTTP
+ * max-age, so writes committed by other instances retire it on the next read here. That version is read at most
+ * once per {@code spaces-version-ttl} and dropped on local writes, so a catalog request that builds its ETag from
+ * {@link #version()} and then hits the cache costs no query at all.
+ */
+@Component
+@RequiredArgsConstructor
+public class SpaceCatalogCache {
+
+    private static final String ALL = "all";
+
+    private final ObjectMapper objectMapper;
+    private final AggregateVersions aggregateVersions;
+
+    @Value("${app.http.cache.spaces-max-age:PT60S}")
+    private Duration maxAge;
+
+    @Value("${app.http.cache.spaces-version-ttl:PT1S}")
+    private Duration versionTtl;
+
+    private final AtomicReference<Generation> generation = new AtomicReference<>(Generation.retired());
+    private final AtomicReference<HeldVersion> heldVersion = new AtomicReference<>();
+
+    public SerializedResponse<List<SpaceResponse>> all(Supplier<List<SpaceResponse>> loader) {
+        return get(ALL, loader);
+    }
+
+    public SerializedResponse<List<SpaceResponse>> byType(SpaceType type, Supplier<List<SpaceResponse>> loader) {
+        return get(type, loader);
+    }
+
+    public SerializedResponse<SpaceResponse> byId(Long id, Supplier<SpaceResponse> loader) {
+        return get(id, loader);
+    }
+
+    /**
+     * The shared {@link Aggregate#SPACES} version, as last read within {@code spaces-version-ttl}.
+     */
+    public long version() {
+        long now = System.nanoTime();
+        HeldVersion held = heldVersion.get();
+        if (held != null && now - held.readAt() < versionTtl.toNanos()) {
+            return held.version();
+        }
+        long version = aggregateVersions.current(Aggregate.SPACES);
+        heldVersion.set(new HeldVersion(version, now));
+        return version;
+    }
+
+    public void invalidate() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            retire();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                retire();
+            }
+        });
+    }
+
+    private void retire() {
+        heldVersion.set(null);
+        generation.set(Generation.retired());
+    }
+
+    // the version is read before loading, so a racing write can only make an entry fresher than its generation
+    private ConcurrentHashMap<Object, SerializedResponse<?>> entries() {
+        long version = version();
+        long now = System.nanoTime();
+        Generation current = generation.get();
+
+        if (current.version() == version && now - current.createdAt() < maxAge.toNanos()) {
+            return current.entries();
+        }
+
+        Generation fresh = new Generation(version, now, new ConcurrentHashMap<>());
+        return generation.compareAndSet(current, fresh) ? fresh.entries() : generation.get().entries();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> SerializedResponse<T> get(Object key, Supplier<T> loader) {
+        ConcurrentHashMap<Object, SerializedResponse<?>> entries = entries();
+
+        SerializedResponse<?> cached = entries.get(key);
+        if (cached != null) {
+            return (SerializedResponse<T>) cached;
+        }
+
+        T value = loader.get();
+        SerializedResponse<T> loaded = new SerializedResponse<>(value, serialize(value));
+        SerializedResponse<?> previous = entries.putIfAbsent(key, loaded);
+
+        return previous == null ? loaded : (SerializedResponse<T>) previous;
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalArgumentException("Could not serialize space catalog entry", exception);
+        }
+    }
+
+    private record HeldVersion(long version, long readAt) {
+    }
+
+    private record Generation(long version, long createdAt, ConcurrentHashMap<Object, SerializedResponse<?>> entries) {
+
+        static Generation retired() {
+            return new Generation(-1, 0, new ConcurrentHashMap<>());
+        }
+    }
+}
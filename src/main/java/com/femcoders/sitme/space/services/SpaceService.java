@@ -1,6 +1,6 @@
 package com.femcoders.sitme.space.services;
 
-import com.femcoders.sitme.space.Space;
+import com.femcoders.sitme.shared.responses.SerializedResponse;
 import com.femcoders.sitme.space.SpaceType;
 import com.femcoders.sitme.space.dto.SpaceRequest;
 import com.femcoders.sitme.space.dto.SpaceResponse;
@@ -12,6 +12,9 @@ public interface SpaceService {
     List<SpaceResponse> getAllSpaces();
     List<SpaceResponse> getSpacesByType(SpaceType type);
     SpaceResponse getSpaceById(Long id);
+    SerializedResponse<List<SpaceResponse>> getAllSpacesSerialized();
+    SerializedResponse<List<SpaceResponse>> getSpacesByTypeSerialized(SpaceType type);
+    SerializedResponse<SpaceResponse> getSpaceByIdSerialized(Long id);
     SpaceResponse addSpace(SpaceRequest spaceRequest, MultipartFile file);
     SpaceResponse updateSpace(Long id, SpaceRequest spaceRequest, MultipartFile file);
     void deleteSpace(Long id);
@@ -1,6 +1,6 @@
 package com.femcoders.sitme.space.services;
 
-import com.femcoders.sitme.cloudinary.service.CloudinaryService;
+import com.femcoders.sitme.image.service.EntityImageService;
 import com.femcoders.sitme.space.Space;
 import com.femcoders.sitme.space.dto.SpaceRequest;
 import com.femcoders.sitme.space.exceptions.InvalidSpaceNameException;
@@ -10,9 +10,13 @@ import com.femcoders.sitme.space.SpaceType;
 import com.femcoders.sitme.space.dto.SpaceMapper;
 import com.femcoders.sitme.space.dto.SpaceResponse;
 import com.femcoders.sitme.shared.exceptions.EntityNotFoundException;
+import com.femcoders.sitme.shared.responses.SerializedResponse;
+import com.femcoders.sitme.shared.versioning.Aggregate;
+import com.femcoders.sitme.shared.versioning.AggregateVersions;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -22,34 +26,54 @@ import java.util.List;
 public class SpaceServiceImpl implements SpaceService {
 
     private final SpaceRepository spaceRepository;
-    private final CloudinaryService cloudinaryService;
+    private final EntityImageService entityImageService;
+    private final SpaceCatalogCache spaceCatalogCache;
+    private final AggregateVersions aggregateVersions;
 
     @Override
     public List<SpaceResponse> getAllSpaces() {
-        return spaceRepository.findAll()
+        return getAllSpacesSerialized().value();
+    }
+
+    @Override
+    public List<SpaceResponse> getSpacesByType(SpaceType type) {
+        return getSpacesByTypeSerialized(type).value();
+    }
+
+    @Override
+    public SpaceResponse getSpaceById(Long id) {
+        return getSpaceByIdSerialized(id).value();
+    }
+
+    @Override
+    public SerializedResponse<List<SpaceResponse>> getAllSpacesSerialized() {
+        return spaceCatalogCache.all(() -> spaceRepository.findAll()
                 .stream()
                 .map(SpaceMapper::entityToDto)
-                .toList();
+                .toList());
     }
 
     @Override
-    public List<SpaceResponse> getSpacesByType(SpaceType type) {
-        return spaceRepository.findByType(type)
+    public SerializedResponse<List<SpaceResponse>> getSpacesByTypeSerialized(SpaceType type) {
+        return spaceCatalogCache.byType(type, () -> spaceRepository.findByType(type)
                 .stream()
                 .map(SpaceMapper::entityToDto)
-                .toList();
+                .toList());
     }
 
     @Override
-    public SpaceResponse getSpaceById(Long id) {
-        Space space = spaceRepository.findById(id)
-                .orElseThrow(()->new EntityNotFoundException(Space.class.getSimpleName(), id));
+    public SerializedResponse<SpaceResponse> getSpaceByIdSerialized(Long id) {
+        return spaceCatalogCache.byId(id, () -> {
+            Space space = spaceRepository.findById(id)
+                    .orElseThrow(()->new EntityNotFoundException(Space.class.getSimpleName(), id));
 
-        return SpaceMapper.entityToDto(space);
+            return SpaceMapper.entityToDto(space);
+        });
     }
 
     @PreAuthorize("hasRole('ADMIN')")
     @Override
+    @Transactional
     public SpaceResponse addSpace(SpaceRequest spaceRequest, MultipartFile file) {
 
         if (spaceRequest.name() == null || spaceRequest.name().isBlank()) {
@@ -63,16 +87,19 @@ public class SpaceServiceImpl implements SpaceService {
         Space newSpace = SpaceMapper.dtoToEntity(spaceRequest);
 
         if (file != null && !file.isEmpty()) {
-            cloudinaryService.uploadEntityImage(newSpace, file, "sitme/spaces");
+            entityImageService.uploadEntityImage(newSpace, file, "sitme/spaces", this::onImageSettled);
         }
 
         Space savedSpace = spaceRepository.save(newSpace);
+        spaceCatalogCache.invalidate();
+        aggregateVersions.bump(Aggregate.SPACES);
 
         return SpaceMapper.entityToDto(savedSpace);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
     @Override
+    @Transactional
     public SpaceResponse updateSpace(Long id, SpaceRequest spaceRequest, MultipartFile file){
         Space isExisting = spaceRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Not exists by id: " + id));
@@ -82,11 +109,12 @@ public class SpaceServiceImpl implements SpaceService {
         isExisting.setType(spaceRequest.type());
 
         if (file != null && !file.isEmpty()) {
-            cloudinaryService.deleteEntityImage(isExisting);
-            cloudinaryService.uploadEntityImage(isExisting, file, "sitme/spaces");
+            entityImageService.uploadEntityImage(isExisting, file, "sitme/spaces", this::onImageSettled);
         }
 
         Space savedSpace = spaceRepository.save(isExisting);
+        spaceCatalogCache.invalidate();
+        aggregateVersions.bump(Aggregate.SPACES);
         return SpaceMapper.entityToDto(savedSpace);
     }
 
@@ -96,10 +124,17 @@ public class SpaceServiceImpl implements SpaceService {
         Space spaceToDelete = spaceRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Space", id));
         if (spaceToDelete.getCloudinaryImageId() != null && !spaceToDelete.getCloudinaryImageId().isBlank()) {
-            cloudinaryService.deleteEntityImage(spaceToDelete);
+            entityImageService.deleteEntityImage(spaceToDelete);
         }
 
         spaceRepository.deleteById(id);
+        spaceCatalogCache.invalidate();
+        aggregateVersions.bump(Aggregate.SPACES);
+
+    }
 
+    private void onImageSettled() {
+        spaceCatalogCache.invalidate();
+        aggregateVersions.bump(Aggregate.SPACES);
     }
 }
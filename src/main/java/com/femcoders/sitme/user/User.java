@@ -1,9 +1,13 @@
 package com.femcoders.sitme.user;
 
 import com.femcoders.sitme.reservation.Reservation;
+import com.femcoders.sitme.shared.model.ImageStatus;
 import com.femcoders.sitme.shared.model.ImageUpdatable;
+import com.femcoders.sitme.shared.model.ImageVariants;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 
@@ -11,6 +15,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @Table(name = "users")
 @AllArgsConstructor @NoArgsConstructor
 @Data
@@ -39,6 +44,13 @@ public class User implements ImageUpdatable {
     @Column(name = "cloudinary_image_id")
     private String cloudinaryImageId;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "image_status", length = 20)
+    private ImageStatus imageStatus;
+
+    @Embedded
+    private ImageVariants imageVariants;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -1,5 +1,6 @@
 package com.femcoders.sitme.user.dtos.user;
 
+import com.femcoders.sitme.shared.responses.ImageVariantsResponse;
 import com.femcoders.sitme.user.Role;
 import com.femcoders.sitme.user.User;
 
@@ -20,7 +21,9 @@ public class UserMapper {
                 user.getEmail(),
                 user.getRole(),
                 user.getImageUrl(),
-                user.getCloudinaryImageId()
+                user.getCloudinaryImageId(),
+                user.getImageStatus() == null ? null : user.getImageStatus().name(),
+                ImageVariantsResponse.of(user.getImageVariants())
         );
     }
 }
@@ -2,6 +2,7 @@ package com.femcoders.sitme.user.dtos.user;
 
 import com.femcoders.sitme.reservation.Reservation;
 import com.femcoders.sitme.reservation.dtos.ReservationResponse;
+import com.femcoders.sitme.shared.responses.ImageVariantsResponse;
 import com.femcoders.sitme.user.Role;
 
 import java.time.LocalDateTime;
@@ -12,6 +13,8 @@ public record UserResponse(
         String email,
         Role role,
         String imageUrl,
-        String cloudinaryImageUrl
+        String cloudinaryImageUrl,
+        String imageStatus,
+        ImageVariantsResponse images
 ) {
 }
@@ -3,12 +3,14 @@ package com.femcoders.sitme.user.repository;
 import com.femcoders.sitme.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
+    List<User> findByUsernameOrEmail(String username, String email);
 
     boolean existsByEmail(String email);
     boolean existsByUsername(String username);
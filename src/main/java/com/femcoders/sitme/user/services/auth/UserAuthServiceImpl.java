@@ -1,6 +1,6 @@
 package com.femcoders.sitme.user.services.auth;
 
-import com.femcoders.sitme.email.EmailService;
+import com.femcoders.sitme.email.EmailOutboxService;
 import com.femcoders.sitme.security.jwt.JwtService;
 import com.femcoders.sitme.security.userdetails.CustomUserDetails;
 import com.femcoders.sitme.user.User;
@@ -31,7 +31,7 @@ public class UserAuthServiceImpl implements UserAuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
-    private final EmailService emailService;
+    private final EmailOutboxService emailOutboxService;
     private final RegisterMapper registerMapper;
 
     @Override
@@ -48,7 +48,7 @@ public class UserAuthServiceImpl implements UserAuthService {
         User newUser = registerMapper.dtoToEntity(registerRequest);
         newUser.setPassword(passwordEncoder.encode(registerRequest.password()));
         User savedUser = userRepository.save(newUser);
-        emailService.sendRegistrationEmail(savedUser.getEmail(), savedUser.getUsername());
+        emailOutboxService.enqueueRegistration(savedUser);
 
         return registerMapper.entityToDto(savedUser);
     }
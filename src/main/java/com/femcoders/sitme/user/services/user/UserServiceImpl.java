@@ -1,6 +1,10 @@
 package com.femcoders.sitme.user.services.user;
 
-import com.femcoders.sitme.cloudinary.service.CloudinaryService;
+import com.femcoders.sitme.image.service.EntityImageService;
+import com.femcoders.sitme.security.revocation.TokenRevocationService;
+import com.femcoders.sitme.security.userdetails.UserDetailsCacheEvictor;
+import com.femcoders.sitme.shared.versioning.Aggregate;
+import com.femcoders.sitme.shared.versioning.AggregateVersions;
 import com.femcoders.sitme.user.User;
 import com.femcoders.sitme.user.dtos.user.UserMapper;
 import com.femcoders.sitme.user.dtos.user.UserResponse;
@@ -24,7 +28,10 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final CloudinaryService cloudinaryService;
+    private final EntityImageService entityImageService;
+    private final TokenRevocationService tokenRevocationService;
+    private final AggregateVersions aggregateVersions;
+    private final UserDetailsCacheEvictor userDetailsCacheEvictor;
 
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -52,11 +59,14 @@ public class UserServiceImpl implements UserService {
         User existingUser = userRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(User.class.getSimpleName(), id));
 
+        boolean credentialsChanged = false;
+
         if (!existingUser.getUsername().equals(userRequest.username())) {
             if (userRepository.existsByUsername(userRequest.username())) {
                 throw new IdentifierAlreadyExistsException("Username is already registered");
             }
             existingUser.setUsername(userRequest.username());
+            credentialsChanged = true;
         }
 
         if (!existingUser.getEmail().equals(userRequest.email())) {
@@ -68,14 +78,20 @@ public class UserServiceImpl implements UserService {
 
         if (userRequest.password() != null && !userRequest.password().isBlank()) {
             existingUser.setPassword(passwordEncoder.encode(userRequest.password()));
+            credentialsChanged = true;
         }
 
         if (file != null && !file.isEmpty()) {
-            cloudinaryService.uploadEntityImage(existingUser, file, "sitme/users");
-            cloudinaryService.deleteEntityImage(existingUser);
+            entityImageService.uploadEntityImage(existingUser, file, "sitme/users");
         }
 
         User updatedUser = userRepository.save(existingUser);
+        userDetailsCacheEvictor.evictAfterCommit(id);
+
+        if (credentialsChanged) {
+            tokenRevocationService.revokeTokens(id);
+            aggregateVersions.bump(Aggregate.USERS);
+        }
         return UserMapper.entityToDto(updatedUser);
     }
 
@@ -86,7 +102,7 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(id)
                     .orElseThrow(()-> new EntityNotFoundException(User.class.getSimpleName(), id));
 
-        cloudinaryService.uploadEntityImage(user, file, "sitme/users");
+        entityImageService.uploadEntityImage(user, file, "sitme/users");
 
         userRepository.save(user);
 
@@ -100,6 +116,10 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(User.class.getSimpleName(), id));
         userRepository.deleteById(id);
+        userDetailsCacheEvictor.evictAfterCommit(id);
+
+        tokenRevocationService.revokeTokens(id);
+        aggregateVersions.bump(Aggregate.USERS);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -109,7 +129,7 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(()-> new EntityNotFoundException(User.class.getSimpleName(), id));
 
-        cloudinaryService.deleteEntityImage(user);
+        entityImageService.deleteEntityImage(user);
 
         userRepository.save(user);
     }
@@ -1,6 +1,10 @@
 package com.femcoders.sitme.user.services.userprofile;
 
-import com.femcoders.sitme.cloudinary.service.CloudinaryService;
+import com.femcoders.sitme.image.service.EntityImageService;
+import com.femcoders.sitme.security.revocation.TokenRevocationService;
+import com.femcoders.sitme.security.userdetails.UserDetailsCacheEvictor;
+import com.femcoders.sitme.shared.versioning.Aggregate;
+import com.femcoders.sitme.shared.versioning.AggregateVersions;
 import com.femcoders.sitme.security.userdetails.CustomUserDetails;
 import com.femcoders.sitme.shared.exceptions.EntityNotFoundException;
 import com.femcoders.sitme.user.User;
@@ -24,7 +28,10 @@ public class UserProfileServiceImpl implements UserProfileService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final CloudinaryService cloudinaryService;
+    private final EntityImageService entityImageService;
+    private final TokenRevocationService tokenRevocationService;
+    private final AggregateVersions aggregateVersions;
+    private final UserDetailsCacheEvictor userDetailsCacheEvictor;
 
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
     @Override
@@ -49,11 +56,14 @@ public class UserProfileServiceImpl implements UserProfileService {
             throw new AccessDeniedException("You are not allowed to update this profile");
         }
 
+        boolean credentialsChanged = false;
+
         if (!userProfile.getUsername().equals(userRequest.username())) {
             if (userRepository.existsByUsername(userRequest.username())) {
                 throw new IdentifierAlreadyExistsException("Username is already registered");
             }
             userProfile.setUsername(userRequest.username());
+            credentialsChanged = true;
         }
 
         if (!userProfile.getEmail().equals(userRequest.email())) {
@@ -65,14 +75,20 @@ public class UserProfileServiceImpl implements UserProfileService {
 
         if (userRequest.password() != null && !userRequest.password().isBlank()) {
             userProfile.setPassword(passwordEncoder.encode(userRequest.password()));
+            credentialsChanged = true;
         }
 
         if (file != null && !file.isEmpty()) {
-            cloudinaryService.deleteEntityImage(userProfile);
-            cloudinaryService.uploadEntityImage(userProfile, file, "sitme/users");
+            entityImageService.uploadEntityImage(userProfile, file, "sitme/users");
         }
 
         User updatedProfile = userRepository.save(userProfile);
+        userDetailsCacheEvictor.evictAfterCommit(updatedProfile.getId());
+
+        if (credentialsChanged) {
+            tokenRevocationService.revokeTokens(updatedProfile.getId());
+            aggregateVersions.bump(Aggregate.USERS);
+        }
 
         return UserMapper.entityToDto(updatedProfile);
     }
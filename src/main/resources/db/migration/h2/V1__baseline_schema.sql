@@ -0,0 +1,200 @@
+-- Baseline: the schema Hibernate generated with ddl-auto=create-drop before Flyway took over.
+
+create sequence reservation_slot_claims_seq start with 1 increment by 50;
+
+create sequence reservations_seq start with 1 increment by 50;
+
+create table email_outbox (
+    attempts integer not null,
+    reservation_date date,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    next_attempt_at timestamp(6) not null,
+    reservation_id bigint,
+    sent_at timestamp(6),
+    time_slot varchar(20),
+    username varchar(50) not null,
+    recipient_email varchar(60) not null,
+    space_name varchar(60),
+    last_error varchar(500),
+    reservation_ids varchar(1000),
+    details varchar(4000),
+    status enum ('FAILED','PENDING','SENT') not null,
+    type enum ('REGISTRATION','RESERVATION_BATCH_CONFIRMATION','RESERVATION_CANCELLATION','RESERVATION_CONFIRMATION','RESERVATION_UPDATE') not null,
+    primary key (id)
+);
+
+create table job_leases (
+    locked_until timestamp(6) with time zone not null,
+    name varchar(64) not null,
+    locked_by varchar(100) not null,
+    primary key (name)
+);
+
+create table reservation_series (
+    end_date date not null,
+    materialized_until date not null,
+    start_date date not null,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    space_id bigint not null,
+    user_id bigint not null,
+    day_of_week enum ('FRIDAY','MONDAY','SATURDAY','SUNDAY','THURSDAY','TUESDAY','WEDNESDAY') not null,
+    status enum ('ACTIVE','CANCELLED','COMPLETED') not null,
+    time_slot enum ('AFTERNOON','FULL_DAY','MORNING') not null,
+    primary key (id)
+);
+
+create table reservation_series_skipped_dates (
+    skipped_date date not null,
+    series_id bigint not null,
+    primary key (skipped_date, series_id)
+);
+
+create table reservation_slot_claims (
+    reservation_date date not null,
+    id bigint not null,
+    reservation_id bigint not null,
+    space_id bigint not null,
+    half_day enum ('AFTERNOON','FULL_DAY','MORNING') not null,
+    primary key (id),
+    constraint uk_slot_claims_space_date_half unique (space_id, reservation_date, half_day)
+);
+
+create table reservations (
+    email_sent boolean not null,
+    reservation_date date not null,
+    created_at timestamp(6) not null,
+    id bigint not null,
+    series_id bigint,
+    space_id bigint not null,
+    user_id bigint not null,
+    status enum ('ACTIVE','CANCELLED','COMPLETED') not null,
+    time_slot enum ('AFTERNOON','FULL_DAY','MORNING') not null,
+    primary key (id)
+);
+
+create table reservations_archive (
+    email_sent boolean not null,
+    reservation_date date not null,
+    archived_at timestamp(6) not null,
+    created_at timestamp(6) not null,
+    id bigint not null,
+    space_id bigint not null,
+    user_id bigint not null,
+    status enum ('ACTIVE','CANCELLED','COMPLETED') not null,
+    time_slot enum ('AFTERNOON','FULL_DAY','MORNING') not null,
+    primary key (id)
+);
+
+create table spaces (
+    capacity integer not null,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    name varchar(60) not null,
+    image_card_url varchar(500),
+    image_full_url varchar(500),
+    image_thumbnail_url varchar(500),
+    image_url varchar(500),
+    cloudinary_image_id varchar(255),
+    image_status enum ('FAILED','PENDING','READY'),
+    type enum ('ROOM','TABLE') not null,
+    primary key (id)
+);
+
+create table token_revocations (
+    revoked_before timestamp(6) with time zone not null,
+    user_id bigint not null,
+    primary key (user_id)
+);
+
+create table users (
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    username varchar(15) not null,
+    email varchar(60) not null,
+    password varchar(60) not null,
+    image_card_url varchar(500),
+    image_full_url varchar(500),
+    image_thumbnail_url varchar(500),
+    image_url varchar(500),
+    cloudinary_image_id varchar(255),
+    image_status enum ('FAILED','PENDING','READY'),
+    role enum ('ADMIN','USER') not null,
+    primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email)
+);
+
+create index idx_email_outbox_status_next_attempt
+    on email_outbox (status, next_attempt_at);
+
+create index idx_reservation_series_space_status
+    on reservation_series (space_id, status);
+
+create index idx_reservations_date_id
+    on reservations (reservation_date, id);
+
+create index idx_reservations_user_date_id
+    on reservations (user_id, reservation_date, id);
+
+create index idx_reservations_space_date_id
+    on reservations (space_id, reservation_date, id);
+
+create index idx_reservations_status_date_id
+    on reservations (status, reservation_date, id);
+
+create index idx_reservations_archive_user_date_id
+    on reservations_archive (user_id, reservation_date, id);
+
+alter table reservation_series
+    add constraint fk_reservation_series_space
+    foreign key (space_id)
+    references spaces (id)
+    on delete cascade;
+
+alter table reservation_series
+    add constraint fk_reservation_series_user
+    foreign key (user_id)
+    references users (id)
+    on delete cascade;
+
+alter table reservation_series_skipped_dates
+    add constraint fk_reservation_series_skipped_dates_series
+    foreign key (series_id)
+    references reservation_series (id)
+    on delete cascade;
+
+alter table reservation_slot_claims
+    add constraint fk_reservation_slot_claims_reservation
+    foreign key (reservation_id)
+    references reservations (id)
+    on delete cascade;
+
+alter table reservations
+    add constraint fk_reservations_series
+    foreign key (series_id)
+    references reservation_series (id)
+    on delete set null;
+
+alter table reservations
+    add constraint fk_reservations_space
+    foreign key (space_id)
+    references spaces (id);
+
+alter table reservations
+    add constraint fk_reservations_user
+    foreign key (user_id)
+    references users (id);
+
+alter table reservations_archive
+    add constraint fk_reservations_archive_space
+    foreign key (space_id)
+    references spaces (id)
+    on delete cascade;
+
+alter table reservations_archive
+    add constraint fk_reservations_archive_user
+    foreign key (user_id)
+    references users (id)
+    on delete cascade;
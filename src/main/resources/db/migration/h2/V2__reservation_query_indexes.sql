@@ -0,0 +1,14 @@
+-- Availability checks look up one space on a date (or a date range) for a given status.
+create index idx_reservations_space_date_status
+    on reservations (space_id, reservation_date, status);
+
+-- The new index leads with the same (space_id, reservation_date) and carries the primary key, so it covers
+-- everything the old one served; keeping both would only tax every insert on the hottest table.
+drop index idx_reservations_space_date_id;
+
+-- Series materialisation and cancellation walk one series forward from a date.
+create index idx_reservations_series_date
+    on reservations (series_id, reservation_date);
+
+create index idx_spaces_type
+    on spaces (type);
@@ -0,0 +1,11 @@
+-- One version row per aggregate, bumped in the writing transaction; every instance builds its ETags from it.
+create table aggregate_versions (
+    aggregate varchar(32) not null,
+    version bigint not null,
+    primary key (aggregate)
+);
+
+insert into aggregate_versions (aggregate, version) values
+    ('SPACES', 0),
+    ('RESERVATIONS', 0),
+    ('USERS', 0);
@@ -0,0 +1,2 @@
+-- Series occurrences skipped because the slot was booked first are reported to the owner by email.
+alter table email_outbox alter column type enum ('REGISTRATION','RESERVATION_BATCH_CONFIRMATION','RESERVATION_CANCELLATION','RESERVATION_CONFIRMATION','RESERVATION_UPDATE','SERIES_OCCURRENCE_SKIPPED') not null;
@@ -0,0 +1,9 @@
+-- Reservation version per user, so a booking bumps only its owner's row instead of one row shared by everybody.
+create table user_reservation_versions (
+    user_id bigint not null,
+    version bigint not null,
+    primary key (user_id)
+);
+
+insert into user_reservation_versions (user_id, version)
+    select id, 0 from users;
@@ -0,0 +1,13 @@
+-- One row per occupancy change; every instance polls it by id to update its index and availability stream.
+create table availability_changes (
+    id bigint not null auto_increment,
+    space_id bigint not null,
+    reservation_date date not null,
+    time_slot enum ('AFTERNOON','FULL_DAY','MORNING') not null,
+    state enum ('BOOKED','FREED') not null,
+    created_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_availability_changes_created_at
+    on availability_changes (created_at);
@@ -0,0 +1,13 @@
+-- Background uploads not settled yet, so uploads lost with their instance can be failed by another one.
+create table pending_image_uploads (
+    id bigint not null auto_increment,
+    entity_name varchar(60) not null,
+    entity_id bigint not null,
+    public_id varchar(255) not null,
+    previous_public_id varchar(255),
+    created_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_pending_image_uploads_created_at
+    on pending_image_uploads (created_at);
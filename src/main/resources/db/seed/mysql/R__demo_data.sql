@@ -1,4 +1,7 @@
-INSERT INTO users (id, username, email, password, role, image_url, created_at) VALUES
+-- Demo users, spaces and reservations; only applied when db/seed is added to the Flyway locations.
+-- Repeatable and idempotent: Flyway re-runs it whenever it changes, and existing rows are left alone.
+
+INSERT IGNORE INTO users (id, username, email, password, role, image_url, created_at) VALUES
 (1,  'admin',   'admin@sitme.com',  '$2a$12$X1W1O3oiCmoNffQnCXato./fd0980sACZhf/xvFrAUddOoZWKvdv6', 'ADMIN', 'https://res.cloudinary.com/dnrtgr353/image/upload/v1758668987/sitme/users/admin_image.png_20250924010946.png', NOW()),
 (2,  'debora',  'debora@sitme.com', '$2a$12$X1W1O3oiCmoNffQnCXato./fd0980sACZhf/xvFrAUddOoZWKvdv6', 'USER', 'https://res.cloudinary.com/dnrtgr353/image/upload/v1758734517/sitme/users/user_1.png_20250924192156.png', NOW()),
 (3,  'roberto', 'roberto@sitme.com','$2a$12$X1W1O3oiCmoNffQnCXato./fd0980sACZhf/xvFrAUddOoZWKvdv6', 'USER', 'https://res.cloudinary.com/dnrtgr353/image/upload/v1759396050/user_2_fcdycl.png', NOW()),
@@ -10,7 +13,7 @@ INSERT INTO users (id, username, email, password, role, image_url, created_at) V
 (9,  'ana',     'ana@sitme.com',    '$2a$12$X1W1O3oiCmoNffQnCXato./fd0980sACZhf/xvFrAUddOoZWKvdv6', 'USER', 'https://res.cloudinary.com/dnrtgr353/image/upload/v1759396297/user_8_ik22ai.png', NOW()),
 (10, 'sergio',  'sergio@sitme.com', '$2a$12$X1W1O3oiCmoNffQnCXato./fd0980sACZhf/xvFrAUddOoZWKvdv6', 'USER', 'https://res.cloudinary.com/dnrtgr353/image/upload/v1759396331/user_9_vkumma.png', NOW()),
 (11, 'marta',   'marta@sitme.com',  '$2a$12$X1W1O3oiCmoNffQnCXato./fd0980sACZhf/xvFrAUddOoZWKvdv6', 'USER', 'https://res.cloudinary.com/dnrtgr353/image/upload/v1759396797/user_10_f5p4f6.png', NOW());
-INSERT INTO spaces (id, name, capacity, type, image_url, created_at) VALUES
+INSERT IGNORE INTO spaces (id, name, capacity, type, image_url, created_at) VALUES
 (1,  'R-001', 8,  'ROOM', 'https://res.cloudinary.com/dnrtgr353/image/upload/v1759392481/room-001_e5twcg.png', NOW()),
 (2,  'R-002', 6,  'ROOM', 'https://res.cloudinary.com/dnrtgr353/image/upload/v1759392249/room-002_kroqgj.png', NOW()),
 (3,  'R-003', 10, 'ROOM', 'https://res.cloudinary.com/dnrtgr353/image/upload/v1759392249/room-003_lktppl.png', NOW()),
@@ -42,7 +45,7 @@ INSERT INTO spaces (id, name, capacity, type, image_url, created_at) VALUES
 (28, 'T-018', 1, 'TABLE', 'https://res.cloudinary.com/dnrtgr353/image/upload/v1759394675/table-008_msjpwq.png', NOW()),
 (29, 'T-019', 1, 'TABLE', 'https://res.cloudinary.com/dnrtgr353/image/upload/v1759394686/table-009_kiscxy.png', NOW()),
 (30, 'T-020', 1, 'TABLE', 'https://res.cloudinary.com/dnrtgr353/image/upload/v1759394689/table-010_d3jds9.png', NOW());
-INSERT INTO reservations (id, user_id, space_id, reservation_date, time_slot, status, email_sent, created_at) VALUES
+INSERT IGNORE INTO reservations (id, user_id, space_id, reservation_date, time_slot, status, email_sent, created_at) VALUES
 (1,  2,  1,  '2025-09-12', 'MORNING',   'COMPLETED',     TRUE,  NOW()),
 (2,  3,  1,  '2025-09-12', 'AFTERNOON', 'COMPLETED',     TRUE,  NOW()),
 (3,  4,  2,  '2025-09-13', 'FULL_DAY',  'COMPLETED',  TRUE,  NOW()),
@@ -67,4 +70,32 @@ INSERT INTO reservations (id, user_id, space_id, reservation_date, time_slot, st
 (22, 3,  21, '2025-10-17', 'MORNING',   'ACTIVE',     TRUE,  NOW()),
 (23, 4,  22, '2025-10-17', 'AFTERNOON', 'ACTIVE',     TRUE,  NOW()),
 (24, 5,  23, '2025-10-18', 'MORNING',   'ACTIVE',     TRUE,  NOW()),
-(25, 6,  24, '2025-09-18', 'AFTERNOON', 'COMPLETED',  TRUE,  NOW());
\ No newline at end of file
+(25, 6,  24, '2025-09-18', 'AFTERNOON', 'COMPLETED',  TRUE,  NOW());
+
+-- seeded images predate upload-time variants, so derive them from the stored Cloudinary URLs
+UPDATE spaces SET
+    image_thumbnail_url = REPLACE(image_url, '/upload/', '/upload/c_fill,f_auto,g_auto,h_160,q_auto,w_160/'),
+    image_card_url = REPLACE(image_url, '/upload/', '/upload/c_fill,f_auto,g_auto,h_400,q_auto,w_640/'),
+    image_full_url = REPLACE(image_url, '/upload/', '/upload/c_limit,f_auto,q_auto,w_1600/'),
+    image_status = 'READY'
+WHERE image_url LIKE 'https://res.cloudinary.com/%' AND image_thumbnail_url IS NULL;
+
+UPDATE users SET
+    image_thumbnail_url = REPLACE(image_url, '/upload/', '/upload/c_fill,f_auto,g_auto,h_160,q_auto,w_160/'),
+    image_card_url = REPLACE(image_url, '/upload/', '/upload/c_fill,f_auto,g_auto,h_400,q_auto,w_640/'),
+    image_full_url = REPLACE(image_url, '/upload/', '/upload/c_limit,f_auto,q_auto,w_1600/'),
+    image_status = 'READY'
+WHERE image_url LIKE 'https://res.cloudinary.com/%' AND image_thumbnail_url IS NULL;
+
+-- claim every booked half-day of the seeded ACTIVE reservations, as SlotClaimService does for new bookings
+INSERT IGNORE INTO reservation_slot_claims (id, reservation_id, space_id, reservation_date, half_day)
+SELECT r.id * 2 + h.n, r.id, r.space_id, r.reservation_date, h.half_day
+FROM reservations r
+JOIN (SELECT 0 AS n, 'MORNING' AS half_day UNION ALL SELECT 1, 'AFTERNOON') h
+    ON r.time_slot = 'FULL_DAY' OR r.time_slot = h.half_day
+WHERE r.status = 'ACTIVE'
+  AND NOT EXISTS (SELECT 1 FROM reservation_slot_claims c WHERE c.reservation_id = r.id);
+
+-- seeded rows carry explicit ids, so move the id generators past them
+UPDATE reservations_seq SET next_val = GREATEST(next_val, (SELECT MAX(id) + 100 FROM reservations));
+UPDATE reservation_slot_claims_seq SET next_val = GREATEST(next_val, (SELECT MAX(id) + 100 FROM reservation_slot_claims));
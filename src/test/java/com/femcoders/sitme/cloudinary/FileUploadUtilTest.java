@@ -0,0 +1,82 @@
+package com.femcoders.sitme.cloudinary;
+
+import com.femcoders.sitme.cloudinary.exception.InvalidFileException;
+import com.femcoders.sitme.cloudinary.util.FileUploadUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("File Upload Util Tests")
+class FileUploadUtilTest {
+
+    @TempDir
+    private Path directory;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ffd8ffe000104a464946", "89504e470d0a1a0a0000", "474946383961", "424d3a000000"})
+    @DisplayName("Should accept JPEG, PNG, GIF and BMP signatures")
+    void shouldAcceptImageSignatures(String header) throws IOException {
+
+        byte[] content = HexFormat.of().parseHex(header);
+        Path target = directory.resolve("staged");
+
+        FileUploadUtil.copyImage(new MockMultipartFile("file", "room.jpg", "image/jpeg", content), target);
+
+        assertArrayEquals(content, Files.readAllBytes(target));
+    }
+
+    @Test
+    @DisplayName("Should reject an allowed extension whose content is not an image")
+    void shouldRejectSpoofedContent() {
+
+        MockMultipartFile script = new MockMultipartFile("file", "room.png", "image/png", "<?php echo 1; ?>".getBytes());
+
+        assertThrows(InvalidFileException.class, () -> FileUploadUtil.copyImage(script, directory.resolve("staged")));
+    }
+
+    @Test
+    @DisplayName("Should reject names outside the allowed extensions without reading the content")
+    void shouldRejectDisallowedName() {
+
+        MockMultipartFile file = new MockMultipartFile("file", "room.svg", "image/svg+xml", new byte[0]) {
+            @Override
+            public InputStream getInputStream() {
+                throw new AssertionError("content must not be read");
+            }
+        };
+
+        assertThrows(InvalidFileException.class, () -> FileUploadUtil.copyImage(file, directory.resolve("staged")));
+    }
+
+    @Test
+    @DisplayName("Should stop copying once the stream passes the size limit, whatever size was declared")
+    void shouldEnforceSizeWhileStreaming() {
+
+        byte[] oversized = new byte[(int) FileUploadUtil.MAX_FILE_SIZE + 1];
+        oversized[0] = (byte) 0xFF;
+        oversized[1] = (byte) 0xD8;
+        oversized[2] = (byte) 0xFF;
+        MockMultipartFile file = new MockMultipartFile("file", "room.jpg", "image/jpeg", new byte[0]) {
+            @Override
+            public InputStream getInputStream() {
+                return new ByteArrayInputStream(oversized);
+            }
+        };
+
+        InvalidFileException exception = assertThrows(InvalidFileException.class,
+                () -> FileUploadUtil.copyImage(file, directory.resolve("staged")));
+        assertEquals("Max file size is 2MB", exception.getMessage());
+    }
+}
@@ -0,0 +1,25 @@
+package com.femcoders.sitme.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+/**
+ * The second-level cache regions live in a JVM-wide JCache manager that outlives a session factory, while the test
+ * schema is recreated by every test context; drop whatever an earlier context in this JVM left there.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.flyway.recreate-on-start", havingValue = "true")
+@RequiredArgsConstructor
+public class SecondLevelCacheTestConfig {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void clearSecondLevelCache() {
+        entityManagerFactory.getCache().evictAll();
+    }
+}
@@ -0,0 +1,168 @@
+package com.femcoders.sitme.email;
+
+import com.femcoders.sitme.shared.versioning.AggregateVersions;
+import com.femcoders.sitme.email.repository.EmailOutboxRepository;
+import com.femcoders.sitme.reservation.Reservation;
+import com.femcoders.sitme.reservation.Status;
+import com.femcoders.sitme.reservation.TimeSlot;
+import com.femcoders.sitme.reservation.repository.ReservationRepository;
+import com.femcoders.sitme.space.Space;
+import com.femcoders.sitme.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Email Outbox Service Tests")
+class EmailOutboxServiceTest {
+
+    private static final Long TEST_RESERVATION_ID = 1L;
+    private static final LocalDate TEST_RESERVATION_DATE = LocalDate.of(2025, 10, 15);
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Mock
+    private AggregateVersions aggregateVersions;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @InjectMocks
+    private EmailOutboxService emailOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(emailOutboxService, "batchSize", 50);
+        ReflectionTestUtils.setField(emailOutboxService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(emailOutboxService, "lease", Duration.ofMinutes(2));
+        ReflectionTestUtils.setField(emailOutboxService, "initialBackoff", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(emailOutboxService, "maxBackoff", Duration.ofMinutes(30));
+    }
+
+    @Test
+    @DisplayName("Should store a pending confirmation linked to the reservation")
+    void shouldEnqueueReservationConfirmation() {
+
+        User user = User.builder().id(100L).username("Laura").email("laura@test.com").build();
+        Space space = Space.builder().id(10L).name("Room A").build();
+        Reservation reservation = Reservation.builder()
+                .id(TEST_RESERVATION_ID)
+                .reservationDate(TEST_RESERVATION_DATE)
+                .timeSlot(TimeSlot.MORNING)
+                .status(Status.ACTIVE)
+                .user(user)
+                .space(space)
+                .build();
+
+        emailOutboxService.enqueueReservationConfirmation(reservation);
+
+        ArgumentCaptor<EmailOutbox> captor = ArgumentCaptor.forClass(EmailOutbox.class);
+        verify(emailOutboxRepository).save(captor.capture());
+
+        EmailOutbox entry = captor.getValue();
+        assertEquals(EmailType.RESERVATION_CONFIRMATION, entry.getType());
+        assertEquals(OutboxStatus.PENDING, entry.getStatus());
+        assertEquals("laura@test.com", entry.getRecipientEmail());
+        assertEquals("Room A", entry.getSpaceName());
+        assertEquals("MORNING", entry.getTimeSlot());
+        assertEquals(TEST_RESERVATION_ID, entry.getReservationId());
+        assertEquals(0, entry.getAttempts());
+    }
+
+    @Test
+    @DisplayName("Should mark delivered entries as sent and flip emailSent on their reservations")
+    void shouldMarkDeliveredEntriesAsSent() {
+
+        EmailOutbox entry = pendingEntry(1L, 1);
+        when(emailOutboxRepository.findAllById(anyList())).thenReturn(List.of(entry));
+        when(reservationRepository.findUserIdsWithEmailNotSent(List.of(TEST_RESERVATION_ID))).thenReturn(List.of(4L));
+
+        emailOutboxService.completeBatch(List.of(entry), Map.of());
+
+        assertEquals(OutboxStatus.SENT, entry.getStatus());
+        assertNotNull(entry.getSentAt());
+        verify(reservationRepository).markEmailSent(List.of(TEST_RESERVATION_ID));
+        verify(aggregateVersions).bumpReservations(List.of(4L));
+    }
+
+    @Test
+    @DisplayName("Should leave reservation versions alone when no emailSent flag changes")
+    void shouldNotBumpWhenEmailSentAlreadySet() {
+
+        EmailOutbox entry = pendingEntry(1L, 1);
+        entry.setType(EmailType.RESERVATION_CANCELLATION);
+        when(emailOutboxRepository.findAllById(anyList())).thenReturn(List.of(entry));
+        when(reservationRepository.findUserIdsWithEmailNotSent(List.of(TEST_RESERVATION_ID))).thenReturn(List.of());
+
+        emailOutboxService.completeBatch(List.of(entry), Map.of());
+
+        assertEquals(OutboxStatus.SENT, entry.getStatus());
+        verify(reservationRepository, never()).markEmailSent(any());
+        verifyNoInteractions(aggregateVersions);
+    }
+
+    @Test
+    @DisplayName("Should flip emailSent on every reservation covered by a delivered summary")
+    void shouldMarkEveryReservationOfDeliveredSummary() {
+
+        EmailOutbox summary = pendingEntry(1L, 1);
+        summary.setType(EmailType.RESERVATION_BATCH_CONFIRMATION);
+        summary.setReservationId(null);
+        summary.setReservationIds("7,8,9");
+        when(emailOutboxRepository.findAllById(anyList())).thenReturn(List.of(summary));
+        when(reservationRepository.findUserIdsWithEmailNotSent(List.of(7L, 8L, 9L))).thenReturn(List.of(4L));
+
+        emailOutboxService.completeBatch(List.of(summary), Map.of());
+
+        verify(reservationRepository).markEmailSent(List.of(7L, 8L, 9L));
+    }
+
+    @Test
+    @DisplayName("Should reschedule failed entries with backoff until attempts are exhausted")
+    void shouldRescheduleFailedEntries() {
+
+        EmailOutbox retryable = pendingEntry(1L, 1);
+        EmailOutbox exhausted = pendingEntry(2L, 3);
+        when(emailOutboxRepository.findAllById(anyList())).thenReturn(List.of(retryable, exhausted));
+
+        emailOutboxService.completeBatch(List.of(retryable, exhausted),
+                Map.of(1L, "Connection refused", 2L, "Connection refused"));
+
+        assertEquals(OutboxStatus.PENDING, retryable.getStatus());
+        assertTrue(retryable.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(20)));
+        assertEquals("Connection refused", retryable.getLastError());
+        assertEquals(OutboxStatus.FAILED, exhausted.getStatus());
+        verify(reservationRepository, never()).markEmailSent(any());
+    }
+
+    private EmailOutbox pendingEntry(Long id, int attempts) {
+        return EmailOutbox.builder()
+                .id(id)
+                .type(EmailType.RESERVATION_CONFIRMATION)
+                .recipientEmail("laura@test.com")
+                .username("Laura")
+                .reservationId(TEST_RESERVATION_ID)
+                .status(OutboxStatus.PENDING)
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -1,16 +1,28 @@
 package com.femcoders.sitme.email;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
 import jakarta.mail.internet.MimeMessage;
 
+import java.time.Duration;
 import java.time.LocalDate;
-
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 class EmailServiceTest {
@@ -27,11 +39,21 @@ class EmailServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        emailService = new EmailService(mailSender, templateEngine);
+        emailService = new EmailService(mailSender, templateEngine, new SimpleMeterRegistry());
         emailService.getClass()
                 .getDeclaredFields();
         org.springframework.test.util.ReflectionTestUtils
                 .setField(emailService, "frontendUrl", "http://localhost:3000");
+        org.springframework.test.util.ReflectionTestUtils
+                .setField(emailService, "smtpConcurrency", 2);
+        org.springframework.test.util.ReflectionTestUtils
+                .setField(emailService, "smtpTimeout", Duration.ofSeconds(5));
+        emailService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        emailService.shutdown();
     }
 
     @Test
@@ -103,4 +125,115 @@ class EmailServiceTest {
         verify(mailSender).send(mimeMessage);
         verify(templateEngine).process(eq("cancellation-notification"), any(Context.class));
     }
+
+    @Test
+    void shouldSendOutboxBatchOverSingleConnection() throws Exception {
+        MimeMessage firstMessage = mock(MimeMessage.class);
+        MimeMessage secondMessage = mock(MimeMessage.class);
+        when(mailSender.createMimeMessage()).thenReturn(firstMessage, secondMessage);
+        when(templateEngine.process(eq("reservation-confirmation"), any(Context.class)))
+                .thenReturn("<html>Email content</html>");
+
+        Map<Long, String> failures = emailService.sendOutboxBatch(List.of(
+                outboxEntry(1L, "ana@example.com"),
+                outboxEntry(2L, "laura@example.com")
+        ));
+
+        assertTrue(failures.isEmpty());
+        verify(mailSender).send(firstMessage, secondMessage);
+    }
+
+    @Test
+    void shouldReportFailedOutboxEntries() throws Exception {
+        MimeMessage firstMessage = mock(MimeMessage.class);
+        MimeMessage secondMessage = mock(MimeMessage.class);
+        when(mailSender.createMimeMessage()).thenReturn(firstMessage, secondMessage);
+        when(templateEngine.process(eq("reservation-confirmation"), any(Context.class)))
+                .thenReturn("<html>Email content</html>");
+        doThrow(new MailSendException(Map.of(secondMessage, new Exception("Mailbox unavailable"))))
+                .when(mailSender).send(any(MimeMessage[].class));
+
+        Map<Long, String> failures = emailService.sendOutboxBatch(List.of(
+                outboxEntry(1L, "ana@example.com"),
+                outboxEntry(2L, "laura@example.com")
+        ));
+
+        assertEquals(Map.of(2L, "Mailbox unavailable"), failures);
+    }
+
+    @Test
+    void shouldHandSmtpCallsFromVirtualThreadsToPlatformThread() throws Exception {
+        MimeMessage message = mock(MimeMessage.class);
+        when(mailSender.createMimeMessage()).thenReturn(message);
+        when(templateEngine.process(eq("reservation-confirmation"), any(Context.class)))
+                .thenReturn("<html>Email content</html>");
+        AtomicReference<Thread> smtpThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            smtpThread.set(Thread.currentThread());
+            return null;
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        AtomicReference<Map<Long, String>> failures = new AtomicReference<>();
+        Thread.ofVirtual().start(() -> failures.set(emailService.sendOutboxBatch(List.of(
+                outboxEntry(1L, "ana@example.com"))))).join();
+
+        assertTrue(failures.get().isEmpty());
+        assertFalse(smtpThread.get().isVirtual());
+    }
+
+    @Test
+    void shouldSendFromSeveralVirtualThreadsAtOnce() throws Exception {
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> mock(MimeMessage.class));
+        when(templateEngine.process(eq("reservation-confirmation"), any(Context.class)))
+                .thenReturn("<html>Email content</html>");
+        CountDownLatch bothSending = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            bothSending.countDown();
+            assertTrue(bothSending.await(5, TimeUnit.SECONDS));
+            return null;
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        AtomicReference<Map<Long, String>> first = new AtomicReference<>();
+        AtomicReference<Map<Long, String>> second = new AtomicReference<>();
+        Thread one = Thread.ofVirtual().start(() -> first.set(emailService.sendOutboxBatch(List.of(outboxEntry(1L, "ana@example.com")))));
+        Thread two = Thread.ofVirtual().start(() -> second.set(emailService.sendOutboxBatch(List.of(outboxEntry(2L, "laura@example.com")))));
+        one.join();
+        two.join();
+
+        assertTrue(first.get().isEmpty());
+        assertTrue(second.get().isEmpty());
+    }
+
+    @Test
+    void shouldFailBatchWhenSmtpCallTimesOut() throws Exception {
+        org.springframework.test.util.ReflectionTestUtils
+                .setField(emailService, "smtpTimeout", Duration.ofMillis(100));
+        MimeMessage message = mock(MimeMessage.class);
+        when(mailSender.createMimeMessage()).thenReturn(message);
+        when(templateEngine.process(eq("reservation-confirmation"), any(Context.class)))
+                .thenReturn("<html>Email content</html>");
+        CountDownLatch released = new CountDownLatch(1);
+        doAnswer(invocation -> released.await(5, TimeUnit.SECONDS)).when(mailSender).send(any(MimeMessage[].class));
+
+        AtomicReference<Map<Long, String>> failures = new AtomicReference<>();
+        Thread.ofVirtual().start(() -> failures.set(emailService.sendOutboxBatch(List.of(
+                outboxEntry(1L, "ana@example.com"))))).join();
+        released.countDown();
+
+        assertEquals(List.of(1L), List.copyOf(failures.get().keySet()));
+        assertTrue(failures.get().get(1L).startsWith("Timed out"));
+    }
+
+    private EmailOutbox outboxEntry(Long id, String recipientEmail) {
+        return EmailOutbox.builder()
+                .id(id)
+                .type(EmailType.RESERVATION_CONFIRMATION)
+                .recipientEmail(recipientEmail)
+                .username("Ana")
+                .spaceName("Room A")
+                .reservationDate(LocalDate.of(2025, 10, 15))
+                .timeSlot("MORNING")
+                .status(OutboxStatus.PENDING)
+                .build();
+    }
 }
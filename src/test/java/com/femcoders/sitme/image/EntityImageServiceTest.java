@@ -0,0 +1,208 @@
+package com.femcoders.sitme.image;
+
+import com.femcoders.sitme.cloudinary.exception.FileUploadException;
+import com.femcoders.sitme.cloudinary.exception.InvalidFileException;
+import com.femcoders.sitme.image.dto.StoredImage;
+import com.femcoders.sitme.image.service.EntityImageService;
+import com.femcoders.sitme.image.service.EntityImageWriter;
+import com.femcoders.sitme.image.service.ImageStore;
+import com.femcoders.sitme.shared.model.ImageStatus;
+import com.femcoders.sitme.shared.model.ImageVariants;
+import com.femcoders.sitme.space.Space;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Entity Image Service Tests")
+class EntityImageServiceTest {
+
+    private static final String PREVIOUS_IMAGE_ID = "sitme/spaces/old.jpg_20250101000000";
+    private static final byte[] JPEG_BYTES = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0, 0x10, 'J', 'F', 'I', 'F'};
+    private static final ImageVariants VARIANTS = new ImageVariants(
+            "https://img.test/room-thumbnail.jpg", "https://img.test/room-card.jpg", "https://img.test/room-full.jpg");
+
+    @Mock
+    private ImageStore imageStore;
+
+    @Mock
+    private EntityImageWriter entityImageWriter;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private EntityImageService entityImageService;
+
+    private Space space;
+    private MockMultipartFile file;
+    private final AtomicReference<Path> stagedFile = new AtomicReference<>();
+    private final AtomicInteger settled = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(entityImageService, "uploadConcurrency", 1);
+        ReflectionTestUtils.setField(entityImageService, "uploadQueueCapacity", 10);
+        ReflectionTestUtils.invokeMethod(entityImageService, "init");
+
+        space = Space.builder().id(5L).name("R-001").cloudinaryImageId(PREVIOUS_IMAGE_ID).build();
+        file = new MockMultipartFile("file", "room.jpg", "image/jpeg", JPEG_BYTES);
+    }
+
+    @Test
+    @DisplayName("Should mark the image pending, upload the staged file in the background and then drop the old image")
+    void shouldUploadStagedFileInBackground() throws Exception {
+
+        when(imageStore.store(any(Path.class), anyString())).thenAnswer(invocation -> {
+            stagedFile.set(invocation.getArgument(0));
+            return new StoredImage(invocation.getArgument(1), "https://img.test/room.jpg", VARIANTS);
+        });
+        when(entityImageWriter.markReady(eq(Space.class), eq(5L), anyString(), eq("https://img.test/room.jpg"), any()))
+                .thenReturn(true);
+
+        entityImageService.uploadEntityImage(space, file, "sitme/spaces", settled::incrementAndGet);
+
+        assertEquals(ImageStatus.PENDING, space.getImageStatus());
+        assertTrue(space.getCloudinaryImageId().startsWith("sitme/spaces/room.jpg_"));
+
+        awaitUploads();
+
+        assertEquals(1, settled.get());
+        assertFalse(stagedFile.get().toFile().exists());
+        verify(entityImageWriter).recordPending(Space.class, 5L, space.getCloudinaryImageId(), PREVIOUS_IMAGE_ID);
+        verify(entityImageWriter).markReady(Space.class, 5L, space.getCloudinaryImageId(),
+                "https://img.test/room.jpg", VARIANTS);
+        verify(imageStore).delete(PREVIOUS_IMAGE_ID);
+    }
+
+    @Test
+    @DisplayName("Should restore the previous image id and mark the image failed when the upload fails")
+    void shouldMarkFailedWhenUploadFails() throws Exception {
+
+        when(imageStore.store(any(Path.class), anyString())).thenThrow(new FileUploadException("Failed to upload file"));
+        when(entityImageWriter.markFailed(eq(Space.class), eq(5L), anyString(), eq(PREVIOUS_IMAGE_ID))).thenReturn(true);
+
+        entityImageService.uploadEntityImage(space, file, "sitme/spaces", settled::incrementAndGet);
+        awaitUploads();
+
+        assertEquals(1, settled.get());
+        verify(entityImageWriter, never()).markReady(any(), any(), any(), any(), any());
+        verify(imageStore, never()).delete(anyString());
+    }
+
+    @Test
+    @DisplayName("Should mark the image failed when the upload breaks with an unexpected error")
+    void shouldMarkFailedOnUnexpectedError() throws Exception {
+
+        when(imageStore.store(any(Path.class), anyString())).thenThrow(new IllegalStateException("Unsupported image"));
+        when(entityImageWriter.markFailed(eq(Space.class), eq(5L), anyString(), eq(PREVIOUS_IMAGE_ID))).thenReturn(true);
+
+        entityImageService.uploadEntityImage(space, file, "sitme/spaces", settled::incrementAndGet);
+        awaitUploads();
+
+        assertEquals(1, settled.get());
+        verify(entityImageWriter).markFailed(Space.class, 5L, space.getCloudinaryImageId(), PREVIOUS_IMAGE_ID);
+    }
+
+    @Test
+    @DisplayName("Should record the pending upload in the surrounding transaction, once the entity has its id")
+    void shouldRecordPendingUploadBeforeCommit() throws Exception {
+
+        Space newSpace = Space.builder().name("R-002").build();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            entityImageService.uploadEntityImage(newSpace, file, "sitme/spaces", settled::incrementAndGet);
+            newSpace.setId(6L);
+
+            TransactionSynchronizationManager.getSynchronizations().getFirst().beforeCommit(false);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(entityImageWriter).recordPending(Space.class, 6L, newSpace.getCloudinaryImageId(), null);
+    }
+
+    @Test
+    @DisplayName("Should not upload anything when the surrounding transaction rolls back")
+    void shouldDiscardStagedFileOnRollback() throws Exception {
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            entityImageService.uploadEntityImage(space, file, "sitme/spaces", settled::incrementAndGet);
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            assertEquals(1, synchronizations.size());
+            synchronizations.getFirst().afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        awaitUploads();
+
+        assertEquals(0, settled.get());
+        verifyNoInteractions(imageStore, entityImageWriter);
+    }
+
+    @Test
+    @DisplayName("Should clear the image right away but delete the stored files only after the transaction commits")
+    void shouldDeleteStoredImageAfterCommit() throws Exception {
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            entityImageService.deleteEntityImage(space);
+
+            assertNull(space.getCloudinaryImageId());
+            verifyNoInteractions(imageStore);
+
+            TransactionSynchronizationManager.getSynchronizations().getFirst().afterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        awaitUploads();
+
+        verify(imageStore).delete(PREVIOUS_IMAGE_ID);
+    }
+
+    @Test
+    @DisplayName("Should reject a file whose content is not an image before touching the entity or the store")
+    void shouldRejectSpoofedImage() throws Exception {
+
+        MockMultipartFile spoofed = new MockMultipartFile("file", "room.jpg", "image/jpeg", "<html></html>".getBytes());
+
+        assertThrows(InvalidFileException.class,
+                () -> entityImageService.uploadEntityImage(space, spoofed, "sitme/spaces", settled::incrementAndGet));
+        awaitUploads();
+
+        assertEquals(PREVIOUS_IMAGE_ID, space.getCloudinaryImageId());
+        assertNull(space.getImageStatus());
+        verifyNoInteractions(imageStore, entityImageWriter);
+    }
+
+    private void awaitUploads() throws InterruptedException {
+        ReflectionTestUtils.invokeMethod(entityImageService, "shutdown");
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(entityImageService, "uploadExecutor");
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,133 @@
+package com.femcoders.sitme.image;
+
+import com.femcoders.sitme.image.repository.PendingImageUploadRepository;
+import com.femcoders.sitme.image.service.EntityImageWriter;
+import com.femcoders.sitme.image.service.PendingImageUploadSweeper;
+import com.femcoders.sitme.shared.model.ImageStatus;
+import com.femcoders.sitme.shared.model.ImageVariants;
+import com.femcoders.sitme.space.Space;
+import com.femcoders.sitme.space.SpaceType;
+import com.femcoders.sitme.space.repository.SpaceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Settling background image uploads")
+class EntityImageWriterIntegrationTest {
+
+    private static final String PREVIOUS_IMAGE_ID = "sitme/spaces/old.jpg_20250101000000";
+    private static final String PENDING_IMAGE_ID = "sitme/spaces/new.jpg_20250102000000";
+
+    @Autowired
+    private EntityImageWriter entityImageWriter;
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @Autowired
+    private PendingImageUploadRepository pendingImageUploadRepository;
+
+    @Autowired
+    private PendingImageUploadSweeper pendingImageUploadSweeper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Space space;
+
+    @BeforeEach
+    void setUp() {
+        space = spaceRepository.save(Space.builder()
+                .name("IMG-001")
+                .capacity(4)
+                .type(SpaceType.ROOM)
+                .imageUrl("https://img.test/old.jpg")
+                .cloudinaryImageId(PENDING_IMAGE_ID)
+                .imageStatus(ImageStatus.PENDING)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        pendingImageUploadRepository.deleteAll();
+        spaceRepository.deleteById(space.getId());
+    }
+
+    @Test
+    @DisplayName("Should publish the uploaded image only while it is still the pending one")
+    void shouldMarkReadyOnlyForPendingImage() {
+
+        ImageVariants variants = new ImageVariants(
+                "https://img.test/w_160/new.jpg", "https://img.test/w_640/new.jpg", "https://img.test/w_1600/new.jpg");
+
+        assertFalse(entityImageWriter.markReady(Space.class, space.getId(), "sitme/spaces/stale.jpg",
+                "https://img.test/stale.jpg", variants));
+        assertTrue(entityImageWriter.markReady(Space.class, space.getId(), PENDING_IMAGE_ID,
+                "https://img.test/new.jpg", variants));
+
+        Space stored = spaceRepository.findById(space.getId()).orElseThrow();
+        assertEquals("https://img.test/new.jpg", stored.getImageUrl());
+        assertEquals(ImageStatus.READY, stored.getImageStatus());
+        assertEquals(variants, stored.getImageVariants());
+    }
+
+    @Test
+    @DisplayName("Should keep the previous image when the upload fails")
+    void shouldRestorePreviousImageOnFailure() {
+
+        assertTrue(entityImageWriter.markFailed(Space.class, space.getId(), PENDING_IMAGE_ID, PREVIOUS_IMAGE_ID));
+
+        Space stored = spaceRepository.findById(space.getId()).orElseThrow();
+        assertEquals(PREVIOUS_IMAGE_ID, stored.getCloudinaryImageId());
+        assertEquals("https://img.test/old.jpg", stored.getImageUrl());
+        assertEquals(ImageStatus.FAILED, stored.getImageStatus());
+    }
+
+    @Test
+    @DisplayName("Should settle the upload in its own transaction, even when the caller's rolls back")
+    void shouldSettleOutsideCallerTransaction() {
+
+        entityImageWriter.recordPending(Space.class, space.getId(), PENDING_IMAGE_ID, PREVIOUS_IMAGE_ID);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            assertTrue(entityImageWriter.markFailed(Space.class, space.getId(), PENDING_IMAGE_ID, PREVIOUS_IMAGE_ID));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(ImageStatus.FAILED, spaceRepository.findById(space.getId()).orElseThrow().getImageStatus());
+        assertEquals(0, pendingImageUploadRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should fail an upload that no instance settled in time and keep the previous image")
+    void shouldFailAbandonedUpload() {
+
+        entityImageWriter.recordPending(Space.class, space.getId(), PENDING_IMAGE_ID, PREVIOUS_IMAGE_ID);
+
+        ReflectionTestUtils.setField(pendingImageUploadSweeper, "staleAfter", Duration.ofSeconds(-1));
+        try {
+            pendingImageUploadSweeper.failAbandonedUploads();
+        } finally {
+            ReflectionTestUtils.setField(pendingImageUploadSweeper, "staleAfter", Duration.ofMinutes(15));
+        }
+
+        Space stored = spaceRepository.findById(space.getId()).orElseThrow();
+        assertEquals(PREVIOUS_IMAGE_ID, stored.getCloudinaryImageId());
+        assertEquals(ImageStatus.FAILED, stored.getImageStatus());
+        assertEquals(0, pendingImageUploadRepository.count());
+    }
+}
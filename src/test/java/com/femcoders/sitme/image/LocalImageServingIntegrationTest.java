@@ -0,0 +1,102 @@
+package com.femcoders.sitme.image;
+
+import com.femcoders.sitme.image.dto.StoredImage;
+import com.femcoders.sitme.image.service.ImageStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DisplayName("Serving locally stored images")
+class LocalImageServingIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ImageStore imageStore;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private StoredImage stored;
+    private long size;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        BufferedImage noise = new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(42);
+        for (int x = 0; x < noise.getWidth(); x++) {
+            for (int y = 0; y < noise.getHeight(); y++) {
+                noise.setRGB(x, y, random.nextInt());
+            }
+        }
+        Path upload = Files.createTempFile("serving-", ".png");
+        ImageIO.write(noise, "png", upload.toFile());
+        size = Files.size(upload);
+
+        stored = imageStore.store(upload, "sitme/spaces/serving.png_" + System.nanoTime());
+        Files.delete(upload);
+    }
+
+    @Test
+    @DisplayName("Should serve the original anonymously with an ETag and honour If-None-Match")
+    void shouldServeWithEtag() throws Exception {
+
+        HttpResponse<byte[]> response = get(HttpRequest.newBuilder(uri(stored.url())));
+
+        assertEquals(200, response.statusCode());
+        assertEquals(size, response.body().length);
+        assertEquals("image/png", response.headers().firstValue("Content-Type").orElseThrow());
+        String etag = response.headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<byte[]> revalidated = get(HttpRequest.newBuilder(uri(stored.url())).header("If-None-Match", etag));
+
+        assertEquals(304, revalidated.statusCode());
+        assertEquals(0, revalidated.body().length);
+    }
+
+    @Test
+    @DisplayName("Should answer a byte range with 206 Partial Content")
+    void shouldServeRanges() throws Exception {
+
+        HttpResponse<byte[]> response = get(HttpRequest.newBuilder(uri(stored.url())).header("Range", "bytes=100-199"));
+
+        assertEquals(206, response.statusCode());
+        assertEquals(100, response.body().length);
+        assertEquals("bytes 100-199/" + size, response.headers().firstValue("Content-Range").orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should serve generated variants and nothing for unknown images")
+    void shouldServeVariants() throws Exception {
+
+        assertEquals(200, get(HttpRequest.newBuilder(uri(stored.variants().getThumbnail()))).statusCode());
+        assertTrue(get(HttpRequest.newBuilder(uri("/images/sitme/spaces/missing.png"))).statusCode() >= 400);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private HttpResponse<byte[]> get(HttpRequest.Builder request) throws Exception {
+        return client.send(request.GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -0,0 +1,105 @@
+package com.femcoders.sitme.image;
+
+import com.femcoders.sitme.cloudinary.exception.FileUploadException;
+import com.femcoders.sitme.image.dto.StoredImage;
+import com.femcoders.sitme.image.service.LocalImageStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Local Image Store Tests")
+class LocalImageStoreTest {
+
+    private static final String IMAGE_ID = "sitme/spaces/room.png_20250101000000";
+
+    @TempDir
+    private Path directory;
+
+    @TempDir
+    private Path uploads;
+
+    private LocalImageStore localImageStore;
+
+    @BeforeEach
+    void setUp() {
+        localImageStore = new LocalImageStore();
+        ReflectionTestUtils.setField(localImageStore, "directory", directory);
+        ReflectionTestUtils.setField(localImageStore, "baseUrl", "/images");
+        ReflectionTestUtils.setField(localImageStore, "maxPixels", 40_000_000L);
+        ReflectionTestUtils.invokeMethod(localImageStore, "init");
+    }
+
+    @Test
+    @DisplayName("Should copy the original and render thumbnail, card and full variants")
+    void shouldStoreOriginalAndVariants() throws IOException {
+
+        Path upload = image(2000, 1000);
+
+        StoredImage stored = localImageStore.store(upload, IMAGE_ID);
+
+        assertEquals("/images/sitme/spaces/room.png_20250101000000.png", stored.url());
+        assertEquals(-1, Files.mismatch(upload, directory.resolve(IMAGE_ID + ".png")));
+        assertDimensions(stored.variants().getThumbnail(), 160, 160);
+        assertDimensions(stored.variants().getCard(), 640, 400);
+        assertDimensions(stored.variants().getFull(), 1600, 800);
+        assertEquals("/images/sitme/spaces/room.png_20250101000000-thumbnail.jpg", stored.variants().getThumbnail());
+    }
+
+    @Test
+    @DisplayName("Should remove the original and every variant on delete")
+    void shouldDeleteOriginalAndVariants() throws IOException {
+
+        localImageStore.store(image(300, 200), IMAGE_ID);
+        localImageStore.store(image(300, 200), "sitme/spaces/other.png_20250101000000");
+
+        localImageStore.delete(IMAGE_ID);
+
+        try (var remaining = Files.list(directory.resolve("sitme/spaces"))) {
+            assertTrue(remaining.allMatch(path -> path.getFileName().toString().startsWith("other.png")));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject files that are not decodable images and ids escaping the directory")
+    void shouldRejectInvalidInput() throws IOException {
+
+        Path text = Files.writeString(uploads.resolve("notes.png"), "not an image");
+
+        assertThrows(FileUploadException.class, () -> localImageStore.store(text, IMAGE_ID));
+        assertThrows(FileUploadException.class, () -> localImageStore.store(image(10, 10), "sitme/../../etc/passwd"));
+    }
+
+    @Test
+    @DisplayName("Should reject an image above the pixel budget from its header, without storing anything")
+    void shouldRejectImageAbovePixelBudget() throws IOException {
+
+        ReflectionTestUtils.setField(localImageStore, "maxPixels", 2_000L);
+
+        assertThrows(FileUploadException.class, () -> localImageStore.store(image(50, 41), IMAGE_ID));
+        assertFalse(Files.exists(directory.resolve("sitme")));
+
+        assertNotNull(localImageStore.store(image(50, 40), IMAGE_ID));
+    }
+
+    private Path image(int width, int height) throws IOException {
+        Path file = Files.createTempFile(uploads, "upload-", ".png");
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", file.toFile());
+        return file;
+    }
+
+    private void assertDimensions(String url, int width, int height) throws IOException {
+        BufferedImage variant = ImageIO.read(directory.resolve(url.substring("/images/".length())).toFile());
+        assertEquals(width, variant.getWidth());
+        assertEquals(height, variant.getHeight());
+    }
+}
@@ -0,0 +1,179 @@
+package com.femcoders.sitme.reservation;
+
+import com.femcoders.sitme.reservation.dtos.ReservationSlot;
+import com.femcoders.sitme.reservation.repository.AvailabilityChangeRepository;
+import com.femcoders.sitme.reservation.repository.ReservationRepository;
+import com.femcoders.sitme.reservation.services.OccupancyIndex;
+import com.femcoders.sitme.space.dto.AvailabilityDelta;
+import com.femcoders.sitme.space.services.AvailabilityStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Occupancy Index Tests")
+class OccupancyIndexTest {
+
+    private static final Long TEST_SPACE_ID = 10L;
+    private static final Long TEST_ANOTHER_SPACE_ID = 20L;
+    private static final LocalDate TEST_DATE = LocalDate.now().plusDays(1);
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private AvailabilityChangeRepository availabilityChangeRepository;
+
+    @Mock
+    private AvailabilityStream availabilityStream;
+
+    @InjectMocks
+    private OccupancyIndex occupancyIndex;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(occupancyIndex, "batchSize", 100);
+        ReflectionTestUtils.setField(occupancyIndex, "gapTimeout", Duration.ofMinutes(1));
+        when(reservationRepository.findSlotsByStatusFrom(eq(Status.ACTIVE), any(LocalDate.class)))
+                .thenReturn(List.of(new ReservationSlot(TEST_SPACE_ID, TEST_DATE, TimeSlot.MORNING)));
+
+        occupancyIndex.warmUp();
+    }
+
+    @Test
+    @DisplayName("Should detect conflicts from reservations loaded at startup")
+    void shouldDetectConflictsFromWarmUp() {
+
+        assertFalse(occupancyIndex.isAvailable(TEST_SPACE_ID, TEST_DATE, TimeSlot.MORNING));
+        assertFalse(occupancyIndex.isAvailable(TEST_SPACE_ID, TEST_DATE, TimeSlot.FULL_DAY));
+        assertTrue(occupancyIndex.isAvailable(TEST_SPACE_ID, TEST_DATE, TimeSlot.AFTERNOON));
+        assertTrue(occupancyIndex.isAvailable(TEST_ANOTHER_SPACE_ID, TEST_DATE, TimeSlot.MORNING));
+        assertTrue(occupancyIndex.isAvailable(TEST_SPACE_ID, TEST_DATE.plusDays(1), TimeSlot.MORNING));
+    }
+
+    @Test
+    @DisplayName("Should block every half-day once a full day is occupied")
+    void shouldBlockBothHalvesWhenFullDayOccupied() {
+
+        occupancyIndex.occupy(TEST_ANOTHER_SPACE_ID, TEST_DATE, TimeSlot.FULL_DAY);
+
+        assertFalse(occupancyIndex.isAvailable(TEST_ANOTHER_SPACE_ID, TEST_DATE, TimeSlot.MORNING));
+        assertFalse(occupancyIndex.isAvailable(TEST_ANOTHER_SPACE_ID, TEST_DATE, TimeSlot.AFTERNOON));
+        assertEquals(TimeSlot.FULL_DAY.mask(), occupancyIndex.occupiedMask(TEST_ANOTHER_SPACE_ID, TEST_DATE));
+    }
+
+    @Test
+    @DisplayName("Should free only the released half-day")
+    void shouldFreeReleasedSlot() {
+
+        occupancyIndex.occupy(TEST_SPACE_ID, TEST_DATE, TimeSlot.AFTERNOON);
+        occupancyIndex.release(TEST_SPACE_ID, TEST_DATE, TimeSlot.MORNING);
+
+        assertTrue(occupancyIndex.isAvailable(TEST_SPACE_ID, TEST_DATE, TimeSlot.MORNING));
+        assertFalse(occupancyIndex.isAvailable(TEST_SPACE_ID, TEST_DATE, TimeSlot.AFTERNOON));
+
+        occupancyIndex.release(TEST_SPACE_ID, TEST_DATE, TimeSlot.AFTERNOON);
+
+        assertEquals(0, occupancyIndex.occupiedMask(TEST_SPACE_ID, TEST_DATE));
+    }
+
+    @Test
+    @DisplayName("Should record every change for the other instances to read")
+    void shouldRecordChanges() {
+
+        occupancyIndex.occupy(TEST_ANOTHER_SPACE_ID, TEST_DATE, TimeSlot.AFTERNOON);
+        occupancyIndex.release(TEST_SPACE_ID, TEST_DATE, TimeSlot.MORNING);
+
+        ArgumentCaptor<List<AvailabilityChange>> recorded = ArgumentCaptor.captor();
+        verify(availabilityChangeRepository, times(2)).insertAll(recorded.capture());
+        assertEquals(new AvailabilityDelta(TEST_ANOTHER_SPACE_ID, TEST_DATE, TimeSlot.AFTERNOON, AvailabilityDelta.State.BOOKED),
+                recorded.getAllValues().get(0).get(0).toDelta());
+        assertEquals(new AvailabilityDelta(TEST_SPACE_ID, TEST_DATE, TimeSlot.MORNING, AvailabilityDelta.State.FREED),
+                recorded.getAllValues().get(1).get(0).toDelta());
+        verifyNoInteractions(availabilityStream);
+    }
+
+    @Test
+    @DisplayName("Should apply and publish changes made by any instance under their row ids")
+    void shouldApplyPolledChanges() {
+
+        when(availabilityChangeRepository.findAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                change(1L, TEST_ANOTHER_SPACE_ID, TimeSlot.AFTERNOON, AvailabilityDelta.State.BOOKED),
+                change(2L, TEST_SPACE_ID, TimeSlot.MORNING, AvailabilityDelta.State.FREED)));
+
+        occupancyIndex.pollChanges();
+        occupancyIndex.pollChanges();
+
+        assertFalse(occupancyIndex.isAvailable(TEST_ANOTHER_SPACE_ID, TEST_DATE, TimeSlot.AFTERNOON));
+        assertTrue(occupancyIndex.isAvailable(TEST_SPACE_ID, TEST_DATE, TimeSlot.MORNING));
+        verify(availabilityStream).publish(1L, new AvailabilityDelta(
+                TEST_ANOTHER_SPACE_ID, TEST_DATE, TimeSlot.AFTERNOON, AvailabilityDelta.State.BOOKED));
+        verify(availabilityStream).publish(2L, new AvailabilityDelta(
+                TEST_SPACE_ID, TEST_DATE, TimeSlot.MORNING, AvailabilityDelta.State.FREED));
+        verify(availabilityChangeRepository).findAfter(eq(2L), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should pick up a change committed after a higher id without publishing twice")
+    void shouldFillGapWithoutDuplicates() {
+
+        AvailabilityChange third = change(3L, TEST_ANOTHER_SPACE_ID, TimeSlot.MORNING, AvailabilityDelta.State.BOOKED);
+        when(availabilityChangeRepository.findAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                change(1L, TEST_ANOTHER_SPACE_ID, TimeSlot.AFTERNOON, AvailabilityDelta.State.BOOKED), third));
+        when(availabilityChangeRepository.findAfter(eq(1L), any(Pageable.class))).thenReturn(List.of(
+                change(2L, TEST_SPACE_ID, TimeSlot.MORNING, AvailabilityDelta.State.FREED), third));
+
+        occupancyIndex.pollChanges();
+        occupancyIndex.pollChanges();
+        occupancyIndex.pollChanges();
+
+        verify(availabilityStream).publish(eq(2L), any(AvailabilityDelta.class));
+        verify(availabilityStream, times(1)).publish(eq(3L), any(AvailabilityDelta.class));
+        verify(availabilityChangeRepository).findAfter(eq(3L), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should stop waiting for an id that never commits once the gap timeout passes")
+    void shouldSkipAbandonedGap() {
+
+        ReflectionTestUtils.setField(occupancyIndex, "gapTimeout", Duration.ZERO);
+        when(availabilityChangeRepository.findAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                change(2L, TEST_ANOTHER_SPACE_ID, TimeSlot.AFTERNOON, AvailabilityDelta.State.BOOKED)));
+
+        occupancyIndex.pollChanges();
+        occupancyIndex.pollChanges();
+        occupancyIndex.pollChanges();
+
+        verify(availabilityStream, times(1)).publish(eq(2L), any(AvailabilityDelta.class));
+        verify(availabilityChangeRepository).findAfter(eq(2L), any(Pageable.class));
+    }
+
+    private static AvailabilityChange change(Long id, Long spaceId, TimeSlot timeSlot, AvailabilityDelta.State state) {
+        return AvailabilityChange.builder()
+                .id(id)
+                .spaceId(spaceId)
+                .reservationDate(TEST_DATE)
+                .timeSlot(timeSlot)
+                .state(state)
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.femcoders.sitme.reservation;
+
+import com.femcoders.sitme.email.EmailService;
+import com.femcoders.sitme.reservation.repository.ReservationArchiveRepository;
+import com.femcoders.sitme.reservation.repository.ReservationRepository;
+import com.femcoders.sitme.reservation.services.ReservationArchiveService;
+import com.femcoders.sitme.space.Space;
+import com.femcoders.sitme.space.SpaceType;
+import com.femcoders.sitme.space.repository.SpaceRepository;
+import com.femcoders.sitme.user.Role;
+import com.femcoders.sitme.user.User;
+import com.femcoders.sitme.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Reservation archival")
+class ReservationArchiveIntegrationTest {
+
+    private static final LocalDate HORIZON = LocalDate.now().minusDays(90);
+
+    @Autowired
+    private ReservationArchiveService reservationArchiveService;
+
+    @Autowired
+    private ReservationArchiveRepository reservationArchiveRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        EmailService emailService() {
+            return Mockito.mock(EmailService.class);
+        }
+    }
+
+    private User user;
+    private Space space;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAll();
+        spaceRepository.deleteAll();
+        userRepository.deleteAll();
+
+        user = userRepository.save(User.builder()
+                .username("archived")
+                .email("archived@sitme.com")
+                .password("encoded")
+                .role(Role.USER)
+                .createdAt(LocalDateTime.now())
+                .build());
+        space = spaceRepository.save(Space.builder()
+                .name("A-001")
+                .capacity(2)
+                .type(SpaceType.TABLE)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should move only finished reservations older than the horizon, chunk by chunk")
+    void shouldArchiveFinishedReservationsInChunks() {
+
+        Reservation completed = save(HORIZON.minusDays(10), Status.COMPLETED);
+        Reservation cancelled = save(HORIZON.minusDays(5), Status.CANCELLED);
+        Reservation stillActive = save(HORIZON.minusDays(3), Status.ACTIVE);
+        Reservation recent = save(HORIZON.plusDays(1), Status.COMPLETED);
+
+        assertEquals(1, reservationArchiveService.archiveChunk(HORIZON, 1));
+        assertEquals(1, reservationArchiveService.archiveChunk(HORIZON, 1));
+        assertEquals(0, reservationArchiveService.archiveChunk(HORIZON, 1));
+
+        assertEquals(List.of(stillActive.getId(), recent.getId()),
+                reservationRepository.findAll().stream().map(Reservation::getId).sorted().toList());
+        assertEquals(List.of(completed.getId(), cancelled.getId()),
+                reservationArchiveRepository.findAll().stream().map(ReservationArchive::getId).sorted().toList());
+    }
+
+    @Test
+    @DisplayName("Should finish a chunk whose rows were copied before a crash")
+    void shouldResumeInterruptedChunk() {
+
+        Reservation completed = save(HORIZON.minusDays(10), Status.COMPLETED);
+        transactionTemplate.executeWithoutResult(status ->
+                reservationArchiveRepository.copyFromReservations(List.of(completed.getId())));
+
+        assertEquals(1, reservationArchiveService.archiveChunk(HORIZON, 10));
+
+        assertTrue(reservationRepository.findAll().isEmpty());
+        assertEquals(1, reservationArchiveRepository.count());
+    }
+
+    private Reservation save(LocalDate date, Status status) {
+        return reservationRepository.save(Reservation.builder()
+                .reservationDate(date)
+                .timeSlot(TimeSlot.MORNING)
+                .status(status)
+                .emailSent(true)
+                .createdAt(LocalDateTime.now())
+                .user(user)
+                .space(space)
+                .build());
+    }
+}
@@ -0,0 +1,93 @@
+package com.femcoders.sitme.reservation;
+
+import com.femcoders.sitme.reservation.services.ReservationArchiveJob;
+import com.femcoders.sitme.reservation.services.ReservationArchiveService;
+import com.femcoders.sitme.shared.lease.JobLeaseService;
+import com.femcoders.sitme.shared.versioning.Aggregate;
+import com.femcoders.sitme.shared.versioning.AggregateVersions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Reservation Archive Job Tests")
+class ReservationArchiveJobTest {
+
+    @Mock
+    private ReservationArchiveService reservationArchiveService;
+
+    @Mock
+    private JobLeaseService jobLeaseService;
+
+    @Mock
+    private AggregateVersions aggregateVersions;
+
+    private MeterRegistry meterRegistry;
+    private ReservationArchiveJob job;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        job = new ReservationArchiveJob(reservationArchiveService, jobLeaseService, aggregateVersions, meterRegistry);
+        ReflectionTestUtils.setField(job, "horizon", Period.ofDays(90));
+        ReflectionTestUtils.setField(job, "chunkSize", 2);
+        ReflectionTestUtils.setField(job, "lease", Duration.ofMinutes(30));
+    }
+
+    @Test
+    @DisplayName("Should archive chunk by chunk, renewing the lease in between")
+    void shouldArchiveInChunks() {
+
+        when(jobLeaseService.tryAcquire(anyString(), any(Duration.class))).thenReturn(true);
+        when(jobLeaseService.renew(anyString(), any(Duration.class))).thenReturn(true);
+        when(reservationArchiveService.archiveChunk(any(LocalDate.class), eq(2))).thenReturn(2, 1);
+
+        job.archiveFinishedReservations();
+
+        verify(reservationArchiveService, times(2)).archiveChunk(any(LocalDate.class), eq(2));
+        verify(jobLeaseService).renew(anyString(), eq(Duration.ofMinutes(30)));
+        verify(jobLeaseService).release(anyString());
+        verify(aggregateVersions).bump(Aggregate.RESERVATIONS);
+        assertEquals(3.0, meterRegistry.get("sitme.reservations.archive.rows").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should stop between chunks once the lease has been taken over")
+    void shouldStopWhenLeaseLost() {
+
+        when(jobLeaseService.tryAcquire(anyString(), any(Duration.class))).thenReturn(true);
+        when(jobLeaseService.renew(anyString(), any(Duration.class))).thenReturn(false);
+        when(reservationArchiveService.archiveChunk(any(LocalDate.class), eq(2))).thenReturn(2);
+
+        job.archiveFinishedReservations();
+
+        verify(reservationArchiveService, times(1)).archiveChunk(any(LocalDate.class), anyInt());
+        verify(aggregateVersions).bump(Aggregate.RESERVATIONS);
+    }
+
+    @Test
+    @DisplayName("Should do nothing when another replica holds the lease")
+    void shouldSkipWithoutLease() {
+
+        when(jobLeaseService.tryAcquire(anyString(), any(Duration.class))).thenReturn(false);
+
+        job.archiveFinishedReservations();
+
+        verifyNoInteractions(reservationArchiveService, aggregateVersions);
+        verify(jobLeaseService, never()).release(anyString());
+    }
+}
@@ -0,0 +1,100 @@
+package com.femcoders.sitme.reservation;
+
+import com.femcoders.sitme.reservation.repository.ReservationRepository;
+import com.femcoders.sitme.reservation.services.ReservationCompletionJob;
+import com.femcoders.sitme.shared.lease.JobLeaseService;
+import com.femcoders.sitme.shared.versioning.Aggregate;
+import com.femcoders.sitme.shared.versioning.AggregateVersions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Reservation Completion Job Tests")
+class ReservationCompletionJobTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private JobLeaseService jobLeaseService;
+
+    @Mock
+    private AggregateVersions aggregateVersions;
+
+    private MeterRegistry meterRegistry;
+    private ReservationCompletionJob job;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        job = new ReservationCompletionJob(reservationRepository, jobLeaseService, aggregateVersions, meterRegistry);
+        ReflectionTestUtils.setField(job, "chunkSize", 2);
+        ReflectionTestUtils.setField(job, "lease", Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("Should complete past reservations chunk by chunk and report the rows processed")
+    void shouldCompleteInChunks() {
+
+        when(jobLeaseService.tryAcquire(anyString(), any(Duration.class))).thenReturn(true);
+        when(jobLeaseService.renew(anyString(), any(Duration.class))).thenReturn(true);
+        when(reservationRepository.findIdsByStatusBefore(eq(Status.ACTIVE), eq(LocalDate.now()), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L), List.of(3L));
+        when(reservationRepository.transitionStatus(anyCollection(), eq(Status.ACTIVE), eq(Status.COMPLETED)))
+                .thenReturn(2, 1);
+
+        job.completePastReservations();
+
+        verify(reservationRepository).transitionStatus(List.of(1L, 2L), Status.ACTIVE, Status.COMPLETED);
+        verify(reservationRepository).transitionStatus(List.of(3L), Status.ACTIVE, Status.COMPLETED);
+        verify(jobLeaseService).release(anyString());
+        verify(aggregateVersions).bump(Aggregate.RESERVATIONS);
+        assertEquals(3.0, meterRegistry.get("sitme.reservations.completion.rows").counter().count());
+        assertEquals(1, meterRegistry.get("sitme.reservations.completion.duration").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should stop between chunks once the lease has been taken over")
+    void shouldStopWhenLeaseLost() {
+
+        when(jobLeaseService.tryAcquire(anyString(), any(Duration.class))).thenReturn(true);
+        when(jobLeaseService.renew(anyString(), any(Duration.class))).thenReturn(false);
+        when(reservationRepository.findIdsByStatusBefore(eq(Status.ACTIVE), eq(LocalDate.now()), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L));
+        when(reservationRepository.transitionStatus(anyCollection(), eq(Status.ACTIVE), eq(Status.COMPLETED)))
+                .thenReturn(2);
+
+        job.completePastReservations();
+
+        verify(reservationRepository, times(1)).findIdsByStatusBefore(any(), any(), any());
+        verify(aggregateVersions).bump(Aggregate.RESERVATIONS);
+    }
+
+    @Test
+    @DisplayName("Should do nothing when another replica holds the lease")
+    void shouldSkipWithoutLease() {
+
+        when(jobLeaseService.tryAcquire(anyString(), any(Duration.class))).thenReturn(false);
+
+        job.completePastReservations();
+
+        verifyNoInteractions(reservationRepository, aggregateVersions);
+        verify(jobLeaseService, never()).release(anyString());
+    }
+}
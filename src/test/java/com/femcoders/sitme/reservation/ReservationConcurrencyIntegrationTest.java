@@ -0,0 +1,187 @@
+package com.femcoders.sitme.reservation;
+
+import com.femcoders.sitme.email.EmailService;
+import com.femcoders.sitme.reservation.dtos.ReservationRequest;
+import com.femcoders.sitme.reservation.repository.AvailabilityChangeRepository;
+import com.femcoders.sitme.reservation.repository.ReservationRepository;
+import com.femcoders.sitme.reservation.services.OccupancyIndex;
+import com.femcoders.sitme.reservation.services.ReservationService;
+import com.femcoders.sitme.security.userdetails.CustomUserDetails;
+import com.femcoders.sitme.space.dto.AvailabilityDelta;
+import com.femcoders.sitme.space.Space;
+import com.femcoders.sitme.space.SpaceType;
+import com.femcoders.sitme.space.repository.SpaceRepository;
+import com.femcoders.sitme.user.Role;
+import com.femcoders.sitme.user.User;
+import com.femcoders.sitme.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Concurrent reservation creation")
+class ReservationConcurrencyIntegrationTest {
+
+    private static final int ATTEMPTS = 2000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @Autowired
+    private AvailabilityChangeRepository availabilityChangeRepository;
+
+    @Autowired
+    private OccupancyIndex occupancyIndex;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        EmailService emailService() {
+            return Mockito.mock(EmailService.class);
+        }
+    }
+
+    private Space space;
+    private List<CustomUserDetails> bookers;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAll();
+        spaceRepository.deleteAll();
+        userRepository.deleteAll();
+
+        space = spaceRepository.save(
+                Space.builder()
+                        .name("C-001")
+                        .capacity(4)
+                        .type(SpaceType.ROOM)
+                        .createdAt(LocalDateTime.now())
+                        .build()
+        );
+
+        bookers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            User user = userRepository.save(
+                    User.builder()
+                            .username("booker" + i)
+                            .email("booker" + i + "@sitme.com")
+                            .password("encoded")
+                            .role(Role.USER)
+                            .createdAt(LocalDateTime.now())
+                            .build()
+            );
+            bookers.add(new CustomUserDetails(user));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservationRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should let exactly one of thousands of overlapping bookings succeed")
+    void shouldAcceptExactlyOneOverlappingBooking() throws Exception {
+
+        LocalDate date = LocalDate.now().plusDays(7);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger successes = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < ATTEMPTS; i++) {
+            CustomUserDetails booker = bookers.get(i % bookers.size());
+            TimeSlot timeSlot = i % 2 == 0 ? TimeSlot.MORNING : TimeSlot.FULL_DAY;
+
+            futures.add(executor.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(booker, null, booker.getAuthorities()));
+                try {
+                    start.await();
+                    reservationService.createReservation(new ReservationRequest(date, timeSlot, space.getId()), booker);
+                    successes.incrementAndGet();
+                } catch (IllegalStateException exception) {
+                    // slot already taken
+                } catch (Throwable throwable) {
+                    unexpected.add(throwable);
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected.peek());
+        assertEquals(1, successes.get());
+        assertEquals(1, reservationRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should see bookings and cancellations committed by other instances once their changes are polled")
+    void shouldFollowChangesFromOtherInstances() {
+
+        LocalDate date = LocalDate.now().plusDays(9);
+        CustomUserDetails booker = bookers.getFirst();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(booker, null, booker.getAuthorities()));
+        try {
+            reservationService.createReservation(new ReservationRequest(date, TimeSlot.MORNING, space.getId()), booker);
+
+            // what other pods leave behind: only the shared change rows, never this instance's index
+            availabilityChangeRepository.save(AvailabilityChange.builder()
+                    .spaceId(space.getId()).reservationDate(date).timeSlot(TimeSlot.AFTERNOON)
+                    .state(AvailabilityDelta.State.BOOKED).build());
+            availabilityChangeRepository.save(AvailabilityChange.builder()
+                    .spaceId(space.getId()).reservationDate(date).timeSlot(TimeSlot.MORNING)
+                    .state(AvailabilityDelta.State.FREED).build());
+            occupancyIndex.pollChanges();
+
+            assertFalse(reservationService.isReservationAvailable(new ReservationRequest(date, TimeSlot.AFTERNOON, space.getId())));
+            assertTrue(reservationService.isReservationAvailable(new ReservationRequest(date, TimeSlot.MORNING, space.getId())));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -2,14 +2,26 @@ package com.femcoders.sitme.reservation;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.femcoders.sitme.email.EmailService;
+import com.femcoders.sitme.email.repository.EmailOutboxRepository;
+import com.femcoders.sitme.reservation.dtos.BatchReservationRequest;
 import com.femcoders.sitme.reservation.dtos.ReservationRequest;
 import com.femcoders.sitme.reservation.repository.ReservationRepository;
+import com.femcoders.sitme.reservation.services.ReservationArchiveService;
+import com.femcoders.sitme.reservation.services.OccupancyIndex;
+import com.femcoders.sitme.shared.versioning.Aggregate;
+import com.femcoders.sitme.shared.versioning.AggregateVersionRepository;
+import com.femcoders.sitme.shared.versioning.AggregateVersions;
 import com.femcoders.sitme.space.Space;
 import com.femcoders.sitme.space.SpaceType;
 import com.femcoders.sitme.space.repository.SpaceRepository;
+import com.femcoders.sitme.space.services.SpaceCatalogCache;
 import com.femcoders.sitme.user.Role;
 import com.femcoders.sitme.user.User;
 import com.femcoders.sitme.user.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.*;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,9 +33,12 @@ import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -53,6 +68,30 @@ class ReservationControllerIntegrationTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SpaceCatalogCache spaceCatalogCache;
+
+    @Autowired
+    private ReservationArchiveService reservationArchiveService;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private OccupancyIndex occupancyIndex;
+
+    @Autowired
+    private AggregateVersionRepository aggregateVersionRepository;
+
+    @Autowired
+    private AggregateVersions aggregateVersions;
+
     @TestConfiguration
     static class TestConfig {
         @Bean
@@ -126,7 +165,7 @@ class ReservationControllerIntegrationTest {
             mockMvc.perform(get("/api/reservations")
                             .header("Authorization", "Bearer " + adminToken))
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$.data", hasSize(0)));
+                    .andExpect(jsonPath("$.data.items", hasSize(0)));
         }
     }
 
@@ -151,9 +190,233 @@ class ReservationControllerIntegrationTest {
             mockMvc.perform(get("/api/reservations/me")
                             .header("Authorization", "Bearer " + userToken))
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$.data", hasSize(1)))
-                    .andExpect(jsonPath("$.data[0].spaceId").value(testSpace.getId()))
-                    .andExpect(jsonPath("$.data[0].userId").value(testUser.getId()));
+                    .andExpect(jsonPath("$.data.items", hasSize(1)))
+                    .andExpect(jsonPath("$.data.items[0].spaceId").value(testSpace.getId()))
+                    .andExpect(jsonPath("$.data.items[0].userId").value(testUser.getId()));
+        }
+
+        @Test
+        void shouldPageThroughMyReservationsWithCursor() throws Exception {
+            for (int day = 1; day <= 3; day++) {
+                reservationRepository.save(
+                        Reservation.builder()
+                                .reservationDate(LocalDate.now().plusDays(day))
+                                .timeSlot(TimeSlot.MORNING)
+                                .status(Status.ACTIVE)
+                                .emailSent(false)
+                                .createdAt(LocalDateTime.now())
+                                .user(testUser)
+                                .space(testSpace)
+                                .build()
+                );
+            }
+
+            String firstPage = mockMvc.perform(get("/api/reservations/me")
+                            .param("size", "2")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.items", hasSize(2)))
+                    .andExpect(jsonPath("$.data.items[0].reservationDate").value(LocalDate.now().plusDays(1).toString()))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+
+            String nextCursor = objectMapper.readTree(firstPage).get("data").get("nextCursor").asText();
+
+            mockMvc.perform(get("/api/reservations/me")
+                            .param("size", "2")
+                            .param("cursor", nextCursor)
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.items", hasSize(1)))
+                    .andExpect(jsonPath("$.data.items[0].reservationDate").value(LocalDate.now().plusDays(3).toString()))
+                    .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+        }
+
+        @Test
+        void shouldFilterMyReservations() throws Exception {
+            reservationRepository.save(
+                    Reservation.builder()
+                            .reservationDate(LocalDate.now().plusDays(1))
+                            .timeSlot(TimeSlot.MORNING)
+                            .status(Status.CANCELLED)
+                            .emailSent(false)
+                            .createdAt(LocalDateTime.now())
+                            .user(testUser)
+                            .space(testSpace)
+                            .build()
+            );
+            reservationRepository.save(
+                    Reservation.builder()
+                            .reservationDate(LocalDate.now().plusDays(2))
+                            .timeSlot(TimeSlot.AFTERNOON)
+                            .status(Status.ACTIVE)
+                            .emailSent(false)
+                            .createdAt(LocalDateTime.now())
+                            .user(testUser)
+                            .space(testSpace)
+                            .build()
+            );
+
+            mockMvc.perform(get("/api/reservations/me")
+                            .param("status", "ACTIVE")
+                            .param("from", LocalDate.now().toString())
+                            .param("timeSlot", "AFTERNOON")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.items", hasSize(1)))
+                    .andExpect(jsonPath("$.data.items[0].status").value("ACTIVE"));
+        }
+
+        @Test
+        void shouldIncludeArchivedReservationsOnlyWhenAskedForHistory() throws Exception {
+            reservationRepository.save(
+                    Reservation.builder()
+                            .reservationDate(LocalDate.now().minusDays(200))
+                            .timeSlot(TimeSlot.MORNING)
+                            .status(Status.COMPLETED)
+                            .emailSent(true)
+                            .createdAt(LocalDateTime.now())
+                            .user(testUser)
+                            .space(testSpace)
+                            .build()
+            );
+            reservationRepository.save(
+                    Reservation.builder()
+                            .reservationDate(LocalDate.now().plusDays(1))
+                            .timeSlot(TimeSlot.MORNING)
+                            .status(Status.ACTIVE)
+                            .emailSent(false)
+                            .createdAt(LocalDateTime.now())
+                            .user(testUser)
+                            .space(testSpace)
+                            .build()
+            );
+            reservationArchiveService.archiveChunk(LocalDate.now().minusDays(90), 10);
+
+            mockMvc.perform(get("/api/reservations/me")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.items", hasSize(1)))
+                    .andExpect(jsonPath("$.data.items[0].status").value("ACTIVE"));
+
+            mockMvc.perform(get("/api/reservations/me")
+                            .param("includeHistory", "true")
+                            .param("size", "1")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.items", hasSize(1)))
+                    .andExpect(jsonPath("$.data.items[0].status").value("COMPLETED"))
+                    .andExpect(jsonPath("$.data.items[0].spaceName").value("R-001"))
+                    .andExpect(jsonPath("$.data.nextCursor").exists());
+        }
+
+        @Test
+        void shouldReturn400ForInvalidCursor() throws Exception {
+            mockMvc.perform(get("/api/reservations/me")
+                            .param("cursor", "%%%")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void shouldAnswerNotModifiedUntilReservationsChange() throws Exception {
+            String eTag = mockMvc.perform(get("/api/reservations/me")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Cache-Control", "no-cache, private"))
+                    .andReturn()
+                    .getResponse()
+                    .getHeader("ETag");
+
+            mockMvc.perform(get("/api/reservations/me")
+                            .header("Authorization", "Bearer " + userToken)
+                            .header("If-None-Match", eTag))
+                    .andExpect(status().isNotModified());
+
+            mockMvc.perform(get("/api/reservations/me?status=ACTIVE")
+                            .header("Authorization", "Bearer " + userToken)
+                            .header("If-None-Match", eTag))
+                    .andExpect(status().isOk());
+
+            ReservationRequest request = new ReservationRequest(LocalDate.now().plusDays(4), TimeSlot.MORNING, testSpace.getId());
+            mockMvc.perform(post("/api/reservations")
+                            .header("Authorization", "Bearer " + userToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+
+            mockMvc.perform(get("/api/reservations/me")
+                            .header("Authorization", "Bearer " + userToken)
+                            .header("If-None-Match", eTag))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.items", hasSize(1)));
+        }
+
+        @Test
+        void shouldNotAnswerNotModifiedAfterAnotherInstanceWrites() throws Exception {
+            String eTag = mockMvc.perform(get("/api/reservations/me")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getHeader("ETag");
+
+            // what a booking committed by another pod leaves behind: only the user's version row moves here
+            aggregateVersions.bumpReservations(testUser.getId());
+
+            mockMvc.perform(get("/api/reservations/me")
+                            .header("Authorization", "Bearer " + userToken)
+                            .header("If-None-Match", eTag))
+                    .andExpect(status().isOk());
+        }
+
+        @Test
+        void shouldKeepETagWhenOnlyOtherUsersBook() throws Exception {
+            String eTag = mockMvc.perform(get("/api/reservations/me")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getHeader("ETag");
+
+            userRepository.save(User.builder()
+                    .username("otheruser")
+                    .email("otheruser@sitme.com")
+                    .password(passwordEncoder.encode("Password123."))
+                    .role(Role.USER)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            String otherToken = obtainJwtToken("otheruser", "Password123.");
+
+            ReservationRequest request = new ReservationRequest(LocalDate.now().plusDays(5), TimeSlot.MORNING, testSpace.getId());
+            mockMvc.perform(post("/api/reservations")
+                            .header("Authorization", "Bearer " + otherToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+
+            mockMvc.perform(get("/api/reservations/me")
+                            .header("Authorization", "Bearer " + userToken)
+                            .header("If-None-Match", eTag))
+                    .andExpect(status().isNotModified());
+        }
+
+        @Test
+        void shouldNotAnswerNotModifiedAfterABulkJob() throws Exception {
+            String eTag = mockMvc.perform(get("/api/reservations/me")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getHeader("ETag");
+
+            aggregateVersionRepository.increment(List.of(Aggregate.RESERVATIONS));
+
+            mockMvc.perform(get("/api/reservations/me")
+                            .header("Authorization", "Bearer " + userToken)
+                            .header("If-None-Match", eTag))
+                    .andExpect(status().isOk());
         }
 
         @Test
@@ -161,7 +424,207 @@ class ReservationControllerIntegrationTest {
             mockMvc.perform(get("/api/reservations/me")
                             .header("Authorization", "Bearer " + userToken))
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$.data", hasSize(0)));
+                    .andExpect(jsonPath("$.data.items", hasSize(0)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Reservation listings SQL statements")
+    class ListingStatementCount {
+
+        @Test
+        void shouldKeepStatementCountConstantAsReservationsGrow() throws Exception {
+            seedReservations(0, 2);
+            long allWithFew = countStatements("/api/reservations", adminToken);
+            long mineWithFew = countStatements("/api/reservations/me", userToken);
+
+            seedReservations(2, 30);
+            long allWithMany = countStatements("/api/reservations", adminToken);
+            long mineWithMany = countStatements("/api/reservations/me", userToken);
+
+            Assertions.assertEquals(allWithFew, allWithMany);
+            Assertions.assertEquals(mineWithFew, mineWithMany);
+        }
+
+        private long countStatements(String url, String token) throws Exception {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            mockMvc.perform(get(url)
+                            .header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk());
+
+            return statistics.getPrepareStatementCount();
+        }
+
+        private void seedReservations(int from, int to) {
+            for (int i = from; i < to; i++) {
+                User owner = userRepository.save(
+                        User.builder()
+                                .username("owner" + i)
+                                .email("owner" + i + "@sitme.com")
+                                .password("encoded")
+                                .role(Role.USER)
+                                .createdAt(LocalDateTime.now())
+                                .build()
+                );
+                Space space = spaceRepository.save(
+                        Space.builder()
+                                .name("S-" + i)
+                                .capacity(2)
+                                .type(SpaceType.TABLE)
+                                .createdAt(LocalDateTime.now())
+                                .build()
+                );
+                reservationRepository.save(reservation(owner, space, i));
+                reservationRepository.save(reservation(testUser, space, i));
+            }
+        }
+
+        private Reservation reservation(User user, Space space, int dayOffset) {
+            return Reservation.builder()
+                    .reservationDate(LocalDate.now().plusDays(dayOffset + 1))
+                    .timeSlot(user == testUser ? TimeSlot.AFTERNOON : TimeSlot.MORNING)
+                    .status(Status.ACTIVE)
+                    .emailSent(false)
+                    .createdAt(LocalDateTime.now())
+                    .user(user)
+                    .space(space)
+                    .build();
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/spaces/availability")
+    class GetAvailability {
+
+        @Test
+        void shouldReportFreeHalfDaysPerSpace() throws Exception {
+            spaceCatalogCache.invalidate();
+            LocalDate from = LocalDate.now().plusDays(10);
+
+            reservationRepository.save(
+                    Reservation.builder()
+                            .reservationDate(from.plusDays(1))
+                            .timeSlot(TimeSlot.MORNING)
+                            .status(Status.ACTIVE)
+                            .emailSent(false)
+                            .createdAt(LocalDateTime.now())
+                            .user(testUser)
+                            .space(testSpace)
+                            .build()
+            );
+
+            mockMvc.perform(get("/api/spaces/availability")
+                            .param("from", from.toString())
+                            .param("to", from.plusDays(2).toString())
+                            .param("type", "ROOM"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.spaces", hasSize(1)))
+                    .andExpect(jsonPath("$.spaces[0].spaceId").value(testSpace.getId()))
+                    .andExpect(jsonPath("$.spaces[0].freeSlots").value("323"));
+        }
+
+        @Test
+        void shouldReturn400ForReversedRange() throws Exception {
+            mockMvc.perform(get("/api/spaces/availability")
+                            .param("from", "2030-01-10")
+                            .param("to", "2030-01-01"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("Second-level cache on the reservation path")
+    class SecondLevelCache {
+
+        @Test
+        void shouldIssueFewerStatementsOnceSpaceAndUserAreCached() throws Exception {
+            entityManagerFactory.getCache().evictAll();
+
+            long cold = countCreateStatements(LocalDate.now().plusDays(30));
+            long warm = countCreateStatements(LocalDate.now().plusDays(31));
+
+            Assertions.assertTrue(warm < cold, "expected cached lookups, got " + cold + " statements cold and " + warm + " warm");
+            Assertions.assertTrue(meterRegistry.get("hibernate.second.level.cache.requests")
+                    .tags("region", "spaces", "result", "hit")
+                    .functionCounter().count() > 0);
+        }
+
+        @Test
+        void shouldServeSpacesByTypeFromTheQueryCache() {
+            spaceRepository.findByType(SpaceType.ROOM);
+
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            spaceRepository.findByType(SpaceType.ROOM);
+
+            Assertions.assertEquals(1, statistics.getQueryCacheHitCount());
+            Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+        }
+
+        private long countCreateStatements(LocalDate day) throws Exception {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            mockMvc.perform(post("/api/reservations")
+                            .header("Authorization", "Bearer " + userToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new ReservationRequest(day, TimeSlot.MORNING, testSpace.getId()))))
+                    .andExpect(status().isCreated());
+
+            return statistics.getPrepareStatementCount();
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/spaces/availability/stream")
+    class StreamAvailability {
+
+        @Test
+        void shouldPushCommittedBookingsAndCancellations() throws Exception {
+            // the schema may have been recreated by another context since this one started following the feed
+            occupancyIndex.warmUp();
+            MvcResult stream = mockMvc.perform(get("/api/spaces/availability/stream"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            ReservationRequest request = new ReservationRequest(
+                    LocalDate.now().plusDays(6),
+                    TimeSlot.AFTERNOON,
+                    testSpace.getId()
+            );
+            String created = mockMvc.perform(post("/api/reservations")
+                            .header("Authorization", "Bearer " + userToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            long reservationId = objectMapper.readTree(created).get("data").get("id").asLong();
+
+            mockMvc.perform(patch("/api/reservations/{id}/cancel", reservationId)
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk());
+            occupancyIndex.pollChanges();
+
+            String events = awaitContent(stream, "\"state\":\"FREED\"");
+            String booked = "\"spaceId\":" + testSpace.getId() + ",\"date\":\"" + request.reservationDate()
+                    + "\",\"timeSlot\":\"AFTERNOON\",\"state\":\"BOOKED\"";
+            Assertions.assertTrue(events.contains("event:availability"));
+            Assertions.assertTrue(events.indexOf(booked) >= 0);
+            Assertions.assertTrue(events.indexOf(booked) < events.indexOf("\"state\":\"FREED\""));
+        }
+
+        private String awaitContent(MvcResult stream, String expected) throws Exception {
+            long deadline = System.currentTimeMillis() + 5_000;
+            String content = stream.getResponse().getContentAsString();
+            while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+                content = stream.getResponse().getContentAsString();
+            }
+            return content;
         }
     }
 
@@ -185,6 +648,76 @@ class ReservationControllerIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /api/reservations/batch")
+    class AddReservationBatch {
+
+        @Test
+        void shouldReportPerItemOutcomesAndQueueOneEmail() throws Exception {
+            LocalDate day = LocalDate.now().plusDays(5);
+            reservationRepository.save(
+                    Reservation.builder()
+                            .reservationDate(day)
+                            .timeSlot(TimeSlot.MORNING)
+                            .status(Status.ACTIVE)
+                            .emailSent(false)
+                            .createdAt(LocalDateTime.now())
+                            .user(testUser)
+                            .space(testSpace)
+                            .build()
+            );
+            long queuedBefore = emailOutboxRepository.count();
+
+            BatchReservationRequest request = new BatchReservationRequest(List.of(
+                    new ReservationRequest(day, TimeSlot.MORNING, testSpace.getId()),
+                    new ReservationRequest(day, TimeSlot.AFTERNOON, testSpace.getId()),
+                    new ReservationRequest(day.plusDays(1), TimeSlot.FULL_DAY, testSpace.getId())
+            ));
+
+            mockMvc.perform(post("/api/reservations/batch")
+                            .header("Authorization", "Bearer " + userToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.data.created").value(2))
+                    .andExpect(jsonPath("$.data.conflicts").value(1))
+                    .andExpect(jsonPath("$.data.results[0].outcome").value("CONFLICT"))
+                    .andExpect(jsonPath("$.data.results[1].outcome").value("CREATED"))
+                    .andExpect(jsonPath("$.data.results[2].reservation.timeSlot").value("FULL_DAY"));
+
+            Assertions.assertEquals(3, reservationRepository.count());
+            Assertions.assertEquals(queuedBefore + 1, emailOutboxRepository.count());
+        }
+
+        @Test
+        void shouldInsertLargerBatchesWithoutMoreStatements() throws Exception {
+            long smallBatch = countBatchStatements(LocalDate.now().plusDays(10), 2);
+            long largeBatch = countBatchStatements(LocalDate.now().plusDays(20), 10);
+
+            Assertions.assertTrue(largeBatch <= smallBatch + 1,
+                    "expected batched inserts, got " + smallBatch + " statements for 2 items and " + largeBatch + " for 10");
+        }
+
+        private long countBatchStatements(LocalDate firstDay, int days) throws Exception {
+            List<ReservationRequest> items = new ArrayList<>();
+            for (int i = 0; i < days; i++) {
+                items.add(new ReservationRequest(firstDay.plusDays(i), TimeSlot.FULL_DAY, testSpace.getId()));
+            }
+
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            mockMvc.perform(post("/api/reservations/batch")
+                            .header("Authorization", "Bearer " + userToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new BatchReservationRequest(items))))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.data.created").value(days));
+
+            return statistics.getPrepareStatementCount();
+        }
+    }
+
     @Nested
     @DisplayName("PUT /api/reservations/{id}")
     class UpdateReservation {
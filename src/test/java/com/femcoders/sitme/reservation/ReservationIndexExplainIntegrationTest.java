@@ -0,0 +1,92 @@
+package com.femcoders.sitme.reservation;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ActiveProfiles("test")
+@DisplayName("Reservation Index Explain Integration Tests")
+class ReservationIndexExplainIntegrationTest {
+
+    private static final String TEST_DATE = "DATE '2030-01-15'";
+    private static final long TEST_ID_OFFSET = 900_000L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, role, created_at) " +
+                "SELECT ? + X, 'explain' || X, 'explain' || X || '@test.com', 'password', 'USER', CURRENT_TIMESTAMP " +
+                "FROM SYSTEM_RANGE(1, 50)", TEST_ID_OFFSET);
+        jdbcTemplate.update("INSERT INTO spaces (id, name, type, capacity, created_at) " +
+                "SELECT ? + X, 'Space ' || X, CASE WHEN MOD(X, 2) = 0 THEN 'ROOM' ELSE 'TABLE' END, 4, CURRENT_TIMESTAMP " +
+                "FROM SYSTEM_RANGE(1, 30)", TEST_ID_OFFSET);
+        jdbcTemplate.update("INSERT INTO reservations (id, user_id, space_id, reservation_date, time_slot, status, email_sent, created_at) " +
+                "SELECT ?1 + X, ?1 + MOD(X, 50) + 1, ?1 + MOD(X, 30) + 1, DATE '2030-01-01' + MOD(X, 60), 'MORNING', " +
+                "CASE WHEN MOD(X, 5) = 0 THEN 'CANCELLED' ELSE 'ACTIVE' END, FALSE, CURRENT_TIMESTAMP " +
+                "FROM SYSTEM_RANGE(1, 5000)", TEST_ID_OFFSET);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM reservations WHERE id > ?", TEST_ID_OFFSET);
+        jdbcTemplate.update("DELETE FROM spaces WHERE id > ?", TEST_ID_OFFSET);
+        jdbcTemplate.update("DELETE FROM users WHERE id > ?", TEST_ID_OFFSET);
+    }
+
+    @Test
+    @DisplayName("Should check a space's availability on a date through the space/date/status index")
+    void shouldUseSpaceDateStatusIndexForAvailability() {
+
+        assertPlanUses("idx_reservations_space_date_status",
+                "SELECT id FROM reservations WHERE reservation_date = " + TEST_DATE + " AND space_id = 900007 AND status = 'ACTIVE'");
+    }
+
+    @Test
+    @DisplayName("Should scan a date range for several spaces through the space/date/status index")
+    void shouldUseSpaceDateStatusIndexForRange() {
+
+        assertPlanUses("idx_reservations_space_date_status",
+                "SELECT space_id, reservation_date, time_slot FROM reservations WHERE status = 'ACTIVE' " +
+                        "AND space_id IN (900003, 900007, 900011) AND reservation_date BETWEEN " + TEST_DATE + " AND DATE '2030-01-21'");
+    }
+
+    @Test
+    @DisplayName("Should page a user's reservations through the user/date/id index")
+    void shouldUseUserDateIdIndexForUserListing() {
+
+        assertPlanUses("idx_reservations_user_date_id",
+                "SELECT id FROM reservations WHERE user_id = 900012 ORDER BY reservation_date, id LIMIT 20");
+    }
+
+    @Test
+    @DisplayName("Should walk a series forward through the series/date index")
+    void shouldUseSeriesDateIndexForSeries() {
+
+        assertPlanUses("idx_reservations_series_date",
+                "SELECT reservation_date FROM reservations WHERE series_id = 4 " +
+                        "AND reservation_date >= " + TEST_DATE + " AND status = 'ACTIVE'");
+    }
+
+    @Test
+    @DisplayName("Should filter spaces by type through the type index")
+    void shouldUseTypeIndexForSpaces() {
+
+        assertPlanUses("idx_spaces_type", "SELECT id FROM spaces WHERE type = 'ROOM'");
+    }
+
+    private void assertPlanUses(String index, String sql) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        assertTrue(plan.toLowerCase(Locale.ROOT).contains(index), () -> "Expected " + index + " in plan:\n" + plan);
+    }
+}
@@ -0,0 +1,52 @@
+package com.femcoders.sitme.reservation;
+
+import com.femcoders.sitme.reservation.services.ReservationMetrics;
+import com.femcoders.sitme.space.Space;
+import com.femcoders.sitme.space.SpaceType;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Reservation Metrics Tests")
+class ReservationMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReservationMetrics reservationMetrics = new ReservationMetrics(meterRegistry);
+
+    @Test
+    @DisplayName("Should tag request timers by operation, space type, time slot and outcome")
+    void shouldTagRequestTimers() {
+
+        Space space = Space.builder().id(10L).name("R-001").type(SpaceType.ROOM).build();
+
+        reservationMetrics.record(reservationMetrics.start(), "create", space, TimeSlot.MORNING, ReservationMetrics.OUTCOME_SUCCESS);
+        reservationMetrics.record(reservationMetrics.start(), "create", null, TimeSlot.FULL_DAY, ReservationMetrics.OUTCOME_ERROR);
+
+        Timer success = meterRegistry.get(ReservationMetrics.REQUESTS)
+                .tags("operation", "create", "space.type", "ROOM", "time.slot", "MORNING", "outcome", "success")
+                .timer();
+        Timer error = meterRegistry.get(ReservationMetrics.REQUESTS)
+                .tags("space.type", "unknown", "time.slot", "FULL_DAY", "outcome", "error")
+                .timer();
+
+        assertEquals(1, success.count());
+        assertEquals(1, error.count());
+    }
+
+    @Test
+    @DisplayName("Should count availability checks by result")
+    void shouldCountAvailabilityChecks() {
+
+        reservationMetrics.availabilityChecked(TimeSlot.AFTERNOON, true);
+        reservationMetrics.availabilityChecked(TimeSlot.AFTERNOON, false);
+        reservationMetrics.availabilityChecked(TimeSlot.AFTERNOON, false);
+
+        assertEquals(1, meterRegistry.get(ReservationMetrics.AVAILABILITY_CHECKS)
+                .tags("time.slot", "AFTERNOON", "outcome", "available").counter().count());
+        assertEquals(2, meterRegistry.get(ReservationMetrics.AVAILABILITY_CHECKS)
+                .tags("time.slot", "AFTERNOON", "outcome", "unavailable").counter().count());
+    }
+}
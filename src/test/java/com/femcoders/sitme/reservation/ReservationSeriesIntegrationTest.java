@@ -0,0 +1,266 @@
+package com.femcoders.sitme.reservation;
+
+import com.femcoders.sitme.email.EmailOutbox;
+import com.femcoders.sitme.email.EmailService;
+import com.femcoders.sitme.email.EmailType;
+import com.femcoders.sitme.email.repository.EmailOutboxRepository;
+import com.femcoders.sitme.reservation.dtos.ReservationRequest;
+import com.femcoders.sitme.reservation.dtos.ReservationSeriesRequest;
+import com.femcoders.sitme.reservation.dtos.ReservationSeriesResponse;
+import com.femcoders.sitme.reservation.repository.ReservationRepository;
+import com.femcoders.sitme.reservation.services.ReservationSeriesService;
+import com.femcoders.sitme.reservation.services.ReservationService;
+import com.femcoders.sitme.security.userdetails.CustomUserDetails;
+import com.femcoders.sitme.space.Space;
+import com.femcoders.sitme.space.SpaceType;
+import com.femcoders.sitme.space.repository.SpaceRepository;
+import com.femcoders.sitme.user.Role;
+import com.femcoders.sitme.user.User;
+import com.femcoders.sitme.user.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Recurring reservation series")
+class ReservationSeriesIntegrationTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private ReservationSeriesService reservationSeriesService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        EmailService emailService() {
+            return Mockito.mock(EmailService.class);
+        }
+    }
+
+    private CustomUserDetails owner;
+    private Space space;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAll();
+        spaceRepository.deleteAll();
+        userRepository.deleteAll();
+
+        space = createSpace("S-001");
+        owner = new CustomUserDetails(userRepository.save(User.builder()
+                .username("lead")
+                .email("lead@sitme.com")
+                .password("encoded")
+                .role(Role.USER)
+                .createdAt(LocalDateTime.now())
+                .build()));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(owner, null, owner.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should store only the occurrences inside the rolling horizon")
+    void shouldMaterializeOnlyInsideHorizon() {
+
+        LocalDate start = TODAY.plusDays(1);
+        ReservationSeriesResponse series = createWeeklySeries(space, start, start.plusWeeks(20));
+
+        long expected = start.datesUntil(reservationSeriesService.horizonEnd().plusDays(1), Period.ofWeeks(1)).count();
+
+        assertEquals(reservationSeriesService.horizonEnd(), series.materializedUntil());
+        assertEquals(expected, reservationRepository.count());
+        assertTrue(expected < 21);
+    }
+
+    @Test
+    @DisplayName("Should treat occurrences beyond the horizon as booked until one is cancelled")
+    void shouldBlockUnmaterializedOccurrences() {
+
+        LocalDate start = TODAY.plusDays(1);
+        ReservationSeriesResponse series = createWeeklySeries(space, start, start.plusWeeks(20));
+        LocalDate farOccurrence = start.plusWeeks(10);
+
+        assertFalse(reservationService.isReservationAvailable(new ReservationRequest(farOccurrence, TimeSlot.MORNING, space.getId())));
+        assertTrue(reservationService.isReservationAvailable(new ReservationRequest(farOccurrence.plusDays(1), TimeSlot.MORNING, space.getId())));
+        assertThrows(IllegalStateException.class, () -> createWeeklySeries(space, farOccurrence, farOccurrence.plusWeeks(2)));
+
+        reservationSeriesService.cancelOccurrence(series.id(), farOccurrence, owner);
+
+        assertTrue(reservationService.isReservationAvailable(new ReservationRequest(farOccurrence, TimeSlot.MORNING, space.getId())));
+        assertThrows(IllegalStateException.class, () -> reservationSeriesService.cancelOccurrence(series.id(), farOccurrence, owner));
+    }
+
+    @Test
+    @DisplayName("Should cancel a stored occurrence and free its slot")
+    void shouldCancelMaterializedOccurrence() {
+
+        LocalDate start = TODAY.plusDays(1);
+        ReservationSeriesResponse series = createWeeklySeries(space, start, start.plusWeeks(4));
+
+        reservationSeriesService.cancelOccurrence(series.id(), start, owner);
+
+        assertEquals(Status.CANCELLED, reservationRepository.findBySeriesIdAndReservationDate(series.id(), start).orElseThrow().getStatus());
+        assertTrue(reservationService.isReservationAvailable(new ReservationRequest(start, TimeSlot.AFTERNOON, space.getId())));
+    }
+
+    @Test
+    @DisplayName("Should cancel a whole series with the same statements whatever its size")
+    void shouldCancelSeriesInConstantStatements() {
+
+        ReservationSeriesResponse small = createWeeklySeries(space, TODAY.plusDays(27), TODAY.plusWeeks(30));
+        ReservationSeriesResponse large = createWeeklySeries(createSpace("S-002"), TODAY.plusDays(1), TODAY.plusWeeks(30));
+
+        long smallStatements = countStatements(() -> reservationSeriesService.cancelSeries(small.id(), owner));
+        long largeStatements = countStatements(() -> reservationSeriesService.cancelSeries(large.id(), owner));
+
+        assertEquals(smallStatements, largeStatements);
+        assertTrue(reservationRepository.findAll().stream().allMatch(reservation -> reservation.getStatus() == Status.CANCELLED));
+        assertTrue(reservationService.isReservationAvailable(new ReservationRequest(TODAY.plusWeeks(20), TimeSlot.FULL_DAY, space.getId())));
+    }
+
+    @Test
+    @DisplayName("Should let only one of several overlapping series beyond the horizon be created")
+    void shouldSerializeSeriesCreationPerSpace() throws Exception {
+
+        LocalDate start = reservationSeriesService.horizonEnd().plusWeeks(1);
+        CountDownLatch ready = new CountDownLatch(1);
+        AtomicInteger successes = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(owner, null, owner.getAuthorities()));
+                try {
+                    ready.await();
+                    createWeeklySeries(space, start, start.plusWeeks(8));
+                    successes.incrementAndGet();
+                } catch (IllegalStateException exception) {
+                    // conflicts with the series that got the lock first
+                } catch (Throwable throwable) {
+                    unexpected.add(throwable);
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            }));
+        }
+
+        ready.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected.peek());
+        assertEquals(1, successes.get());
+    }
+
+    @Test
+    @DisplayName("Should skip an occurrence booked meanwhile and email the series owner about it")
+    void shouldReportOccurrenceBookedBeforeMaterialization() {
+
+        LocalDate start = TODAY.plusDays(1);
+        ReservationSeriesResponse series = createWeeklySeries(space, start, start.plusWeeks(20));
+        LocalDate farOccurrence = start.plusWeeks(10);
+
+        reservationRepository.save(Reservation.builder()
+                .reservationDate(farOccurrence)
+                .timeSlot(TimeSlot.MORNING)
+                .status(Status.ACTIVE)
+                .emailSent(false)
+                .createdAt(LocalDateTime.now())
+                .user(userRepository.findById(owner.getId()).orElseThrow())
+                .space(space)
+                .build());
+        emailOutboxRepository.deleteAll();
+
+        reservationSeriesService.materialize(series.id(), farOccurrence);
+
+        assertTrue(reservationRepository.findBySeriesIdAndReservationDate(series.id(), farOccurrence).isEmpty());
+        List<EmailOutbox> notices = emailOutboxRepository.findAll().stream()
+                .filter(entry -> entry.getType() == EmailType.SERIES_OCCURRENCE_SKIPPED)
+                .toList();
+        assertEquals(1, notices.size());
+        assertEquals("lead@sitme.com", notices.getFirst().getRecipientEmail());
+        assertTrue(notices.getFirst().getDetails().contains(farOccurrence.format(DateTimeFormatter.ofPattern("dd/MM/yyyy"))));
+    }
+
+    private ReservationSeriesResponse createWeeklySeries(Space target, LocalDate start, LocalDate end) {
+        return reservationSeriesService.createSeries(
+                new ReservationSeriesRequest(target.getId(), start.getDayOfWeek(), TimeSlot.FULL_DAY, start, end), owner);
+    }
+
+    private long countStatements(Runnable action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Space createSpace(String name) {
+        return spaceRepository.save(Space.builder()
+                .name(name)
+                .capacity(6)
+                .type(SpaceType.ROOM)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+}
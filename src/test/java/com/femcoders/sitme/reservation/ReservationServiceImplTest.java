@@ -1,11 +1,30 @@
 package com.femcoders.sitme.reservation;
 
+import com.femcoders.sitme.shared.versioning.AggregateVersions;
+import com.femcoders.sitme.email.EmailOutboxService;
+import com.femcoders.sitme.reservation.dtos.BatchReservationRequest;
+import com.femcoders.sitme.reservation.dtos.BatchReservationResponse;
+import com.femcoders.sitme.reservation.dtos.BatchReservationResult;
+import com.femcoders.sitme.reservation.dtos.ReservationCursor;
+import com.femcoders.sitme.reservation.dtos.ReservationFilter;
+import com.femcoders.sitme.reservation.dtos.ReservationMapper;
 import com.femcoders.sitme.reservation.dtos.ReservationResponse;
+import com.femcoders.sitme.reservation.dtos.ReservationSlot;
 import com.femcoders.sitme.reservation.repository.ReservationRepository;
+import com.femcoders.sitme.reservation.services.OccupancyIndex;
+import com.femcoders.sitme.reservation.services.ReservationMetrics;
+import com.femcoders.sitme.reservation.services.ReservationSeriesService;
 import com.femcoders.sitme.reservation.services.ReservationServiceImpl;
+import com.femcoders.sitme.reservation.services.SlotClaimService;
+import com.femcoders.sitme.security.userdetails.CustomUserDetails;
 import com.femcoders.sitme.shared.exceptions.EntityNotFoundException;
+import com.femcoders.sitme.shared.exceptions.InvalidCursorException;
+import com.femcoders.sitme.shared.responses.CursorPage;
+import com.femcoders.sitme.reservation.dtos.ReservationRequest;
 import com.femcoders.sitme.space.Space;
+import com.femcoders.sitme.space.repository.SpaceRepository;
 import com.femcoders.sitme.user.User;
+import com.femcoders.sitme.user.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -20,8 +39,10 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -56,6 +77,8 @@ public class ReservationServiceImplTest {
     private static final LocalDateTime TEST_CREATED_AT = LocalDateTime.of(2024, 12, 20, 10, 30);
     private static final LocalDateTime TEST_ANOTHER_CREATED_AT = LocalDateTime.of(2024, 12, 21, 14, 45);
 
+    private static final int TEST_PAGE_SIZE = 20;
+
     private static final String ERROR_DATABASE = "Database error";
     private static final String ERROR_DATABASE_CONNECTION = "Database connection failed";
     private static final String ERROR_RESERVATION_NOT_FOUND = "Reservation not found with id ";
@@ -63,6 +86,30 @@ public class ReservationServiceImplTest {
     @Mock
     private ReservationRepository reservationRepository;
 
+    @Mock
+    private AggregateVersions aggregateVersions;
+
+    @Mock
+    private OccupancyIndex occupancyIndex;
+
+    @Mock
+    private SlotClaimService slotClaimService;
+
+    @Mock
+    private ReservationMetrics reservationMetrics;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SpaceRepository spaceRepository;
+
+    @Mock
+    private EmailOutboxService emailOutboxService;
+
+    @Mock
+    private ReservationSeriesService reservationSeriesService;
+
     @InjectMocks
     private ReservationServiceImpl reservationService;
 
@@ -93,9 +140,12 @@ public class ReservationServiceImplTest {
 
             List<Reservation> testReservations = List.of(testReservation, secondTestReservation);
 
-            when(reservationRepository.findAll()).thenReturn(testReservations);
+            when(reservationRepository.findPage(isNull(), any(ReservationFilter.class), isNull(), eq(TEST_PAGE_SIZE + 1)))
+                    .thenReturn(testReservations.stream().map(ReservationMapper::entityToDto).toList());
 
-            List<ReservationResponse> result = reservationService.getAllReservations();
+            List<ReservationResponse> result = reservationService
+                    .getAllReservations(ReservationFilter.none(), null, TEST_PAGE_SIZE)
+                    .items();
 
             assertNotNull(result);
             assertEquals(2, result.size());
@@ -120,32 +170,72 @@ public class ReservationServiceImplTest {
             assertEquals(secondTestReservation.getSpace().getId(), result.get(1).spaceId());
             assertEquals(secondTestReservation.getSpace().getName(), result.get(1).spaceName());
 
-            verify(reservationRepository, times(1)).findAll();
+            verify(reservationRepository, times(1)).findPage(isNull(), any(ReservationFilter.class), isNull(), eq(TEST_PAGE_SIZE + 1));
+        }
+
+        @Test
+        @DisplayName("Should return a next cursor pointing at the last row when more rows exist")
+        void shouldReturnNextCursorWhenMoreRowsExist() {
+
+            when(reservationRepository.findPage(isNull(), any(ReservationFilter.class), isNull(), eq(2)))
+                    .thenReturn(List.of(ReservationMapper.entityToDto(testReservation), ReservationMapper.entityToDto(secondTestReservation)));
+
+            CursorPage<ReservationResponse> result = reservationService.getAllReservations(ReservationFilter.none(), null, 1);
+
+            assertEquals(1, result.items().size());
+            assertEquals(new ReservationCursor(TEST_RESERVATION_DATE, TEST_RESERVATION_ID),
+                    ReservationCursor.decode(result.nextCursor()));
+        }
+
+        @Test
+        @DisplayName("Should resume after the decoded cursor")
+        void shouldResumeAfterCursor() {
+
+            ReservationCursor cursor = new ReservationCursor(TEST_RESERVATION_DATE, TEST_RESERVATION_ID);
+            when(reservationRepository.findPage(isNull(), any(ReservationFilter.class), eq(cursor), eq(TEST_PAGE_SIZE + 1)))
+                    .thenReturn(List.of(ReservationMapper.entityToDto(secondTestReservation)));
+
+            CursorPage<ReservationResponse> result = reservationService
+                    .getAllReservations(ReservationFilter.none(), cursor.encode(), TEST_PAGE_SIZE);
+
+            assertEquals(1, result.items().size());
+            assertNull(result.nextCursor());
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed cursor")
+        void shouldRejectMalformedCursor() {
+
+            assertThrows(InvalidCursorException.class,
+                    () -> reservationService.getAllReservations(ReservationFilter.none(), "not-a-cursor", TEST_PAGE_SIZE));
+            verifyNoInteractions(reservationRepository);
         }
 
         @Test
         @DisplayName("Should return empty list when no reservations exist")
         void shouldReturnEmptyListWhenNoReservationsExist() {
 
-            when(reservationRepository.findAll()).thenReturn(Collections.emptyList());
+            when(reservationRepository.findPage(isNull(), any(ReservationFilter.class), isNull(), anyInt()))
+                    .thenReturn(Collections.emptyList());
 
-            List<ReservationResponse> result = reservationService.getAllReservations();
+            CursorPage<ReservationResponse> result = reservationService
+                    .getAllReservations(ReservationFilter.none(), null, TEST_PAGE_SIZE);
 
             assertNotNull(result);
-            assertTrue(result.isEmpty());
-            verify(reservationRepository, times(1)).findAll();
+            assertTrue(result.items().isEmpty());
+            assertNull(result.nextCursor());
         }
 
         @Test
         @DisplayName("Should propagate exception when repository fails")
         void shouldPropagateExceptionWhenRepositoryFails() {
 
-            when(reservationRepository.findAll()).thenThrow(new RuntimeException(ERROR_DATABASE));
+            when(reservationRepository.findPage(isNull(), any(ReservationFilter.class), isNull(), anyInt()))
+                    .thenThrow(new RuntimeException(ERROR_DATABASE));
 
             RuntimeException exception = assertThrows(RuntimeException.class,
-                    () -> reservationService.getAllReservations());
+                    () -> reservationService.getAllReservations(ReservationFilter.none(), null, TEST_PAGE_SIZE));
             assertEquals(ERROR_DATABASE, exception.getMessage());
-            verify(reservationRepository, times(1)).findAll();
         }
     }
 
@@ -257,6 +347,102 @@ public class ReservationServiceImplTest {
                 .build();
     }
 
+    @Nested
+    @DisplayName("POST /reservations")
+    class CreateReservationTests {
+
+        private final ReservationRequest request = new ReservationRequest(TEST_RESERVATION_DATE, TEST_TIME_SLOT, TEST_SPACE_ID);
+
+        @BeforeEach
+        void setUp() {
+            when(userRepository.findById(TEST_USER_ID)).thenReturn(Optional.of(testUser));
+            when(spaceRepository.findById(TEST_SPACE_ID)).thenReturn(Optional.of(testSpace));
+        }
+
+        @Test
+        @DisplayName("Should claim the slot before confirming the reservation")
+        void shouldClaimSlotWhenAvailable() {
+
+            when(occupancyIndex.isAvailable(TEST_SPACE_ID, TEST_RESERVATION_DATE, TEST_TIME_SLOT)).thenReturn(true);
+            when(reservationRepository.save(any(Reservation.class))).thenReturn(testReservation);
+
+            ReservationResponse result = reservationService.createReservation(request, new CustomUserDetails(testUser));
+
+            assertEquals(TEST_RESERVATION_ID, result.id());
+            verify(slotClaimService, times(1)).claim(testReservation);
+            verify(occupancyIndex, times(1)).occupy(TEST_SPACE_ID, TEST_RESERVATION_DATE, TEST_TIME_SLOT);
+        }
+
+        @Test
+        @DisplayName("Should reject the reservation when the slot is already taken")
+        void shouldRejectWhenSlotTaken() {
+
+            when(occupancyIndex.isAvailable(TEST_SPACE_ID, TEST_RESERVATION_DATE, TEST_TIME_SLOT)).thenReturn(false);
+
+            assertThrows(IllegalStateException.class,
+                    () -> reservationService.createReservation(request, new CustomUserDetails(testUser)));
+
+            verify(reservationRepository, never()).save(any());
+            verifyNoInteractions(slotClaimService);
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /reservations/batch")
+    class CreateReservationBatchTests {
+
+        @Test
+        @DisplayName("Should book free items in one save and report conflicts with stored and sibling items")
+        void shouldBookFreeItemsAndReportConflicts() {
+
+            when(userRepository.findById(TEST_USER_ID)).thenReturn(Optional.of(testUser));
+            when(spaceRepository.findAllById(Set.of(TEST_SPACE_ID))).thenReturn(List.of(testSpace));
+            when(reservationRepository.findSlotsBySpacesBetween(Status.ACTIVE, Set.of(TEST_SPACE_ID), TEST_RESERVATION_DATE, TEST_ANOTHER_RESERVATION_DATE))
+                    .thenReturn(List.of(new ReservationSlot(TEST_SPACE_ID, TEST_RESERVATION_DATE, TimeSlot.MORNING)));
+            when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> {
+                List<Reservation> reservations = invocation.getArgument(0);
+                reservations.forEach(reservation -> reservation.setId(TEST_RESERVATION_ID + reservations.indexOf(reservation)));
+                return reservations;
+            });
+
+            BatchReservationResponse result = reservationService.createReservations(new BatchReservationRequest(List.of(
+                    new ReservationRequest(TEST_RESERVATION_DATE, TimeSlot.MORNING, TEST_SPACE_ID),
+                    new ReservationRequest(TEST_RESERVATION_DATE, TimeSlot.AFTERNOON, TEST_SPACE_ID),
+                    new ReservationRequest(TEST_ANOTHER_RESERVATION_DATE, TimeSlot.FULL_DAY, TEST_SPACE_ID),
+                    new ReservationRequest(TEST_ANOTHER_RESERVATION_DATE, TimeSlot.MORNING, TEST_SPACE_ID)
+            )), new CustomUserDetails(testUser));
+
+            assertEquals(2, result.created());
+            assertEquals(2, result.conflicts());
+            assertEquals(List.of(BatchReservationResult.Outcome.CONFLICT, BatchReservationResult.Outcome.CREATED,
+                            BatchReservationResult.Outcome.CREATED, BatchReservationResult.Outcome.CONFLICT),
+                    result.results().stream().map(BatchReservationResult::outcome).toList());
+            assertEquals(TimeSlot.FULL_DAY, result.results().get(2).reservation().timeSlot());
+            verify(reservationRepository, times(1)).saveAll(argThat(reservations -> ((List<?>) reservations).size() == 2));
+            verify(slotClaimService, times(1)).claimAll(anyList());
+            verify(emailOutboxService, times(1)).enqueueReservationBatchConfirmation(anyList());
+            verify(reservationRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should write nothing when every item conflicts")
+        void shouldWriteNothingWhenEveryItemConflicts() {
+
+            when(userRepository.findById(TEST_USER_ID)).thenReturn(Optional.of(testUser));
+            when(spaceRepository.findAllById(Set.of(TEST_SPACE_ID))).thenReturn(List.of(testSpace));
+            when(reservationRepository.findSlotsBySpacesBetween(Status.ACTIVE, Set.of(TEST_SPACE_ID), TEST_RESERVATION_DATE, TEST_RESERVATION_DATE))
+                    .thenReturn(List.of(new ReservationSlot(TEST_SPACE_ID, TEST_RESERVATION_DATE, TimeSlot.FULL_DAY)));
+
+            BatchReservationResponse result = reservationService.createReservations(new BatchReservationRequest(List.of(
+                    new ReservationRequest(TEST_RESERVATION_DATE, TimeSlot.MORNING, TEST_SPACE_ID)
+            )), new CustomUserDetails(testUser));
+
+            assertEquals(0, result.created());
+            verify(reservationRepository, never()).saveAll(any());
+            verifyNoInteractions(slotClaimService, emailOutboxService);
+        }
+    }
+
     @Nested
     @DisplayName("DELETE /reservations/{id}")
     class DeleteReservationTests {
@@ -272,6 +458,7 @@ public class ReservationServiceImplTest {
 
             verify(reservationRepository, times(1)).findById(TEST_RESERVATION_ID);
             verify(reservationRepository, times(1)).delete(testReservation);
+            verify(occupancyIndex, times(1)).release(TEST_SPACE_ID, TEST_RESERVATION_DATE, TEST_TIME_SLOT);
         }
 
         @Test
@@ -0,0 +1,72 @@
+package com.femcoders.sitme.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Actuator Security Integration Tests")
+class ActuatorSecurityIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should keep health public for probes without exposing its details")
+    void shouldExposeHealthAnonymously() throws Exception {
+
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(jsonPath("$.status").exists())
+                .andExpect(jsonPath("$.components").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should hide metrics and prometheus from anonymous callers")
+    void shouldRejectAnonymousMetrics() throws Exception {
+
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Should hide metrics from non-admin users")
+    @WithMockUser(roles = "USER")
+    void shouldRejectUserMetrics() throws Exception {
+
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Should serve metrics to admins")
+    @WithMockUser(roles = "ADMIN")
+    void shouldServeAdminMetrics() throws Exception {
+
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should not expose the caches endpoint at all")
+    @WithMockUser(roles = "ADMIN")
+    void shouldNotExposeCaches() throws Exception {
+
+        mockMvc.perform(get("/actuator"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._links.metrics").exists())
+                .andExpect(jsonPath("$._links.caches").doesNotExist());
+    }
+}
@@ -0,0 +1,67 @@
+package com.femcoders.sitme.security;
+
+import com.femcoders.sitme.security.userdetails.CustomUserDetails;
+import com.femcoders.sitme.security.userdetails.CustomUserDetailsService;
+import com.femcoders.sitme.user.Role;
+import com.femcoders.sitme.user.User;
+import com.femcoders.sitme.user.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Custom User Details Service Tests")
+class CustomUserDetailsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Test
+    @DisplayName("Should resolve username or email with a single query")
+    void shouldResolveIdentifierWithSingleQuery() {
+
+        User user = User.builder().id(1L).username("ana").email("ana@sitme.com").role(Role.USER).build();
+        when(userRepository.findByUsernameOrEmail("ana@sitme.com", "ana@sitme.com")).thenReturn(List.of(user));
+
+        CustomUserDetails result = (CustomUserDetails) customUserDetailsService.loadUserByUsername("ana@sitme.com");
+
+        assertEquals(1L, result.getId());
+        verify(userRepository, times(1)).findByUsernameOrEmail("ana@sitme.com", "ana@sitme.com");
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Should prefer the username match when identifier matches two users")
+    void shouldPreferUsernameMatch() {
+
+        User byEmail = User.builder().id(1L).username("ana").email("x@y.com").role(Role.USER).build();
+        User byUsername = User.builder().id(2L).username("x@y.com").email("other@sitme.com").role(Role.USER).build();
+        when(userRepository.findByUsernameOrEmail("x@y.com", "x@y.com")).thenReturn(List.of(byEmail, byUsername));
+
+        CustomUserDetails result = (CustomUserDetails) customUserDetailsService.loadUserByUsername("x@y.com");
+
+        assertEquals(2L, result.getId());
+    }
+
+    @Test
+    @DisplayName("Should throw UsernameNotFoundException when no user matches")
+    void shouldThrowWhenNoUserMatches() {
+
+        when(userRepository.findByUsernameOrEmail("ghost", "ghost")).thenReturn(Collections.emptyList());
+
+        assertThrows(UsernameNotFoundException.class, () -> customUserDetailsService.loadUserByUsername("ghost"));
+    }
+}
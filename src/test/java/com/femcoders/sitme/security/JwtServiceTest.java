@@ -0,0 +1,76 @@
+package com.femcoders.sitme.security;
+
+import com.femcoders.sitme.security.jwt.JwtService;
+import com.femcoders.sitme.security.userdetails.CustomUserDetails;
+import com.femcoders.sitme.user.Role;
+import com.femcoders.sitme.user.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Jwt Service Tests")
+class JwtServiceTest {
+
+    private static final String TEST_SECRET_KEY = "12345678901234567890123456789012345678901234567890123456789";
+
+    private JwtService jwtService;
+    private CustomUserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = newJwtService(1800000L);
+        userDetails = new CustomUserDetails(User.builder()
+                .id(42L)
+                .username("ana")
+                .role(Role.USER)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should expose subject, expiration and role from a single parse")
+    void shouldParseClaimsOnce() {
+
+        String token = jwtService.generateToken(userDetails);
+
+        Claims claims = jwtService.parseClaims(token);
+
+        assertEquals("42", claims.getSubject());
+        assertNotNull(claims.getExpiration());
+        assertEquals(Role.USER, jwtService.extractRole(claims));
+        assertEquals("ana", jwtService.extractUsername(claims));
+        assertTrue(jwtService.isValidToken(claims, userDetails));
+    }
+
+    @Test
+    @DisplayName("Should reject a token issued for another user")
+    void shouldRejectTokenForAnotherUser() {
+
+        String token = jwtService.generateToken(userDetails);
+        CustomUserDetails anotherUser = new CustomUserDetails(User.builder().id(7L).role(Role.USER).build());
+
+        assertFalse(jwtService.isValidToken(token, anotherUser));
+    }
+
+    @Test
+    @DisplayName("Should fail parsing an expired token")
+    void shouldFailParsingExpiredToken() {
+
+        JwtService expiringService = newJwtService(-1000L);
+        String token = expiringService.generateToken(userDetails);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.parseClaims(token));
+    }
+
+    private static JwtService newJwtService(Long expiration) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "jwtSecretKey", TEST_SECRET_KEY);
+        ReflectionTestUtils.setField(service, "jwtExpiration", expiration);
+        ReflectionTestUtils.invokeMethod(service, "init");
+        return service;
+    }
+}
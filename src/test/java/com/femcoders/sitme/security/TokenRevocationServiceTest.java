@@ -0,0 +1,97 @@
+package com.femcoders.sitme.security;
+
+import com.femcoders.sitme.security.revocation.TokenRevocation;
+import com.femcoders.sitme.security.revocation.TokenRevocationRepository;
+import com.femcoders.sitme.security.revocation.TokenRevocationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Token Revocation Service Tests")
+class TokenRevocationServiceTest {
+
+    private static final Long TEST_USER_ID = 42L;
+
+    @Mock
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    @InjectMocks
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenRevocationService, "jwtExpiration", 1800000L);
+    }
+
+    @Test
+    @DisplayName("Should reject tokens issued before the revocation and accept newer ones")
+    void shouldRejectTokensIssuedBeforeRevocation() {
+
+        tokenRevocationService.revokeTokens(TEST_USER_ID);
+
+        verify(tokenRevocationRepository).save(any(TokenRevocation.class));
+        assertTrue(tokenRevocationService.isRevoked(TEST_USER_ID, Date.from(Instant.now().minusSeconds(60))));
+        assertFalse(tokenRevocationService.isRevoked(TEST_USER_ID, Date.from(Instant.now().plusSeconds(1))));
+        assertFalse(tokenRevocationService.isRevoked(7L, Date.from(Instant.now().minusSeconds(60))));
+    }
+
+    @Test
+    @DisplayName("Should reject a token issued in the same second as the revocation")
+    void shouldRejectTokenIssuedInSameSecond() {
+
+        tokenRevocationService.revokeTokens(TEST_USER_ID);
+
+        assertTrue(tokenRevocationService.isRevoked(TEST_USER_ID, Date.from(Instant.now().truncatedTo(ChronoUnit.SECONDS))));
+    }
+
+    @Test
+    @DisplayName("Should apply the revocation in memory only once the transaction commits")
+    void shouldApplyRevocationAfterCommit() {
+
+        Date issuedAt = Date.from(Instant.now().minusSeconds(60));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tokenRevocationService.revokeTokens(TEST_USER_ID);
+
+            assertFalse(tokenRevocationService.isRevoked(TEST_USER_ID, issuedAt));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(tokenRevocationService.isRevoked(TEST_USER_ID, issuedAt));
+    }
+
+    @Test
+    @DisplayName("Should load revocations recorded by other instances on refresh")
+    void shouldLoadRevocationsOnRefresh() {
+
+        Instant cutoff = Instant.now();
+        when(tokenRevocationRepository.findByRevokedBeforeAfter(any(Instant.class)))
+                .thenReturn(List.of(new TokenRevocation(TEST_USER_ID, cutoff)));
+
+        tokenRevocationService.refresh();
+
+        verify(tokenRevocationRepository).deleteExpired(any(Instant.class));
+        assertTrue(tokenRevocationService.isRevoked(TEST_USER_ID, Date.from(cutoff.minusSeconds(1))));
+    }
+}
@@ -0,0 +1,190 @@
+package com.femcoders.sitme.security;
+
+import com.femcoders.sitme.config.CacheConfig;
+import com.femcoders.sitme.image.service.EntityImageService;
+import com.femcoders.sitme.security.revocation.TokenRevocationService;
+import com.femcoders.sitme.security.userdetails.CustomUserDetails;
+import com.femcoders.sitme.security.userdetails.CustomUserDetailsService;
+import com.femcoders.sitme.security.userdetails.UserDetailsCacheEvictor;
+import com.femcoders.sitme.shared.versioning.AggregateVersions;
+import com.femcoders.sitme.user.Role;
+import com.femcoders.sitme.user.User;
+import com.femcoders.sitme.user.dtos.user.UserRequest;
+import com.femcoders.sitme.user.repository.UserRepository;
+import com.femcoders.sitme.user.services.user.UserServiceImpl;
+import com.femcoders.sitme.user.services.userprofile.UserProfileServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig
+@DisplayName("User Details Cache Eviction Tests")
+class UserDetailsCacheEvictionTest {
+
+    private static final Long TEST_USER_ID = 1L;
+
+    @Configuration
+    @EnableCaching(proxyTargetClass = true)
+    @Import({CustomUserDetailsService.class, UserDetailsCacheEvictor.class, UserServiceImpl.class, UserProfileServiceImpl.class})
+    static class TestConfig {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(CacheConfig.USER_DETAILS_BY_ID, CacheConfig.USER_DETAILS_BY_IDENTIFIER);
+        }
+    }
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private EntityImageService entityImageService;
+
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
+    @MockitoBean
+    private AggregateVersions aggregateVersions;
+
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @Autowired
+    private UserProfileServiceImpl userProfileService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        user = User.builder().id(TEST_USER_ID).username("ana").email("ana@sitme.com").password("hash").role(Role.USER).build();
+        when(userRepository.findById(TEST_USER_ID)).thenAnswer(invocation -> Optional.of(copy(user)));
+        when(userRepository.findByUsernameOrEmail(any(), any())).thenAnswer(invocation -> {
+            String identifier = invocation.getArgument(0);
+            return identifier.equals(user.getUsername()) || identifier.equals(user.getEmail()) ? List.of(copy(user)) : List.of();
+        });
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            user = copy(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+    }
+
+    @Test
+    @DisplayName("Should stop resolving the old username once an admin renames the user")
+    void shouldEvictOnUsernameChange() {
+
+        customUserDetailsService.loadUserByUsername("ana");
+        customUserDetailsService.loadUserById(TEST_USER_ID);
+
+        userService.updateUser(TEST_USER_ID, new UserRequest("ana.maria", "ana@sitme.com", null), null);
+
+        assertThrows(UsernameNotFoundException.class, () -> customUserDetailsService.loadUserByUsername("ana"));
+        assertEquals("ana.maria", customUserDetailsService.loadUserById(TEST_USER_ID).getUsername());
+    }
+
+    @Test
+    @DisplayName("Should stop resolving the old email once the user changes it")
+    void shouldEvictOnEmailChange() {
+
+        CustomUserDetails principal = (CustomUserDetails) customUserDetailsService.loadUserByUsername("ana@sitme.com");
+
+        userProfileService.updateMyProfile(principal, new UserRequest("ana", "ana.new@sitme.com", null), null);
+
+        assertThrows(UsernameNotFoundException.class, () -> customUserDetailsService.loadUserByUsername("ana@sitme.com"));
+        assertEquals(TEST_USER_ID, ((CustomUserDetails) customUserDetailsService.loadUserByUsername("ana.new@sitme.com")).getId());
+    }
+
+    @Test
+    @DisplayName("Should reload the role after an admin update")
+    void shouldEvictOnRoleChange() {
+
+        assertTrue(authorities(customUserDetailsService.loadUserById(TEST_USER_ID)).contains("ROLE_USER"));
+        customUserDetailsService.loadUserByUsername("ana");
+
+        user.setRole(Role.ADMIN);
+        userService.updateUser(TEST_USER_ID, new UserRequest("ana", "ana@sitme.com", null), null);
+
+        assertTrue(authorities(customUserDetailsService.loadUserById(TEST_USER_ID)).contains("ROLE_ADMIN"));
+        assertTrue(authorities(customUserDetailsService.loadUserByUsername("ana")).contains("ROLE_ADMIN"));
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups from the cache until a write evicts them")
+    void shouldServeFromCacheUntilEvicted() {
+
+        customUserDetailsService.loadUserById(TEST_USER_ID);
+        customUserDetailsService.loadUserById(TEST_USER_ID);
+
+        verify(userRepository, times(1)).findById(TEST_USER_ID);
+
+        userService.deleteUser(TEST_USER_ID);
+        customUserDetailsService.loadUserById(TEST_USER_ID);
+
+        verify(userRepository, times(3)).findById(TEST_USER_ID);
+    }
+
+    @Test
+    @DisplayName("Should keep serving the cached details until the updating transaction commits")
+    void shouldEvictOnlyAfterCommit() {
+
+        customUserDetailsService.loadUserByUsername("ana");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userService.updateUser(TEST_USER_ID, new UserRequest("ana.maria", "ana@sitme.com", null), null);
+
+            assertEquals("ana", customUserDetailsService.loadUserByUsername("ana").getUsername());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThrows(UsernameNotFoundException.class, () -> customUserDetailsService.loadUserByUsername("ana"));
+    }
+
+    private static List<String> authorities(UserDetails details) {
+        return details.getAuthorities().stream().map(Object::toString).toList();
+    }
+
+    private static User copy(User source) {
+        return User.builder()
+                .id(source.getId())
+                .username(source.getUsername())
+                .email(source.getEmail())
+                .password(source.getPassword())
+                .role(source.getRole())
+                .build();
+    }
+}
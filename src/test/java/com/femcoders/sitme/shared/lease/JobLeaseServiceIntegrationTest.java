@@ -0,0 +1,69 @@
+package com.femcoders.sitme.shared.lease;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Job lease across replicas")
+class JobLeaseServiceIntegrationTest {
+
+    private static final String JOB = "test-job";
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    private JobLeaseService replicaA;
+    private JobLeaseService replicaB;
+
+    @BeforeEach
+    void setUp() {
+        jobLeaseRepository.deleteAll();
+        replicaA = new JobLeaseService(jobLeaseRepository);
+        replicaB = new JobLeaseService(jobLeaseRepository);
+    }
+
+    @Test
+    @DisplayName("Should grant the lease to one replica until it is released")
+    void shouldGrantLeaseToOneReplica() {
+
+        assertTrue(replicaA.tryAcquire(JOB, Duration.ofMinutes(10)));
+        assertFalse(replicaB.tryAcquire(JOB, Duration.ofMinutes(10)));
+        assertTrue(replicaA.tryAcquire(JOB, Duration.ofMinutes(10)));
+
+        replicaA.release(JOB);
+
+        assertTrue(replicaB.tryAcquire(JOB, Duration.ofMinutes(10)));
+        assertFalse(replicaA.tryAcquire(JOB, Duration.ofMinutes(10)));
+    }
+
+    @Test
+    @DisplayName("Should let another replica take over an expired lease")
+    void shouldTakeOverExpiredLease() {
+
+        assertTrue(replicaA.tryAcquire(JOB, Duration.ofMillis(-1)));
+        assertTrue(replicaB.tryAcquire(JOB, Duration.ofMinutes(10)));
+    }
+
+    @Test
+    @DisplayName("Should renew a held lease and refuse to renew one another replica took over")
+    void shouldRenewOnlyHeldLease() {
+
+        assertTrue(replicaA.tryAcquire(JOB, Duration.ofMillis(-1)));
+        assertTrue(replicaA.renew(JOB, Duration.ofMinutes(10)));
+        assertFalse(replicaB.tryAcquire(JOB, Duration.ofMinutes(10)));
+
+        replicaA.release(JOB);
+        assertTrue(replicaB.tryAcquire(JOB, Duration.ofMinutes(10)));
+
+        assertFalse(replicaA.renew(JOB, Duration.ofMinutes(10)));
+    }
+}
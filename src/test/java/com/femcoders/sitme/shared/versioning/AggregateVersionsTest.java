@@ -0,0 +1,137 @@
+package com.femcoders.sitme.shared.versioning;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Aggregate Versions Tests")
+class AggregateVersionsTest {
+
+    @Mock
+    private AggregateVersionRepository aggregateVersionRepository;
+
+    @Mock
+    private UserReservationVersionRepository userReservationVersionRepository;
+
+    @InjectMocks
+    private AggregateVersions aggregateVersions;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should increment each touched aggregate once, just before the transaction commits")
+    void shouldIncrementOncePerTransaction() {
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        aggregateVersions.bump(Aggregate.RESERVATIONS);
+        aggregateVersions.bump(Aggregate.RESERVATIONS);
+        aggregateVersions.bump(Aggregate.SPACES);
+
+        verify(aggregateVersionRepository, never()).increment(any());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.beforeCommit(false));
+
+        verify(aggregateVersionRepository).increment(EnumSet.of(Aggregate.RESERVATIONS, Aggregate.SPACES));
+    }
+
+    @Test
+    @DisplayName("Should not increment anything when the transaction rolls back")
+    void shouldNotIncrementOnRollback() {
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        aggregateVersions.bump(Aggregate.USERS);
+
+        TransactionSynchronizationManager.clearSynchronization();
+
+        verify(aggregateVersionRepository, never()).increment(any());
+    }
+
+    @Test
+    @DisplayName("Should increment straight away outside a transaction")
+    void shouldIncrementWithoutTransaction() {
+
+        aggregateVersions.bump(Aggregate.USERS);
+
+        verify(aggregateVersionRepository).increment(Set.of(Aggregate.USERS));
+    }
+
+    @Test
+    @DisplayName("Should build the same tag on every instance from the shared versions")
+    void shouldBuildTagFromSharedVersions() {
+
+        when(aggregateVersionRepository.findAllVersions()).thenReturn(List.of(
+                new AggregateVersionView(Aggregate.SPACES, 7), new AggregateVersionView(Aggregate.RESERVATIONS, 3)));
+
+        String tag = aggregateVersions.eTag("scope", Aggregate.RESERVATIONS, Aggregate.SPACES);
+
+        assertEquals(tag, aggregateVersions.eTag("scope", Aggregate.RESERVATIONS, Aggregate.SPACES));
+        assertTrue(tag.startsWith("\"v-3-7-"));
+        assertNotEquals(tag, aggregateVersions.eTag("other", Aggregate.RESERVATIONS, Aggregate.SPACES));
+    }
+
+    @Test
+    @DisplayName("Should bump only the reservation owners' rows once, just before the transaction commits")
+    void shouldIncrementReservationOwnersOncePerTransaction() {
+
+        when(userReservationVersionRepository.increment(Set.of(1L, 2L))).thenReturn(2);
+        TransactionSynchronizationManager.initSynchronization();
+
+        aggregateVersions.bumpReservations(1L);
+        aggregateVersions.bumpReservations(List.of(1L, 2L));
+
+        verify(userReservationVersionRepository, never()).increment(any());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.beforeCommit(false));
+
+        verify(userReservationVersionRepository).increment(Set.of(1L, 2L));
+        verify(aggregateVersionRepository, never()).increment(any());
+        verify(userReservationVersionRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should create the version row of a user who has none yet")
+    void shouldCreateMissingReservationVersion() {
+
+        when(userReservationVersionRepository.increment(Set.of(1L, 2L))).thenReturn(1);
+        when(userReservationVersionRepository.findExistingUserIds(Set.of(1L, 2L))).thenReturn(List.of(1L));
+
+        aggregateVersions.bumpReservations(List.of(1L, 2L));
+
+        verify(userReservationVersionRepository).saveAll(List.of(UserReservationVersion.builder().userId(2L).version(1).build()));
+    }
+
+    @Test
+    @DisplayName("Should move a user's tag with that user's version only")
+    void shouldBuildUserTagFromUserVersion() {
+
+        when(aggregateVersionRepository.findAllVersions()).thenReturn(List.of(new AggregateVersionView(Aggregate.RESERVATIONS, 3)));
+        when(userReservationVersionRepository.findVersion(1L)).thenReturn(Optional.of(4L), Optional.of(5L));
+
+        String tag = aggregateVersions.userETag(1L, "scope", Aggregate.RESERVATIONS);
+
+        assertTrue(tag.startsWith("\"v-3-"));
+        assertNotEquals(tag, aggregateVersions.userETag(1L, "scope", Aggregate.RESERVATIONS));
+    }
+}
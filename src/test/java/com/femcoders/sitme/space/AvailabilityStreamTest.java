@@ -0,0 +1,89 @@
+package com.femcoders.sitme.space;
+
+import com.femcoders.sitme.reservation.TimeSlot;
+import com.femcoders.sitme.space.dto.AvailabilityDelta;
+import com.femcoders.sitme.space.services.AvailabilityStream;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Availability Stream Tests")
+class AvailabilityStreamTest {
+
+    private static final int BUFFER_SIZE = 4;
+    private static final AvailabilityDelta DELTA =
+            new AvailabilityDelta(1L, LocalDate.of(2030, 3, 1), TimeSlot.MORNING, AvailabilityDelta.State.BOOKED);
+
+    private final CountDownLatch unblock = new CountDownLatch(1);
+    private final CountDownLatch sending = new CountDownLatch(1);
+    private SimpleMeterRegistry meterRegistry;
+    private AvailabilityStream availabilityStream;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        availabilityStream = new AvailabilityStream(meterRegistry) {
+            @Override
+            protected SseEmitter newEmitter() {
+                return new SseEmitter() {
+                    @Override
+                    public void send(SseEventBuilder builder) throws IOException {
+                        sending.countDown();
+                        try {
+                            unblock.await();
+                        } catch (InterruptedException exception) {
+                            throw new IOException(exception);
+                        }
+                    }
+                };
+            }
+        };
+        ReflectionTestUtils.setField(availabilityStream, "bufferSize", BUFFER_SIZE);
+        ReflectionTestUtils.setField(availabilityStream, "timeout", Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+    }
+
+    @Test
+    @DisplayName("Should drop a subscriber whose buffer overflows while it is stuck on a write")
+    void shouldDropSlowConsumer() throws InterruptedException {
+
+        availabilityStream.subscribe();
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < BUFFER_SIZE; i++) {
+            availabilityStream.publish(1L, DELTA);
+        }
+        assertEquals(1, availabilityStream.subscriberCount());
+
+        availabilityStream.publish(1L, DELTA);
+
+        assertEquals(0, availabilityStream.subscriberCount());
+        assertEquals(1.0, meterRegistry.get("sitme.availability.stream.dropped").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should not build events when nobody is listening")
+    void shouldIgnoreDeltasWithoutSubscribers() {
+
+        availabilityStream.publish(1L, DELTA);
+
+        assertEquals(0, availabilityStream.subscriberCount());
+        assertEquals(0.0, meterRegistry.get("sitme.availability.stream.dropped").counter().count());
+    }
+}
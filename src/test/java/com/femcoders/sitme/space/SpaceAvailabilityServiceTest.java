@@ -0,0 +1,79 @@
+package com.femcoders.sitme.space;
+
+import com.femcoders.sitme.reservation.Status;
+import com.femcoders.sitme.reservation.TimeSlot;
+import com.femcoders.sitme.reservation.dtos.ReservationSlot;
+import com.femcoders.sitme.reservation.repository.ReservationRepository;
+import com.femcoders.sitme.reservation.services.ReservationSeriesService;
+import com.femcoders.sitme.space.dto.AvailabilityCalendarResponse;
+import com.femcoders.sitme.space.dto.SpaceResponse;
+import com.femcoders.sitme.space.exceptions.InvalidDateRangeException;
+import com.femcoders.sitme.space.services.SpaceAvailabilityService;
+import com.femcoders.sitme.space.services.SpaceService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Space Availability Service Tests")
+class SpaceAvailabilityServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2030, 3, 1);
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private SpaceService spaceService;
+
+    @Mock
+    private ReservationSeriesService reservationSeriesService;
+
+    @InjectMocks
+    private SpaceAvailabilityService spaceAvailabilityService;
+
+    @Test
+    @DisplayName("Should encode the free half-days of every space, series occurrences included, as one digit per day")
+    void shouldEncodeFreeSlotsPerDay() {
+
+        LocalDate to = FROM.plusDays(3);
+        when(spaceService.getSpacesByType(SpaceType.ROOM)).thenReturn(List.of(
+                new SpaceResponse(1L, "R-001", 6, "ROOM", null, null, null),
+                new SpaceResponse(2L, "R-002", 4, "ROOM", null, null, null)));
+        when(reservationRepository.findOccupiedSlots(Status.ACTIVE, FROM, to, SpaceType.ROOM)).thenReturn(List.of(
+                new ReservationSlot(1L, FROM, TimeSlot.MORNING),
+                new ReservationSlot(1L, FROM.plusDays(1), TimeSlot.FULL_DAY),
+                new ReservationSlot(1L, FROM.plusDays(3), TimeSlot.AFTERNOON),
+                new ReservationSlot(1L, FROM.plusDays(3), TimeSlot.MORNING)));
+        when(reservationSeriesService.findPendingOccurrences(List.of(1L, 2L), FROM, to)).thenReturn(List.of(
+                new ReservationSlot(2L, FROM.plusDays(2), TimeSlot.AFTERNOON)));
+
+        AvailabilityCalendarResponse calendar = spaceAvailabilityService.getAvailability(FROM, to, SpaceType.ROOM);
+
+        assertEquals(2, calendar.spaces().size());
+        assertEquals("2030", calendar.spaces().get(0).freeSlots());
+        assertEquals("3313", calendar.spaces().get(1).freeSlots());
+        verify(reservationRepository, times(1)).findOccupiedSlots(Status.ACTIVE, FROM, to, SpaceType.ROOM);
+    }
+
+    @Test
+    @DisplayName("Should reject ranges that are reversed or longer than the maximum")
+    void shouldRejectInvalidRanges() {
+
+        assertThrows(InvalidDateRangeException.class,
+                () -> spaceAvailabilityService.getAvailability(FROM, FROM.minusDays(1), null));
+        assertThrows(InvalidDateRangeException.class,
+                () -> spaceAvailabilityService.getAvailability(FROM, FROM.plusDays(SpaceAvailabilityService.MAX_DAYS), null));
+
+        verifyNoInteractions(reservationRepository);
+    }
+}
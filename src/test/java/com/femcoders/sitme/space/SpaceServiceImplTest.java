@@ -1,12 +1,16 @@
 package com.femcoders.sitme.space;
 
-import com.femcoders.sitme.cloudinary.service.CloudinaryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.femcoders.sitme.shared.versioning.Aggregate;
+import com.femcoders.sitme.shared.versioning.AggregateVersions;
+import com.femcoders.sitme.image.service.EntityImageService;
 import com.femcoders.sitme.space.dto.SpaceMapper;
 import com.femcoders.sitme.space.dto.SpaceRequest;
 import com.femcoders.sitme.space.dto.SpaceResponse;
 import com.femcoders.sitme.space.exceptions.InvalidSpaceNameException;
 import com.femcoders.sitme.space.exceptions.SpaceAlreadyExistsException;
 import com.femcoders.sitme.space.repository.SpaceRepository;
+import com.femcoders.sitme.space.services.SpaceCatalogCache;
 import com.femcoders.sitme.space.services.SpaceServiceImpl;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,11 +18,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,15 +41,23 @@ public class SpaceServiceImplTest {
     @Mock
     private SpaceRepository spaceRepository;
 
+    @Mock
+    private AggregateVersions aggregateVersions;
+
     @InjectMocks
     private SpaceServiceImpl spaceService;
 
     @Mock
-    private CloudinaryService cloudinaryService;
+    private EntityImageService entityImageService;
 
     @Mock
     private SpaceMapper spaceMapper;
 
+    private final AggregateVersions catalogVersions = mock(AggregateVersions.class);
+
+    @Spy
+    private SpaceCatalogCache spaceCatalogCache = new SpaceCatalogCache(new ObjectMapper(), catalogVersions);
+
     private Space space1;
     private Space space2;
     private SpaceResponse response1;
@@ -54,6 +69,9 @@ public class SpaceServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(spaceCatalogCache, "maxAge", Duration.ofSeconds(60));
+        ReflectionTestUtils.setField(spaceCatalogCache, "versionTtl", Duration.ZERO);
+
         space1 = Space.builder()
                 .id(1L)
                 .name("R-001")
@@ -70,9 +88,9 @@ public class SpaceServiceImplTest {
                 .imageUrl("https://picsum.photos/seed/table01/600/400")
                 .build();
 
-        response1 = new SpaceResponse(1L, "R-001", 8, "ROOM",  "https://picsum.photos/seed/roomA/600/400");
-        response2 = new SpaceResponse(2L, "T-001", 2, "TABLE", "https://picsum.photos/seed/table01/600/400");
-        updateResponse1 = new SpaceResponse(1L, "R-001", 1, "ROOM",  "https://picsum.photos/seed/roomA/600/400");
+        response1 = new SpaceResponse(1L, "R-001", 8, "ROOM",  "https://picsum.photos/seed/roomA/600/400", null, null);
+        response2 = new SpaceResponse(2L, "T-001", 2, "TABLE", "https://picsum.photos/seed/table01/600/400", null, null);
+        updateResponse1 = new SpaceResponse(1L, "R-001", 1, "ROOM",  "https://picsum.photos/seed/roomA/600/400", null, null);
         request1 = new SpaceRequest("R-001", 8, SpaceType.ROOM, "https://picsum.photos/seed/roomA/600/400");
         updateRequest1 = new SpaceRequest("R-001", 1, SpaceType.ROOM, "https://picsum.photos/seed/roomA/600/400");
         request2 = new SpaceRequest("", 2, SpaceType.TABLE, "https://picsum.photos/seed/table01/600/400");
@@ -112,6 +130,69 @@ public class SpaceServiceImplTest {
             assertThat(result).isEmpty();
             verify(spaceRepository).findAll();
         }
+
+        @Test
+        @DisplayName("Should serve repeated reads from the cache until a write invalidates it")
+        void shouldServeFromCacheUntilInvalidated() {
+            given(spaceRepository.findAll()).willReturn(List.of(space1));
+
+            spaceService.getAllSpaces();
+            byte[] json = spaceService.getAllSpacesSerialized().json();
+
+            verify(spaceRepository, times(1)).findAll();
+            assertTrue(new String(json).contains("\"name\":\"R-001\""));
+
+            given(spaceRepository.findById(1L)).willReturn(Optional.of(space1));
+            spaceService.deleteSpace(1L);
+            spaceService.getAllSpaces();
+
+            verify(spaceRepository, times(2)).findAll();
+        }
+
+        @Test
+        @DisplayName("Should reload once another instance bumps the shared catalog version")
+        void shouldReloadWhenSharedVersionMoves() {
+            given(spaceRepository.findAll()).willReturn(List.of(space1));
+            given(catalogVersions.current(Aggregate.SPACES)).willReturn(4L, 4L, 5L);
+
+            spaceService.getAllSpaces();
+            spaceService.getAllSpaces();
+            verify(spaceRepository, times(1)).findAll();
+
+            spaceService.getAllSpaces();
+            verify(spaceRepository, times(2)).findAll();
+        }
+
+        @Test
+        @DisplayName("Should read the shared version once per TTL and again after a local write")
+        void shouldHoldSharedVersionForTtl() {
+            ReflectionTestUtils.setField(spaceCatalogCache, "versionTtl", Duration.ofMinutes(1));
+            given(spaceRepository.findAll()).willReturn(List.of(space1));
+
+            spaceCatalogCache.version();
+            spaceService.getAllSpaces();
+            spaceService.getAllSpaces();
+            verify(catalogVersions, times(1)).current(Aggregate.SPACES);
+
+            given(spaceRepository.findById(1L)).willReturn(Optional.of(space1));
+            spaceService.deleteSpace(1L);
+            spaceService.getAllSpaces();
+
+            verify(catalogVersions, times(2)).current(Aggregate.SPACES);
+            verify(spaceRepository, times(2)).findAll();
+        }
+
+        @Test
+        @DisplayName("Should reload once a generation outlives the HTTP max-age")
+        void shouldReloadAfterMaxAge() {
+            ReflectionTestUtils.setField(spaceCatalogCache, "maxAge", Duration.ZERO);
+            given(spaceRepository.findAll()).willReturn(List.of(space1));
+
+            spaceService.getAllSpaces();
+            spaceService.getAllSpaces();
+
+            verify(spaceRepository, times(2)).findAll();
+        }
     }
 
     @Nested
@@ -138,7 +219,7 @@ public class SpaceServiceImplTest {
 
                 verify(spaceRepository).existsByName(request1.name());
                 verify(spaceRepository).save(space1);
-                verify(cloudinaryService).uploadEntityImage(space1, file, "sitme/spaces");
+                verify(entityImageService).uploadEntityImage(eq(space1), eq(file), eq("sitme/spaces"), any(Runnable.class));
             }
         }
 
@@ -150,7 +231,7 @@ public class SpaceServiceImplTest {
             });
 
             verify(spaceRepository, never()).save(any());
-            verify(cloudinaryService, never()).uploadEntityImage(any(), any(), any());
+            verify(entityImageService, never()).uploadEntityImage(any(), any(), any(), any());
         }
 
         @Test
@@ -164,7 +245,7 @@ public class SpaceServiceImplTest {
 
             verify(spaceRepository).existsByName(request1.name());
             verify(spaceRepository, never()).save(any());
-            verify(cloudinaryService, never()).uploadEntityImage(any(), any(), any());
+            verify(entityImageService, never()).uploadEntityImage(any(), any(), any(), any());
         }
     }
 
@@ -195,8 +276,8 @@ public class SpaceServiceImplTest {
 
             SpaceResponse response = spaceService.updateSpace(id, updateRequest1, mockFile);
 
-            verify(cloudinaryService).deleteEntityImage(space1);
-            verify(cloudinaryService).uploadEntityImage(space1, mockFile, "sitme/spaces");
+            verify(entityImageService, never()).deleteEntityImage(any());
+            verify(entityImageService).uploadEntityImage(eq(space1), eq(mockFile), eq("sitme/spaces"), any(Runnable.class));
             verify(spaceRepository).save(space1);
             assertEquals(updateResponse1, response);
         }
@@ -218,8 +299,8 @@ public class SpaceServiceImplTest {
 
             SpaceResponse response = spaceService.updateSpace(id, updateRequest1, null);
 
-            verify(cloudinaryService, never()).deleteEntityImage(any());
-            verify(cloudinaryService, never()).uploadEntityImage(any(), any(), anyString());
+            verify(entityImageService, never()).deleteEntityImage(any());
+            verify(entityImageService, never()).uploadEntityImage(any(), any(), anyString(), any());
             verify(spaceRepository).save(space1);
             assertEquals(updateResponse1, response);
         }
@@ -1,6 +1,6 @@
 package com.femcoders.sitme.user.service;
 
-import com.femcoders.sitme.email.EmailService;
+import com.femcoders.sitme.email.EmailOutboxService;
 import com.femcoders.sitme.security.jwt.JwtService;
 import com.femcoders.sitme.security.userdetails.CustomUserDetails;
 import com.femcoders.sitme.user.Role;
@@ -71,7 +71,7 @@ public class UserAuthServiceImplTest {
     private JwtService jwtService;
 
     @Mock
-    private EmailService emailService;
+    private EmailOutboxService emailOutboxService;
 
     @Mock
     private RegisterMapper registerMapper;
@@ -105,7 +105,6 @@ public class UserAuthServiceImplTest {
         when(userRepository.existsByUsername(TEST_USERNAME)).thenReturn(false);
         when(passwordEncoder.encode(TEST_PASSWORD)).thenReturn(ENCODED_PASSWORD);
         when(userRepository.save(any(User.class))).thenReturn(testUser);
-        doNothing().when(emailService).sendRegistrationEmail(TEST_EMAIL, TEST_USERNAME);
         when(registerMapper.dtoToEntity(any(RegisterRequest.class))).thenReturn(testUser);
         when(registerMapper.entityToDto(any(User.class))).thenReturn(
                 new RegisterResponse(TEST_USERNAME, TEST_EMAIL, TEST_ROLE)
@@ -121,7 +120,7 @@ public class UserAuthServiceImplTest {
         verify(userRepository).existsByEmail(TEST_EMAIL);
         verify(passwordEncoder).encode(TEST_PASSWORD);
         verify(userRepository).save(any(User.class));
-        verify(emailService).sendRegistrationEmail(TEST_EMAIL, TEST_USERNAME);
+        verify(emailOutboxService).enqueueRegistration(testUser);
     }
 
     @ParameterizedTest(name = "Register throw exception with identifier={0}")
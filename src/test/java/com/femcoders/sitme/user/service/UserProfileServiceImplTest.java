@@ -1,6 +1,9 @@
 package com.femcoders.sitme.user.service;
 
-import com.femcoders.sitme.cloudinary.service.CloudinaryService;
+import com.femcoders.sitme.shared.versioning.AggregateVersions;
+import com.femcoders.sitme.image.service.EntityImageService;
+import com.femcoders.sitme.security.revocation.TokenRevocationService;
+import com.femcoders.sitme.security.userdetails.UserDetailsCacheEvictor;
 import com.femcoders.sitme.security.userdetails.CustomUserDetails;
 import com.femcoders.sitme.user.User;
 import com.femcoders.sitme.user.dtos.user.UserRequest;
@@ -44,11 +47,20 @@ public class UserProfileServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private AggregateVersions aggregateVersions;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
     @Mock
-    private CloudinaryService cloudinaryService;
+    private EntityImageService entityImageService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private UserDetailsCacheEvictor userDetailsCacheEvictor;
 
     @Mock
     private MultipartFile mockFile;
@@ -229,8 +241,8 @@ public class UserProfileServiceImplTest {
         UserResponse result = userProfileService.updateMyProfile(userDetails, testUserRequest, mockFile);
 
         assertNotNull(result);
-        verify(cloudinaryService).uploadEntityImage(testUser, mockFile, "sitme/users");
-        verify(cloudinaryService).deleteEntityImage(testUser);
+        verify(entityImageService).uploadEntityImage(testUser, mockFile, "sitme/users");
+        verify(entityImageService, never()).deleteEntityImage(any());
         verify(userRepository).save(any(User.class));
     }
 
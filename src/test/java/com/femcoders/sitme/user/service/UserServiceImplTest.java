@@ -1,6 +1,9 @@
 package com.femcoders.sitme.user.service;
 
-import com.femcoders.sitme.cloudinary.service.CloudinaryService;
+import com.femcoders.sitme.shared.versioning.AggregateVersions;
+import com.femcoders.sitme.image.service.EntityImageService;
+import com.femcoders.sitme.security.revocation.TokenRevocationService;
+import com.femcoders.sitme.security.userdetails.UserDetailsCacheEvictor;
 import com.femcoders.sitme.user.User;
 import com.femcoders.sitme.user.dtos.user.UserResponse;
 import com.femcoders.sitme.user.dtos.user.UserRequest;
@@ -40,11 +43,20 @@ public class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private AggregateVersions aggregateVersions;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
     @Mock
-    private CloudinaryService cloudinaryService;
+    private EntityImageService entityImageService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private UserDetailsCacheEvictor userDetailsCacheEvictor;
 
     @Mock
     private MultipartFile mockFile;
@@ -189,8 +201,8 @@ public class UserServiceImplTest {
         UserResponse result = userService.updateUser(TEST_USER_ID, testUserRequest, mockFile);
 
         assertNotNull(result);
-        verify(cloudinaryService).uploadEntityImage(testUser, mockFile, "sitme/users");
-        verify(cloudinaryService).deleteEntityImage(testUser);
+        verify(entityImageService).uploadEntityImage(testUser, mockFile, "sitme/users");
+        verify(entityImageService, never()).deleteEntityImage(any());
         verify(userRepository).save(any(User.class));
     }
 
@@ -218,7 +230,7 @@ public class UserServiceImplTest {
         UserResponse result = userService.uploadUserImage(TEST_USER_ID, mockFile);
 
         assertNotNull(result);
-        verify(cloudinaryService).uploadEntityImage(testUser, mockFile, "sitme/users");
+        verify(entityImageService).uploadEntityImage(testUser, mockFile, "sitme/users");
         verify(userRepository).save(testUser);
     }
 
@@ -230,7 +242,7 @@ public class UserServiceImplTest {
 
         assertDoesNotThrow(() -> userService.deleteUserImage(TEST_USER_ID));
 
-        verify(cloudinaryService).deleteEntityImage(testUser);
+        verify(entityImageService).deleteEntityImage(testUser);
         verify(userRepository).save(testUser);
     }
 
@@ -244,6 +256,7 @@ public class UserServiceImplTest {
 
         verify(userRepository).findById(TEST_USER_ID);
         verify(userRepository).deleteById(TEST_USER_ID);
+        verify(tokenRevocationService).revokeTokens(TEST_USER_ID);
     }
 
     @Test